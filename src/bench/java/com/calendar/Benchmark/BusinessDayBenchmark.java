@@ -0,0 +1,151 @@
+package com.calendar.Benchmark;
+
+import com.calendar.Calendar;
+import com.calendar.Exceptions.CreateCalendarException;
+import com.calendar.Holiday.BusinessDays;
+import com.calendar.Holiday.HolidayCalendar;
+import com.calendar.Month.MonthsTable;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Compares {@link Calendar#businessDaysBetween(Calendar, Calendar)} and
+ * {@link Calendar#plusBusinessDays(int)} with stepping one day at a time by
+ * {@link Calendar#plusDay()}, checking the day of the week with Zeller's congruence and the
+ * holidays with {@link HolidayCalendar#isHoliday(LocalDate)}.
+ * <p>
+ *     For every span random start dates from 1950 to 2090 are used, so the longest span stays
+ *     within the holidays known to {@link BusinessDays#getDefault()}; both approaches must give
+ *     the same results. The time per operation is printed in nanoseconds:
+ *     <pre>
+ *         mvn -Pbench compile
+ *         java -cp target/classes com.calendar.Benchmark.BusinessDayBenchmark [days,days,...]
+ *     </pre>
+ * </p>
+ */
+public final class BusinessDayBenchmark {
+
+    private static final String DEFAULT_SPANS = "30,365,3650,36500";
+    private static final int OPERATIONS = 2000;
+    private static final long SEED = 42;
+
+    private BusinessDayBenchmark() {
+    }
+
+    public static void main(String[] args) throws CreateCalendarException {
+        String[] spans = (args.length > 0 ? args[0] : DEFAULT_SPANS).split(",");
+        HolidayCalendar holidays = HolidayCalendar.getDefault();
+        BusinessDays.getDefault();
+
+        System.out.printf("%8s %-10s %14s %14s %10s%n", "dni", "operacja", "krokowo ns", "szybko ns", "krotność");
+        for (String span : spans) {
+            int days = Integer.parseInt(span.trim());
+            Calendar[] starts = randomDates(OPERATIONS);
+            Calendar[] ends = new Calendar[OPERATIONS];
+            for (int i = 0; i < OPERATIONS; i++) {
+                ends[i] = new Calendar(starts[i]);
+                for (int d = 0; d < days; d++) {
+                    ends[i].plusDay();
+                }
+            }
+
+            // the first round warms up both versions
+            long naiveTime = 0;
+            long fastTime = 0;
+            for (int round = 0; round < 2; round++) {
+                long checksum = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    checksum += naiveBetween(starts[i], ends[i], holidays);
+                }
+                naiveTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    checksum -= Calendar.businessDaysBetween(starts[i], ends[i]);
+                }
+                fastTime = System.nanoTime() - start;
+                check(checksum == 0, "businessDaysBetween");
+            }
+            print(days, "między", naiveTime, fastTime);
+
+            // about as many business days as the span has days
+            int businessDays = days * 5 / 7;
+            for (int round = 0; round < 2; round++) {
+                Calendar naive = new Calendar();
+                Calendar fast = new Calendar();
+                long start = System.nanoTime();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    naive = naivePlus(starts[i], businessDays, holidays);
+                }
+                naiveTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    fast = new Calendar(starts[i]);
+                    fast.plusBusinessDays(businessDays);
+                }
+                fastTime = System.nanoTime() - start;
+                check(naive.equals(fast), "plusBusinessDays");
+            }
+            print(days, "plus", naiveTime, fastTime);
+        }
+    }
+
+    private static long naiveBetween(Calendar from, Calendar to, HolidayCalendar holidays) {
+        Calendar day = new Calendar(from);
+        long count = 0;
+        while (day.compareTo(to) < 0) {
+            if (isBusinessDay(day, holidays)) {
+                count++;
+            }
+            day.plusDay();
+        }
+        return count;
+    }
+
+    private static Calendar naivePlus(Calendar from, int businessDays, HolidayCalendar holidays) {
+        Calendar day = new Calendar(from);
+        int left = businessDays;
+        while (left > 0) {
+            day.plusDay();
+            if (isBusinessDay(day, holidays)) {
+                left--;
+            }
+        }
+        return day;
+    }
+
+    /**
+     * The check behind {@link Calendar#getDayOfWeekByZeller()}, without looking up the name.
+     */
+    private static boolean isBusinessDay(Calendar day, HolidayCalendar holidays) {
+        // 5 = Saturday, 6 = Sunday
+        return MonthsTable.getDayOfWeek(day.getYear(), day.getMonth().getNumOfMonth(), day.getDay()) < 5
+                && !holidays.isHoliday(day.toLocalDate());
+    }
+
+    private static Calendar[] randomDates(int count) throws CreateCalendarException {
+        Random random = new Random(SEED);
+        long first = LocalDate.of(1950, 1, 1).toEpochDay();
+        long last = LocalDate.of(2090, 1, 1).toEpochDay();
+        Calendar[] dates = new Calendar[count];
+        for (int i = 0; i < count; i++) {
+            LocalDate date = LocalDate.ofEpochDay(first + random.nextInt((int) (last - first)));
+            dates[i] = new Calendar(date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+        }
+        return dates;
+    }
+
+    private static void check(boolean same, String operation) {
+        if (!same) {
+            throw new IllegalStateException("Różne wyniki: " + operation);
+        }
+    }
+
+    private static void print(int days, String operation, long naiveTime, long fastTime) {
+        System.out.printf("%8d %-10s %14.0f %14.0f %10.0f%n", days, operation,
+                (double) naiveTime / OPERATIONS, (double) fastTime / OPERATIONS, (double) naiveTime / fastTime);
+    }
+}
@@ -0,0 +1,120 @@
+package com.calendar.Benchmark;
+
+import com.calendar.Calendar;
+import com.calendar.Exceptions.CreateCalendarException;
+import com.calendar.Month.MonthsTable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+/**
+ * Time budgets of the date arithmetic of {@link Calendar} and {@link MonthsTable}.
+ * <p>
+ *     Every operation is timed on random dates, best of {@value #ROUNDS} rounds, and compared
+ *     with its budget in nanoseconds per operation. An exceeded budget is reported and fails the
+ *     run with an exception, so the check fails the build when run by Maven:
+ *     <pre>
+ *         mvn -Pdate-check verify
+ *         mvn -Pbench compile
+ *         java -cp target/classes com.calendar.Benchmark.DateCoreCheck
+ *     </pre>
+ *     The results themselves are compared with {@link LocalDate} by {@code CalendarDateTest},
+ *     which runs with the other tests.
+ * </p>
+ * <p>
+ *     {@code -Dcalendar.check.seed} sets the random dates and
+ *     {@code -Dcalendar.check.budget.<operation>=<ns>} overrides the budget of one operation.
+ * </p>
+ */
+public final class DateCoreCheck {
+
+    // the naive day of week algorithm walks week by week from 2020
+    private static final int DETERMINANT_SAMPLES = 300;
+    private static final int TIMED_OPERATIONS = 20_000;
+    private static final int ROUNDS = 5;
+    private static final String BUDGET_PREFIX = "calendar.check.budget.";
+
+    private final Random random;
+    private final List<String> failures = new ArrayList<>();
+    // keeps the results of timed operations alive
+    private volatile long sink;
+
+    private DateCoreCheck(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws CreateCalendarException {
+        long seed = Long.getLong("calendar.check.seed", 42);
+        DateCoreCheck check = new DateCoreCheck(seed);
+
+        System.out.println("Ziarno: " + seed);
+        check.checkBudgets();
+
+        if (!check.failures.isEmpty()) {
+            throw new IllegalStateException("Przekroczone budżety: " + String.join(", ", check.failures));
+        }
+    }
+
+    // TIME BUDGETS
+
+    private void checkBudgets() throws CreateCalendarException {
+        Calendar[] dates = new Calendar[TIMED_OPERATIONS];
+        long first = LocalDate.of(1900, 1, 1).toEpochDay();
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = calendar(LocalDate.ofEpochDay(first + random.nextInt(200 * 365)));
+        }
+        Calendar[] nearDates = new Calendar[DETERMINANT_SAMPLES];
+        long near = LocalDate.of(2010, 1, 1).toEpochDay();
+        for (int i = 0; i < nearDates.length; i++) {
+            nearDates[i] = calendar(LocalDate.ofEpochDay(near + random.nextInt(20 * 365)));
+        }
+
+        System.out.printf("%-28s %12s %12s%n", "operacja", "ns/op", "budżet ns");
+        time("plusDay", 100, dates, calendar -> { calendar.plusDay(); return calendar.getDay(); });
+        time("minusDay", 100, dates, calendar -> { calendar.minusDay(); return calendar.getDay(); });
+        time("plusWeek", 150, dates, calendar -> { calendar.plusWeek(); return calendar.getDay(); });
+        time("minusWeek", 150, dates, calendar -> { calendar.minusWeek(); return calendar.getDay(); });
+        time("addMonths", 150, dates, calendar -> { calendar.addMonths(1); return calendar.getDay(); });
+        time("getDayOfWeekByZeller", 150, dates, calendar -> calendar.getDayOfWeekByZeller().length());
+        time("getDayOfWeekByDeterminant", 100_000, nearDates, calendar -> calendar.getDayOfWeekByDeterminant().length());
+        time("isLeapYear", 50, dates, calendar -> MonthsTable.isLeapYear(calendar.getYear()) ? 1 : 0);
+        time("getDaysInMonth", 50, dates, MonthsTable::getDaysInMonth);
+        time("plusBusinessDays", 5_000, dates, calendar -> { calendar.plusBusinessDays(3); return calendar.getDay(); });
+        time("businessDaysBetween", 5_000, dates, calendar -> Calendar.businessDaysBetween(calendar, dates[0]));
+    }
+
+    /**
+     * Times an operation on copies of the dates and compares the best round with the budget.
+     */
+    private void time(String operation, long defaultBudget, Calendar[] dates, ToLongFunction<Calendar> body) {
+        long budget = Long.getLong(BUDGET_PREFIX + operation, defaultBudget);
+        Calendar[] copies = new Calendar[dates.length];
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < dates.length; i++) {
+                copies[i] = new Calendar(dates[i]);
+            }
+            long start = System.nanoTime();
+            for (Calendar calendar : copies) {
+                checksum += body.applyAsLong(calendar);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double perOperation = (double) best / dates.length;
+        sink = checksum;
+        System.out.printf("%-28s %12.1f %12d%n", operation, perOperation, budget);
+        if (perOperation > budget) {
+            System.err.println("Przekroczony budżet " + operation + ": " + String.format("%.1f ns", perOperation));
+            failures.add(operation);
+        }
+    }
+
+    private static Calendar calendar(LocalDate date) throws CreateCalendarException {
+        return new Calendar(date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+    }
+}
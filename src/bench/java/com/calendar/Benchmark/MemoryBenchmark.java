@@ -0,0 +1,107 @@
+package com.calendar.Benchmark;
+
+import com.calendar.Event.Event;
+import com.calendar.Store.CompactEventStore;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares the heap taken per event by an {@code ArrayList<Event>}, as kept by
+ * {@link com.calendar.Event.EventManager}, and by a {@link CompactEventStore}.
+ * <p>
+ *     Events are generated with the distribution of {@link SyntheticEvents}, every tenth one
+ *     timed. Each structure is built from freshly parsed-like objects (every description its own
+ *     {@code String}, as read from a file) and measured as the growth of the used heap after full
+ *     garbage collections. Run with a fixed heap for stable numbers:
+ *     <pre>
+ *         mvn -Pbench compile
+ *         java -XX:+UseSerialGC -Xms2g -Xmx2g -cp target/classes com.calendar.Benchmark.MemoryBenchmark [rows,rows,...]
+ *     </pre>
+ * </p>
+ */
+public final class MemoryBenchmark {
+
+    private static final String DEFAULT_ROWS = "10000,100000,1000000";
+    private static final long SEED = 42;
+
+    private MemoryBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        String[] rows = (args.length > 0 ? args[0] : DEFAULT_ROWS).split(",");
+
+        System.out.printf("%10s %-10s %14s %12s %14s%n",
+                "wiersze", "struktura", "sterta KB", "B/wydarzenie", "opisy");
+        // load the classes used by both structures before the first measurement
+        generate(1000, event -> { });
+        new CompactEventStore().add(new Event(LocalDate.now(), "rozgrzewka"));
+        for (String count : rows) {
+            int rowCount = Integer.parseInt(count.trim());
+
+            long before = usedHeap();
+            List<Event> list = new ArrayList<>();
+            generate(rowCount, list::add);
+            long listBytes = usedHeap() - before;
+            print(rowCount, "lista", listBytes, "-");
+            checkSize(list.size(), rowCount);
+            list = null;
+
+            before = usedHeap();
+            CompactEventStore store = new CompactEventStore();
+            generate(rowCount, store::add);
+            long storeBytes = usedHeap() - before;
+            print(rowCount, "kompakt", storeBytes, Integer.toString(store.getDistinctDescriptions()));
+            System.out.printf("%10s %-10s %14s %12s %14s%n", "", "szacunek",
+                    store.estimateBytes() / 1024, String.format("%.1f", (double) store.estimateBytes() / rowCount), "");
+            checkSize(store.size(), rowCount);
+        }
+    }
+
+    /**
+     * Keeps the measured structure reachable until after its measurement.
+     */
+    private static void checkSize(int size, int rows) {
+        if (size != rows) {
+            throw new IllegalStateException("Nieprawidłowa liczba wydarzeń: " + size);
+        }
+    }
+
+    private static void generate(int rows, Consumer<Event> sink) {
+        Random random = new Random(SEED);
+        long firstDay = LocalDate.now().minusYears(10).toEpochDay();
+        for (int i = 0; i < rows; i++) {
+            LocalDate date = LocalDate.ofEpochDay(firstDay + random.nextInt(20 * 365));
+            // a copy, like a description read from a file
+            String description = new String(SyntheticEvents.description(random));
+            if (i % 10 == 0) {
+                sink.accept(new Event(date, description, LocalTime.of(8 + random.nextInt(10), 0), 30));
+            } else {
+                sink.accept(new Event(date, description));
+            }
+        }
+    }
+
+    private static void print(int rows, String structure, long bytes, String descriptions) {
+        System.out.printf("%10d %-10s %14d %12.1f %14s%n",
+                rows, structure, bytes / 1024, (double) bytes / rows, descriptions);
+    }
+
+    /**
+     * Returns the used heap after several full collections; a single collection may leave
+     * garbage behind.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,102 @@
+package com.calendar.Benchmark;
+
+import com.calendar.Event.Event;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Generates synthetic events files for benchmarks.
+ * <p>
+ *     Dates are spread uniformly over {@value #YEARS_SPAN} years around the current date.
+ *     A third of the descriptions are recurring titles (like a daily standup), the rest are
+ *     built from 1-8 random words, which gives a realistic mix of short and long descriptions.
+ *     The same seed always produces the same file.
+ * </p>
+ */
+public final class SyntheticEvents {
+
+    private static final int YEARS_SPAN = 20;
+
+    private static final String[] RECURRING = {
+            "Standup", "Spotkanie zespołu", "Przegląd sprintu", "Trening", "Obiad z rodziną",
+            "Planowanie", "Retrospektywa", "Wizyta u lekarza"
+    };
+
+    private static final String[] WORDS = {
+            "spotkanie", "projekt", "klient", "prezentacja", "raport", "urodziny", "wyjazd",
+            "konferencja", "szkolenie", "przegląd", "budżet", "zakupy", "kolacja", "dentysta",
+            "wdrożenie", "rozmowa", "rekrutacja", "warsztaty", "termin", "faktura", "kwartalny",
+            "roczny", "zespół", "marketing", "sprzedaż", "biuro", "lotnisko", "hotel", "bilety",
+            "przypomnienie", "serwis", "samochód", "mieszkanie", "umowa", "podpisanie", "audyt"
+    };
+
+    private SyntheticEvents() {
+    }
+
+    /**
+     * Writes a CSV file with the given number of events.
+     *
+     * @param file target file, overwritten if it exists
+     * @param rows number of events
+     * @param seed random seed
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeCsv(Path file, int rows, long seed) throws IOException {
+        Random random = new Random(seed);
+        long firstDay = LocalDate.now().minusYears(YEARS_SPAN / 2).toEpochDay();
+        int days = YEARS_SPAN * 365;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                LocalDate date = LocalDate.ofEpochDay(firstDay + random.nextInt(days));
+                writer.write(date.format(Event.DATE_PATTERN));
+                writer.write(',');
+                writer.write(description(random));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Creates a temporary CSV file with the given number of events, deleted on exit.
+     *
+     * @param rows number of events
+     * @param seed random seed
+     * @return path to the created file
+     * @throws IOException if the file cannot be written
+     */
+    public static Path createTempCsv(int rows, long seed) throws IOException {
+        Path file = Files.createTempFile("events-" + rows + "-", ".csv");
+        file.toFile().deleteOnExit();
+        writeCsv(file, rows, seed);
+        return file;
+    }
+
+    /**
+     * Returns a random description using the same distribution as the generated files.
+     *
+     * @param random source of randomness
+     * @return description without commas and line breaks
+     */
+    public static String description(Random random) {
+        if (random.nextInt(3) == 0) {
+            return RECURRING[random.nextInt(RECURRING.length)];
+        }
+
+        int words = 1 + random.nextInt(8);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        description.setCharAt(0, Character.toUpperCase(description.charAt(0)));
+        return description.toString();
+    }
+}
@@ -0,0 +1,217 @@
+package com.calendar.Benchmark;
+
+import com.calendar.CalendarController;
+import com.calendar.CalendarView;
+import com.calendar.MonthCanvas;
+import com.calendar.Metrics.LatencyHistogram;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Headless benchmark of the main window.
+ * <p>
+ *     Boots {@link CalendarController} on a code-built {@link CalendarView} against synthetic
+ *     event files, then drives the navigation buttons and the day cell click handler and prints,
+ *     per action, latency percentiles (including CSS and layout of the changed scene graph),
+ *     allocated bytes and the number of scene graph nodes afterwards.
+ * </p>
+ * <p>
+ *     By default JavaFX runs on the Monocle headless platform, so no display is needed; build with
+ *     the {@code ui-benchmark} profile to get Monocle on the class path, together with the JavaFX
+ *     version it is released for:
+ *     <pre>
+ *         mvn -Pui-benchmark compile exec:java -Dexec.args="[rows,rows,...] [iterations]"
+ *     </pre>
+ *     {@code -Dcalendar.benchmark.headless=false} uses the regular platform instead, and
+ *     {@code -Dcalendar.renderer=canvas} measures the {@link MonthCanvas} month grid.
+ * </p>
+ */
+public final class UiBenchmark {
+
+    private static final String DEFAULT_ROWS = "1000,10000,100000,1000000";
+    private static final int DEFAULT_ITERATIONS = 200;
+    private static final long SEED = 42;
+
+    private final Scene scene;
+    private final CalendarController controller;
+    private final int iterations;
+
+    private UiBenchmark(Scene scene, CalendarController controller, int iterations) {
+        this.scene = scene;
+        this.controller = controller;
+        this.iterations = iterations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] rows = (args.length > 0 ? args[0] : DEFAULT_ROWS).split(",");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+
+        if (!"false".equals(System.getProperty("calendar.benchmark.headless"))) {
+            System.setProperty("glass.platform", "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("prism.order", "sw");
+        }
+        Platform.startup(() -> { });
+        Platform.setImplicitExit(false);
+
+        System.out.printf("%10s %-12s %10s %10s %10s %10s %12s %8s%n",
+                "wiersze", "akcja", "p50 ms", "p90 ms", "p99 ms", "max ms", "alokacja KB", "węzły");
+
+        for (String count : rows) {
+            int rowCount = Integer.parseInt(count.trim());
+            Path file = SyntheticEvents.createTempCsv(rowCount, SEED);
+
+            Map<String, ActionResult> results = onFxThread(() -> {
+                CalendarView view = new CalendarView();
+                CalendarController controller = new CalendarController(view, file.toString());
+
+                Scene scene = new Scene(view.getView());
+                scene.getStylesheets().add(Objects.requireNonNull(
+                        UiBenchmark.class.getResource("/styles/styles.css")).toExternalForm());
+                Stage stage = new Stage();
+                stage.setScene(scene);
+                stage.show();
+
+                Map<String, ActionResult> actionResults = new UiBenchmark(scene, controller, iterations).runActions();
+                stage.close();
+                controller.close();
+                return actionResults;
+            });
+
+            for (Map.Entry<String, ActionResult> entry : results.entrySet()) {
+                ActionResult result = entry.getValue();
+                LatencyHistogram latency = result.latency;
+                System.out.printf("%10d %-12s %10.3f %10.3f %10.3f %10.3f %12.1f %8d%n",
+                        rowCount, entry.getKey(),
+                        latency.getPercentileNanos(50) / 1e6,
+                        latency.getPercentileNanos(90) / 1e6,
+                        latency.getPercentileNanos(99) / 1e6,
+                        latency.getMaxNanos() / 1e6,
+                        result.allocatedBytes / (double) latency.getCount() / 1024,
+                        result.nodeCount);
+            }
+        }
+
+        Platform.exit();
+    }
+
+    private Map<String, ActionResult> runActions() {
+        Map<String, ActionResult> results = new LinkedHashMap<>();
+        List<String> buttons = List.of(
+                "minusDayBtn", "plusDayBtn", "minusWeekBtn", "plusWeekBtn",
+                "prevMonthBtn", "nextMonthBtn", "resetBtn");
+
+        for (String id : buttons) {
+            Button button = (Button) scene.lookup("#" + id);
+            results.put(id.replace("Btn", ""), measure(button::fire));
+        }
+        results.put("dayClick", measure(this::openAndCloseDayModal));
+        return results;
+    }
+
+    /**
+     * Runs the action {@code iterations} times after the same number of warm-up runs.
+     */
+    private ActionResult measure(Runnable action) {
+        for (int i = 0; i < iterations; i++) {
+            runAndLayout(action);
+        }
+
+        ActionResult result = new ActionResult();
+        for (int i = 0; i < iterations; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            runAndLayout(action);
+            result.latency.record(System.nanoTime() - start);
+            result.allocatedBytes += allocatedBytes() - allocatedBefore;
+        }
+        result.nodeCount = countNodes(scene.getRoot());
+        return result;
+    }
+
+    private void runAndLayout(Runnable action) {
+        action.run();
+        // navigation is applied on the next pulse, which does not run while the action is timed
+        controller.applyPendingRefresh();
+        scene.getRoot().applyCss();
+        scene.getRoot().layout();
+    }
+
+    /**
+     * Clicks the first day cell. The dialog blocks in a nested event loop, so it is closed by a
+     * task queued before the click, which runs as soon as the dialog is showing.
+     */
+    private void openAndCloseDayModal() {
+        Node dayCell = scene.lookup("#date-item-1");
+        Point2D click = new Point2D(0, 0);
+        if (dayCell == null) {
+            MonthCanvas canvas = (MonthCanvas) scene.lookup("#month-canvas");
+            dayCell = canvas;
+            click = canvas.localToScene(canvas.getCellCenter(1));
+        }
+
+        Platform.runLater(() -> {
+            for (Window window : new ArrayList<>(Window.getWindows())) {
+                if (window != scene.getWindow()) {
+                    window.hide();
+                }
+            }
+        });
+
+        Event.fireEvent(dayCell, new MouseEvent(MouseEvent.MOUSE_CLICKED,
+                click.getX(), click.getY(), 0, 0, MouseButton.PRIMARY, 1,
+                false, false, false, false, true, false, false, true, false, true, null));
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static <T> T onFxThread(Callable<T> task) throws Exception {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future.get();
+    }
+
+    private static final class ActionResult {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long allocatedBytes;
+        private int nodeCount;
+    }
+}
@@ -0,0 +1,57 @@
+package com.calendar.Benchmark.Jmh;
+
+import com.calendar.Benchmark.SyntheticEvents;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Synthetic events files shared by the benchmarks of one JVM.
+ * <p>
+ *     Generating ten million rows takes longer than most measurements, so every size is written
+ *     once, from {@link SyntheticEvents} with a fixed seed, and copied for benchmarks that change
+ *     the file.
+ * </p>
+ */
+final class BenchmarkFiles {
+
+    static final long SEED = 42;
+
+    private static final Map<Integer, Path> TEMPLATES = new ConcurrentHashMap<>();
+
+    private BenchmarkFiles() {
+    }
+
+    /**
+     * Returns the generated file with the given number of rows. The file must not be changed.
+     *
+     * @param rows number of events
+     * @return path to the file, deleted on exit
+     * @throws IOException if the file cannot be written
+     */
+    static Path template(int rows) throws IOException {
+        Path file = TEMPLATES.get(rows);
+        if (file == null) {
+            file = SyntheticEvents.createTempCsv(rows, SEED);
+            TEMPLATES.put(rows, file);
+        }
+        return file;
+    }
+
+    /**
+     * Creates a fresh copy of the generated file, for benchmarks writing to it.
+     *
+     * @param rows number of events
+     * @return path to the copy, deleted on exit
+     * @throws IOException if the file cannot be copied
+     */
+    static Path copy(int rows) throws IOException {
+        Path copy = Files.createTempFile("events-copy-" + rows + "-", ".csv");
+        copy.toFile().deleteOnExit();
+        return Files.copy(template(rows), copy, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
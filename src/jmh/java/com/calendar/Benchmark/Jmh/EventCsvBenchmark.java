@@ -0,0 +1,64 @@
+package com.calendar.Benchmark.Jmh;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVParser;
+import com.calendar.Event.EventCSVWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of parsing and writing whole events files, the two halves of a load and of the
+ * rewrite done by every removal.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventCsvBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private List<String> lines;
+    private List<Event> events;
+    private final EventCSVParser parser = new EventCSVParser();
+    private EventCSVWriter writer;
+
+    @Setup(Level.Trial)
+    public void readFile() throws IOException {
+        lines = Files.readAllLines(BenchmarkFiles.template(rows));
+        events = parser.parseLinesFrom(lines);
+        Path output = Files.createTempFile("events-write-" + rows + "-", ".csv");
+        output.toFile().deleteOnExit();
+        writer = new EventCSVWriter(output.toString());
+    }
+
+    @Benchmark
+    public List<Event> parseLinesFrom() {
+        return parser.parseLinesFrom(lines);
+    }
+
+    @Benchmark
+    public List<Event> writeAllEvents() {
+        writer.writeAllEvents(events);
+        return events;
+    }
+}
@@ -0,0 +1,109 @@
+package com.calendar.Benchmark.Jmh;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link EventManager} operations on synthetic events files.
+ * <p>
+ *     Every benchmark works on its own copy of the file, reloaded before each iteration, so
+ *     additions and removals of one iteration do not pile up in the next. Queries use dates
+ *     drawn from the range of the generated file.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventManagerBenchmark {
+
+    private static final int DATES = 1024;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private Path file;
+    private EventManager manager;
+    private final LocalDate[] dates = new LocalDate[DATES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        file = BenchmarkFiles.copy(rows);
+        Random random = new Random(BenchmarkFiles.SEED);
+        long firstDay = LocalDate.now().minusYears(10).toEpochDay();
+        for (int i = 0; i < DATES; i++) {
+            dates[i] = LocalDate.ofEpochDay(firstDay + random.nextInt(20 * 365));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reload() throws IOException {
+        Files.copy(BenchmarkFiles.template(rows), file, StandardCopyOption.REPLACE_EXISTING);
+        manager = new EventManager(file.toString());
+        manager.loadEvents();
+    }
+
+    @Benchmark
+    public EventManager loadEvents() {
+        EventManager loaded = new EventManager(file.toString());
+        loaded.loadEvents();
+        return loaded;
+    }
+
+    /**
+     * Appends one event to the file and the indexes.
+     */
+    @Benchmark
+    public EventManager addEvent() {
+        manager.addEvent(new Event(nextDate(), "Spotkanie zespołu"));
+        return manager;
+    }
+
+    /**
+     * Removes the events of one day, which rewrites the whole file.
+     */
+    @Benchmark
+    public EventManager removeEvent() {
+        manager.removeEvent(nextDate());
+        return manager;
+    }
+
+    @Benchmark
+    public List<Event> getEventsForDate() {
+        return manager.getEventsForDate(nextDate());
+    }
+
+    @Benchmark
+    public List<Event> getAllEvents() {
+        return manager.getAllEvents();
+    }
+
+    private LocalDate nextDate() {
+        next = (next + 1) & (DATES - 1);
+        return dates[next];
+    }
+}
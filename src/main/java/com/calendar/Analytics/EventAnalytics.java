@@ -0,0 +1,503 @@
+package com.calendar.Analytics;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventChangeListener;
+import com.calendar.Event.EventManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Statistics of the event history: events per weekday, month and year, the busiest days and
+ * the longest gaps between days with events.
+ * <p>
+ *     The events of the managers are turned into a date index, an array of epoch days
+ *     sorted with {@link Arrays#parallelSort(int[])}, and aggregated in a single fork-join pass:
+ *     the array is split in halves at day boundaries, so every task sees whole days, until the
+ *     parts are small enough to be counted directly, and the partial results are merged in
+ *     order. Every step is parallel and linear, so the work spreads over all cores of the common
+ *     pool. The day of the week is computed from the epoch day ({@code floorMod(day + 3, 7)}),
+ *     year and month once per distinct day.
+ * </p>
+ * <p>
+ *     Events are counted on the day they start. The whole history is counted: the days of
+ *     loaded events are copied, windowed stores are streamed ({@link EventManager#forEachEvent})
+ *     without keeping the events. The report is computed on the first {@link #getReport()} and
+ *     kept until a manager adds or removes events; loading another window changes nothing.
+ *     {@link #prepareReport()} copies the loaded days and leaves the rest of the work, streaming
+ *     included, to any thread, e.g. a background task of the UI.
+ * </p>
+ */
+public class EventAnalytics implements EventChangeListener {
+
+    /**
+     * Number of busiest days and longest gaps reported by default.
+     */
+    public static final int DEFAULT_TOP = 10;
+
+    // below this many events a task counts instead of splitting further
+    private static final int SPLIT_THRESHOLD = 1 << 15;
+
+    private final List<EventManager> eventManagers;
+    private final int top;
+    private volatile Report report;
+    // number of changes of the events, guarded by this
+    private long version;
+
+    /**
+     * Creates statistics of one manager, with the {@value #DEFAULT_TOP} busiest days and longest gaps.
+     *
+     * @param eventManager the events
+     */
+    public EventAnalytics(EventManager eventManager) {
+        this(List.of(eventManager), DEFAULT_TOP);
+    }
+
+    /**
+     * Creates statistics over the events of several managers, e.g. of all calendars, and
+     * registers as their change listener.
+     *
+     * @param eventManagers the managers
+     * @param top number of busiest days and longest gaps reported
+     */
+    public EventAnalytics(List<EventManager> eventManagers, int top) {
+        if (top < 0) {
+            throw new IllegalArgumentException("Liczba wyników nie może być ujemna: " + top);
+        }
+        this.eventManagers = List.copyOf(eventManagers);
+        this.top = top;
+        for (EventManager eventManager : this.eventManagers) {
+            eventManager.addChangeListener(this);
+        }
+    }
+
+    /**
+     * Returns the statistics, computing them if the events changed since the last call.
+     * Must be called on the thread changing the managers.
+     *
+     * @return the statistics of all events
+     */
+    public Report getReport() {
+        return prepareReport().get();
+    }
+
+    /**
+     * Copies the days of the loaded events if the statistics have to be computed again and
+     * returns the computation, which may run on any thread and streams the windowed stores. Must
+     * be called on the thread changing the managers. The result is kept like one of
+     * {@link #getReport()} unless the events changed in the meantime.
+     *
+     * @return a supplier of the statistics of the events at the time of this call
+     */
+    public Supplier<Report> prepareReport() {
+        Report current = report;
+        if (current != null) {
+            return () -> current;
+        }
+        // loaded events are read here, windowed stores (which are synchronized) by the computation
+        List<Days> copies = new ArrayList<>(eventManagers.size());
+        List<EventManager> streamed = new ArrayList<>();
+        for (EventManager eventManager : eventManagers) {
+            if (eventManager.isWindowed()) {
+                streamed.add(eventManager);
+            } else {
+                Days copy = new Days();
+                eventManager.forEachEvent(copy);
+                copies.add(copy);
+            }
+        }
+        long copiedVersion;
+        synchronized (this) {
+            copiedVersion = version;
+        }
+        return () -> {
+            for (EventManager eventManager : streamed) {
+                Days copy = new Days();
+                eventManager.forEachEvent(copy);
+                copies.add(copy);
+            }
+            Report computed = compute(copies);
+            synchronized (this) {
+                if (version == copiedVersion) {
+                    report = computed;
+                }
+            }
+            return computed;
+        };
+    }
+
+    @Override
+    public void eventsLoaded(List<Event> events) {
+        // a load only moves the window of a windowed store, the history stays the same
+    }
+
+    @Override
+    public void eventsAdded(List<Event> events) {
+        invalidate();
+    }
+
+    @Override
+    public void eventsRemoved(List<Event> events) {
+        invalidate();
+    }
+
+    private synchronized void invalidate() {
+        version++;
+        report = null;
+    }
+
+    private Report compute(List<Days> copies) {
+        int length = 0;
+        for (Days copy : copies) {
+            length += copy.size;
+        }
+        int[] days = new int[length];
+        int offset = 0;
+        for (Days copy : copies) {
+            System.arraycopy(copy.days, 0, days, offset, copy.size);
+            offset += copy.size;
+        }
+        Arrays.parallelSort(days);
+
+        Partial totals = days.length == 0
+                ? new Partial(top)
+                : ForkJoinPool.commonPool().invoke(new Aggregate(days, 0, days.length, top));
+        return new Report(totals);
+    }
+
+    /**
+     * Growable array of the epoch days events start on, 4 bytes per event instead of the event.
+     */
+    private static final class Days implements Consumer<Event> {
+        private int[] days = new int[1024];
+        private int size;
+
+        @Override
+        public void accept(Event event) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+            }
+            days[size++] = (int) event.getDate().toEpochDay();
+        }
+    }
+
+    /**
+     * Counts a range of the sorted date index, splitting it at day boundaries.
+     */
+    private static final class Aggregate extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] days;
+        private final int from;
+        private final int to;
+        private final int top;
+
+        private Aggregate(int[] days, int from, int to, int top) {
+            this.days = days;
+            this.from = from;
+            this.to = to;
+            this.top = top;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                // the events of one day stay in one task
+                while (middle < to && days[middle] == days[middle - 1]) {
+                    middle++;
+                }
+                if (middle < to) {
+                    Aggregate left = new Aggregate(days, from, middle, top);
+                    left.fork();
+                    Partial right = new Aggregate(days, middle, to, top).compute();
+                    return left.join().append(right);
+                }
+            }
+
+            Partial partial = new Partial(top);
+            int i = from;
+            while (i < to) {
+                int day = days[i];
+                int next = i + 1;
+                while (next < to && days[next] == day) {
+                    next++;
+                }
+                partial.addDay(day, next - i);
+                i = next;
+            }
+            return partial;
+        }
+    }
+
+    /**
+     * Statistics of a run of consecutive days of the index.
+     */
+    private static final class Partial {
+        private final long[] byWeekday = new long[7];
+        private final long[] byMonth = new long[12];
+        private final TreeMap<Integer, Long> byYear = new TreeMap<>();
+        private final Top<DayCount> busiest;
+        private final Top<Gap> gaps;
+        private long events;
+        private long distinctDays;
+        private long gapDays;
+        private int firstDay;
+        private int lastDay;
+
+        private Partial(int top) {
+            busiest = new Top<>(top, Comparator.comparingLong(DayCount::getCount)
+                    .thenComparing(DayCount::getDate, Comparator.reverseOrder()));
+            gaps = new Top<>(top, Comparator.comparingLong(Gap::getDays)
+                    .thenComparing(Gap::getFrom, Comparator.reverseOrder()));
+        }
+
+        private void addDay(int day, long count) {
+            // 0 = Monday, the epoch day 0 is a Thursday
+            byWeekday[Math.floorMod(day + 3, 7)] += count;
+            LocalDate date = LocalDate.ofEpochDay(day);
+            byMonth[date.getMonthValue() - 1] += count;
+            byYear.merge(date.getYear(), count, Long::sum);
+            busiest.offer(new DayCount(date, count));
+
+            if (distinctDays == 0) {
+                firstDay = day;
+            } else {
+                addGap(lastDay, day);
+            }
+            lastDay = day;
+            distinctDays++;
+            events += count;
+        }
+
+        private void addGap(int from, int to) {
+            gapDays += to - from;
+            gaps.offer(new Gap(LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(to)));
+        }
+
+        /**
+         * Adds the statistics of the days following these.
+         */
+        private Partial append(Partial next) {
+            if (next.distinctDays == 0) {
+                return this;
+            }
+            for (int i = 0; i < byWeekday.length; i++) {
+                byWeekday[i] += next.byWeekday[i];
+            }
+            for (int i = 0; i < byMonth.length; i++) {
+                byMonth[i] += next.byMonth[i];
+            }
+            next.byYear.forEach((year, count) -> byYear.merge(year, count, Long::sum));
+            next.busiest.forEach(busiest::offer);
+            next.gaps.forEach(gaps::offer);
+
+            if (distinctDays == 0) {
+                firstDay = next.firstDay;
+            } else {
+                addGap(lastDay, next.firstDay);
+            }
+            lastDay = next.lastDay;
+            gapDays += next.gapDays;
+            distinctDays += next.distinctDays;
+            events += next.events;
+            return this;
+        }
+    }
+
+    /**
+     * The greatest elements offered, kept in a bounded heap with the least of them on top.
+     */
+    private static final class Top<T> {
+        private final int size;
+        private final Comparator<T> order;
+        private final PriorityQueue<T> heap;
+
+        private Top(int size, Comparator<T> order) {
+            this.size = size;
+            this.order = order;
+            this.heap = new PriorityQueue<>(Math.max(size, 1), order);
+        }
+
+        private void offer(T element) {
+            if (heap.size() < size) {
+                heap.add(element);
+            } else if (size > 0 && order.compare(element, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(element);
+            }
+        }
+
+        private void forEach(Consumer<T> action) {
+            heap.forEach(action);
+        }
+
+        private List<T> sorted() {
+            List<T> elements = new ArrayList<>(heap);
+            elements.sort(order.reversed());
+            return Collections.unmodifiableList(elements);
+        }
+    }
+
+    /**
+     * The statistics of the events at the time they were computed.
+     */
+    public static final class Report {
+        private final long eventCount;
+        private final long dayCount;
+        private final LocalDate firstDate;
+        private final LocalDate lastDate;
+        private final long[] byWeekday;
+        private final long[] byMonth;
+        private final SortedMap<Integer, Long> byYear;
+        private final List<DayCount> busiestDays;
+        private final List<Gap> longestGaps;
+        private final double averageGapDays;
+
+        private Report(Partial totals) {
+            this.eventCount = totals.events;
+            this.dayCount = totals.distinctDays;
+            this.firstDate = totals.distinctDays == 0 ? null : LocalDate.ofEpochDay(totals.firstDay);
+            this.lastDate = totals.distinctDays == 0 ? null : LocalDate.ofEpochDay(totals.lastDay);
+            this.byWeekday = totals.byWeekday;
+            this.byMonth = totals.byMonth;
+            this.byYear = Collections.unmodifiableSortedMap(totals.byYear);
+            this.busiestDays = totals.busiest.sorted();
+            this.longestGaps = totals.gaps.sorted();
+            this.averageGapDays = totals.distinctDays < 2 ? 0 : (double) totals.gapDays / (totals.distinctDays - 1);
+        }
+
+        public long getEventCount() {
+            return eventCount;
+        }
+
+        /**
+         * @return number of days on which at least one event starts
+         */
+        public long getDayCount() {
+            return dayCount;
+        }
+
+        /**
+         * @return the first day with events, or null if there are none
+         */
+        public LocalDate getFirstDate() {
+            return firstDate;
+        }
+
+        /**
+         * @return the last day with events, or null if there are none
+         */
+        public LocalDate getLastDate() {
+            return lastDate;
+        }
+
+        /**
+         * @return a new array of event counts, index 0 for Monday up to 6 for Sunday
+         */
+        public long[] getCountsByWeekday() {
+            return byWeekday.clone();
+        }
+
+        /**
+         * @return a new array of event counts of all years, index 0 for January
+         */
+        public long[] getCountsByMonth() {
+            return byMonth.clone();
+        }
+
+        /**
+         * @return event counts by year, for the years with events
+         */
+        public SortedMap<Integer, Long> getCountsByYear() {
+            return byYear;
+        }
+
+        /**
+         * @return the days with the most events, the busiest first
+         */
+        public List<DayCount> getBusiestDays() {
+            return busiestDays;
+        }
+
+        /**
+         * @return the longest gaps between consecutive days with events, the longest first
+         */
+        public List<Gap> getLongestGaps() {
+            return longestGaps;
+        }
+
+        /**
+         * @return the mean number of days between consecutive days with events, 0 for fewer than two
+         */
+        public double getAverageGapDays() {
+            return averageGapDays;
+        }
+    }
+
+    /**
+     * Number of events starting on a day.
+     */
+    public static final class DayCount {
+        private final LocalDate date;
+        private final long count;
+
+        private DayCount(LocalDate date, long count) {
+            this.date = date;
+            this.count = count;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Time between two consecutive days with events.
+     */
+    public static final class Gap {
+        private final LocalDate from;
+        private final LocalDate to;
+
+        private Gap(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * @return the day with events before the gap
+         */
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        /**
+         * @return the next day with events
+         */
+        public LocalDate getTo() {
+            return to;
+        }
+
+        /**
+         * @return number of days from {@link #getFrom()} to {@link #getTo()}, at least 1
+         */
+        public long getDays() {
+            return to.toEpochDay() - from.toEpochDay();
+        }
+    }
+}
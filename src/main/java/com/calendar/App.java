@@ -1,6 +1,7 @@
 package com.calendar;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -11,22 +12,80 @@ import java.util.Objects;
 
 /**
  * JavaFX Calendar App
+ * <p>
+ *     The window is loaded from {@code calendar.fxml} by default. Starting with
+ *     {@code -Dcalendar.view=code} builds the same window with {@link CalendarView} instead,
+ *     skipping FXML parsing and reflection. {@code -Dcalendar.startupTiming=true} prints how long
+ *     building the view and showing the first frame took, so both paths can be compared.
+ * </p>
  */
 public class App extends Application {
 
+    private static final String VIEW_PROPERTY = "calendar.view";
+    private static final String TIMING_PROPERTY = "calendar.startupTiming";
+
+    private CalendarController controller;
+
     @Override
     public void start(Stage stage) throws IOException {
-        Scene scene = new Scene(loadFXML());
+        final long startTime = System.nanoTime();
+        final boolean codeView = "code".equals(System.getProperty(VIEW_PROPERTY));
+
+        Scene scene = new Scene(codeView ? buildView() : loadFXML());
+        final long viewTime = System.nanoTime();
+
         scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/styles/styles.css")).toExternalForm());
+        if (Boolean.getBoolean(TIMING_PROPERTY)) {
+            printStartupTiming(scene, codeView ? "code" : "fxml", startTime, viewTime);
+        }
+
         stage.setMaximized(true);
         stage.setTitle("Calendar");
         stage.setScene(scene);
         stage.show();
     }
 
-    private static Parent loadFXML() throws IOException {
+    /**
+     * Closes the calendars, so their stores write out what they still keep.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.close();
+        }
+    }
+
+    private Parent loadFXML() throws IOException {
         FXMLLoader fxmlLoader = new FXMLLoader(App.class.getResource("calendar.fxml"));
-        return fxmlLoader.load();
+        Parent root = fxmlLoader.load();
+        controller = fxmlLoader.getController();
+        return root;
+    }
+
+    private Parent buildView() {
+        CalendarView view = new CalendarView();
+        controller = new CalendarController(view);
+        return view.getView();
+    }
+
+    private static void printStartupTiming(Scene scene, String viewType, long startTime, long viewTime) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            private boolean printed;
+
+            @Override
+            public void run() {
+                if (printed) {
+                    return;
+                }
+                printed = true;
+                // listeners must not be removed while the pulse iterates over them
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+
+                long frameTime = System.nanoTime();
+                System.out.printf("Widok (%s): budowa %.1f ms, pierwsza klatka %.1f ms%n",
+                        viewType, (viewTime - startTime) / 1e6, (frameTime - startTime) / 1e6);
+            }
+        });
     }
 
     public static void main(String[] args) {
@@ -1,6 +1,9 @@
 package com.calendar;
 
 import com.calendar.Exceptions.CreateCalendarException;
+import com.calendar.Holiday.BusinessDays;
+import com.calendar.Holiday.HolidayCalendar;
+import com.calendar.Localization.CalendarNames;
 import com.calendar.Month.MonthsTable;
 import com.calendar.Month.Month;
 
@@ -18,6 +21,10 @@ public class Calendar implements Comparable<Calendar> {
     private Month month;
     private int year;
 
+    private final CalendarNames names = CalendarNames.getDefault();
+    // reused by the text getters, which run on every navigation
+    private final StringBuilder text = new StringBuilder(32);
+
     // CONSTRUCTORS
     /**
      * Constructs a new {@code Calendar} object initialized to the current system date.
@@ -168,6 +175,44 @@ public class Calendar implements Comparable<Calendar> {
         }
     }
 
+    /**
+     * Moves the calendar date by business days: weekdays that are not public holidays of the
+     * default {@link HolidayCalendar}. The current date does not count, so one business day
+     * after a Friday is the next Monday, unless it is a holiday.
+     * Takes the same time for any {@code n}, see {@link BusinessDays}.
+     *
+     * @param n The number of business days, negative to go back.
+     */
+    public void plusBusinessDays(int n) {
+        LocalDate date = BusinessDays.getDefault().plus(toLocalDate(), n);
+        this.year = date.getYear();
+        this.month = MonthsTable.getMonth(year, date.getMonthValue());
+        this.day = date.getDayOfMonth();
+    }
+
+    /**
+     * Checks whether this calendar date is a business day: a weekday that is not a public
+     * holiday of the default {@link HolidayCalendar}.
+     *
+     * @return {@code true} for business days.
+     */
+    public boolean isBusinessDay() {
+        return BusinessDays.getDefault().isBusinessDay(toLocalDate());
+    }
+
+    /**
+     * Counts the business days between two dates, the first one included and the last one not,
+     * like {@link java.time.temporal.ChronoUnit#between}.
+     * Takes the same time for any span, see {@link BusinessDays}.
+     *
+     * @param a The first date (inclusive).
+     * @param b The last date (exclusive).
+     * @return The number of business days, negative if {@code b} is before {@code a}.
+     */
+    public static long businessDaysBetween(Calendar a, Calendar b) {
+        return BusinessDays.getDefault().between(a.toLocalDate(), b.toLocalDate());
+    }
+
     /**
      * Determines the day of the week for this calendar date using a reference date (November 30, 2020, a Monday).
      * It iteratively adds or subtracts weeks/days until the current date is reached, tracking the day of the week.
@@ -177,7 +222,6 @@ public class Calendar implements Comparable<Calendar> {
     public String getDayOfWeekByDeterminant() {
         Calendar temp = new Calendar(30, 11, 2020); // wiem że to jest Poniedzialek
 
-        String[] days = {"Poniedziałek", "Wtorek", "Środa", "Czwartek", "Piątek", "Sobota", "Niedziela"};
         int dayIndex = 0;
 
 
@@ -203,38 +247,19 @@ public class Calendar implements Comparable<Calendar> {
             }
         }
 
-        return days[dayIndex % 7];
+        return names.getWeekdayName(dayIndex % 7);
     }
 
     /**
      * Determines the day of the week for this calendar date using Zeller's congruence algorithm.
      * This algorithm directly calculates the day of the week for any Gregorian calendar date.
      *
-     * @return The name of the day of the week in Polish (e.g., "Sobota", "Niedziela").
-     * The mapping is 0=Saturday, 1=Sunday, ..., 6=Friday.
+     * @return The name of the day of the week in the application language (e.g., "Sobota", "Niedziela").
+     * @see MonthsTable#getDayOfWeek(int, int, int)
+     * @see CalendarNames
      */
     public String getDayOfWeekByZeller() {
-
-        // (0=Sobota, 1=Niedziela, ...)
-        String[] days = {"Sobota", "Niedziela", "Poniedziałek", "Wtorek", "Środa", "Czwartek", "Piątek"};
-
-        int q = this.day; // dzień misiąca
-        int m = this.month.getNumOfMonth(); // numer miesiąca
-        int y = this.year; // rok
-
-        // (3-Marzec, 4-Kwiecień, ..., 14-Luty)
-        if(m < 3) {
-            m += 12;
-            y--;
-        }
-
-        int K = y % 100; // ostatek po dzieleniu
-        int J = y / 100; // zero-based year
-
-        // dla Gregirianskigo kalendarza
-        int h = (q + (13 * (m + 1)) / 5 + K + (K / 4) + (J / 4) - 2 * J) % 7;
-
-        return days[h];
+        return names.getWeekdayName(MonthsTable.getDayOfWeek(year, month.getNumOfMonth(), day));
     }
 
     // GETTERS AND SETTERS
@@ -290,11 +315,30 @@ public class Calendar implements Comparable<Calendar> {
     }
 
     public String getDateWithMonth() {
-        return String.format("%d %s %d", day, month.getNameOfMonth(), year);
+        text.setLength(0);
+        return names.appendDate(text, day, month.getNumOfMonth(), year).toString();
     }
 
     public String getDateWithMonthName() {
-        return String.format("%d %s", day, MonthsTable.getMonthNameGenitive(month.getNumOfMonth()));
+        text.setLength(0);
+        return names.appendDayAndMonth(text, day, month.getNumOfMonth()).toString();
+    }
+
+    /**
+     * Returns the month name with the year, e.g. "Styczeń 2024".
+     * @return The month and year.
+     */
+    public String getMonthWithYear() {
+        text.setLength(0);
+        return names.appendMonthAndYear(text, month.getNumOfMonth(), year).toString();
+    }
+
+    /**
+     * Converts this date to a {@link LocalDate}.
+     * @return The same date as a {@link LocalDate}.
+     */
+    public LocalDate toLocalDate() {
+        return LocalDate.of(year, month.getNumOfMonth(), day);
     }
 
     @Override
@@ -1,33 +1,95 @@
 package com.calendar;
 
+import com.calendar.Analytics.EventAnalytics;
 import com.calendar.Event.Event;
 import com.calendar.Event.EventManager;
+import com.calendar.Holiday.HolidayCalendar;
+import com.calendar.Metrics.MetricsRegistry;
+import com.calendar.Metrics.OperationMetrics;
+import com.calendar.Metrics.RenderEvent;
 import com.calendar.Month.MonthsTable;
+import com.calendar.Overlay.CalendarOverlay;
+import com.calendar.Overlay.NamedCalendar;
+import com.calendar.Reminder.ReminderScheduler;
+import com.calendar.Store.EventStores;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.geometry.VPos;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
 
 import java.net.URL;
-import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class CalendarController implements Initializable {
 
-    private final String EVENTS_PATH = Paths.get(System.getProperty("user.dir")).toAbsolutePath() + "/src/main/java/com/calendar/Event/events.csv";
+    /**
+     * System property selecting how the month grid is drawn, {@code canvas} for {@link MonthCanvas}.
+     */
+    public static final String RENDERER_PROPERTY = "calendar.renderer";
+
+    private final String eventsPath;
+    private static final int SEARCH_RESULTS_LIMIT = 200;
+    private static final int SPAN_LANES = 2;
+    // reminder choices of the event dialog, minutes before the start
+    private static final List<Integer> REMINDER_OPTIONS = List.of(Event.NO_REMINDER, 0, 5, 15, 30, 60, 24 * 60);
+    private static final double REMINDER_SECONDS = 10;
+    private static final OperationMetrics GRID_METRICS = MetricsRegistry.operation("calendarController.createCalendarCardsGrid");
+    private static final OperationMetrics EVENT_LIST_METRICS = MetricsRegistry.operation("calendarController.refreshEventList");
+    private static final OperationMetrics HIGHLIGHT_METRICS = MetricsRegistry.operation("calendarController.moveHighlight");
+    private static final OperationMetrics MODAL_METRICS = MetricsRegistry.operation("calendarController.openEventModal");
     private Calendar calendar;
-    private EventManager eventManager;
+    private CalendarOverlay calendars;
+    private ReminderScheduler reminderScheduler;
     private boolean isUpdate;
-    private Set<LocalDate> eventDates;
+    // calendars with events on a day, spans not included
+    private Map<LocalDate, Set<NamedCalendar>> eventDates;
+    private MonthCanvas monthCanvas;
+    private int visibleReminders;
+
+    // month shown by the grid and its day cells, index = day of month
+    private int shownYear;
+    private int shownMonth;
+    private int highlightedDay;
+    // bit d set if day d of the shown month is a public holiday
+    private int holidayMask;
+    private Label[] dayLabels;
+    private final HolidayCalendar holidays = HolidayCalendar.getDefault();
+
+    // navigation requested since the last pulse
+    private boolean navigationPending;
+    private boolean pendingCurrentDate;
+    private boolean lastUpdateCurrentDate;
+    private boolean pulseListenerInstalled;
 
     @FXML
     private AnchorPane root;
@@ -41,6 +103,8 @@ public class CalendarController implements Initializable {
     private Button minusDayBtn, plusDayBtn, minusWeekBtn, plusWeekBtn, resetBtn;
     @FXML
     private Button prevMonthBtn, nextMonthBtn;
+    @FXML
+    private Button yearViewBtn, statsBtn;
 
     // Event
     @FXML
@@ -50,37 +114,225 @@ public class CalendarController implements Initializable {
     @FXML
     private Button addEventBtn;
     @FXML
+    private TextField eventSearchField;
+    @FXML
     private ListView<Label> eventListView;
 
+    /**
+     * Used by {@code FXMLLoader}, which injects the {@code @FXML} fields and calls
+     * {@link #initialize(URL, ResourceBundle)}.
+     */
+    public CalendarController() {
+        this.eventsPath = EventStores.getDefaultLocation();
+    }
+
+    /**
+     * Wires the controller to a view built in code, without FXML and reflection.
+     *
+     * @param view the view created by {@link CalendarView}
+     */
+    public CalendarController(CalendarView view) {
+        this(view, EventStores.getDefaultLocation());
+    }
+
+    /**
+     * Wires the controller to a view built in code and reads events from the given file.
+     *
+     * @param view the view created by {@link CalendarView}
+     * @param eventsPath path to the CSV file with events
+     */
+    public CalendarController(CalendarView view, String eventsPath) {
+        this.eventsPath = eventsPath;
+        root = view.root;
+        currentDate = view.currentDate;
+        selectedMonthLabel = view.selectedMonthLabel;
+
+        minusDayBtn = view.minusDayBtn;
+        plusDayBtn = view.plusDayBtn;
+        minusWeekBtn = view.minusWeekBtn;
+        plusWeekBtn = view.plusWeekBtn;
+        resetBtn = view.resetBtn;
+        prevMonthBtn = view.prevMonthBtn;
+        nextMonthBtn = view.nextMonthBtn;
+        yearViewBtn = view.yearViewBtn;
+        statsBtn = view.statsBtn;
+
+        eventTitleField = view.eventTitleField;
+        eventDatePicker = view.eventDatePicker;
+        addEventBtn = view.addEventBtn;
+        eventSearchField = view.eventSearchField;
+        eventListView = view.eventListView;
+
+        init();
+    }
+
     private void init() {
         calendar = new Calendar();
-        eventManager = new EventManager(EVENTS_PATH);
+        calendars = CalendarOverlay.fromConfig(EventStores.getConfig(), eventsPath);
+        reminderScheduler = new ReminderScheduler(event -> Platform.runLater(() -> showReminder(event)));
+        for (NamedCalendar named : calendars.getCalendars()) {
+            reminderScheduler.follow(named.getEventManager());
+        }
+        reminderScheduler.start();
         currentDate.setText(calendar.getDayOfWeekByZeller() + ", " + calendar.getDateWithMonthName());
-        ButtonHandler buttonHandler = new ButtonHandler(calendar, this::refreshCalendar);
+        ButtonHandler buttonHandler = new ButtonHandler(calendar, this::requestRefresh);
         isUpdate = true;
 
         buttonHandler.setupButtons(minusDayBtn, plusDayBtn, minusWeekBtn, plusWeekBtn, resetBtn, prevMonthBtn, nextMonthBtn);
 
+        yearViewBtn.setOnAction(e ->
+                new YearHeatmapView(calendars::getEventCountsForYear).show(root.getScene().getWindow(), calendar.getYear()));
+
+        List<EventManager> eventManagers = new ArrayList<>();
+        for (NamedCalendar named : calendars.getCalendars()) {
+            eventManagers.add(named.getEventManager());
+        }
+        EventAnalytics analytics = new EventAnalytics(eventManagers, EventAnalytics.DEFAULT_TOP);
+        statsBtn.setOnAction(e -> new StatisticsView(analytics).show(root.getScene().getWindow()));
+
+        if ("canvas".equals(System.getProperty(RENDERER_PROPERTY))) {
+            monthCanvas = new MonthCanvas();
+            monthCanvas.setLayoutX(150);
+            monthCanvas.setLayoutY(110);
+            monthCanvas.setOnDayClicked(this::openEventModal);
+            root.getChildren().add(monthCanvas);
+        }
+        if (calendars.getCalendars().size() > 1) {
+            createCalendarToggles();
+        }
+
         loadEventDates();
         setupEventPanel();
         createCalendarCardsGrid();
     }
 
-    private void refreshCalendar(boolean updateCurrentDate) {
+    /**
+     * Adds a check box per calendar above the grid, showing or hiding its events.
+     */
+    private void createCalendarToggles() {
+        HBox toggles = new HBox(16);
+        toggles.setId("calendar-toggles");
+        toggles.setAlignment(Pos.CENTER_LEFT);
+        toggles.setLayoutX(160);
+        toggles.setLayoutY(80);
+        for (NamedCalendar named : calendars.getCalendars()) {
+            CheckBox toggle = new CheckBox(named.getName());
+            toggle.setId("calendar-toggle-" + named.getName());
+            toggle.setGraphic(calendarDot(named));
+            toggle.setSelected(named.isVisible());
+            toggle.selectedProperty().addListener((obs, wasSelected, selected) -> {
+                named.setVisible(selected);
+                // the events of hidden calendars stay loaded, only the views change
+                collectEventDates();
+                refreshEventList();
+                createCalendarCardsGrid();
+            });
+            toggles.getChildren().add(toggle);
+        }
+        root.getChildren().add(toggles);
+    }
+
+    private static Circle calendarDot(NamedCalendar named) {
+        return new Circle(4, Color.web(named.getColor()));
+    }
+
+    /**
+     * Schedules a refresh after navigation. All requests made before the next pulse are applied
+     * together just before its layout pass, so repeated clicks update the window once per frame.
+     */
+    private void requestRefresh(boolean updateCurrentDate) {
+        pendingCurrentDate |= updateCurrentDate;
+        lastUpdateCurrentDate = updateCurrentDate;
+
+        Scene scene = root.getScene();
+        if (scene == null) {
+            // not shown yet, nothing to coalesce with
+            navigationPending = true;
+            applyPendingRefresh();
+            return;
+        }
+        if (!pulseListenerInstalled) {
+            scene.addPreLayoutPulseListener(this::applyPendingRefresh);
+            pulseListenerInstalled = true;
+        }
+        if (!navigationPending) {
+            navigationPending = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    /**
+     * Stops the reminders and closes the stores of all calendars. Called when the application
+     * stops.
+     */
+    public void close() {
+        if (reminderScheduler != null) {
+            reminderScheduler.close();
+        }
+        if (calendars != null) {
+            calendars.close();
+        }
+    }
+
+    /**
+     * Applies a refresh requested by navigation without waiting for the next pulse.
+     * Does nothing when no refresh is pending.
+     */
+    public void applyPendingRefresh() {
+        if (!navigationPending) {
+            return;
+        }
+        boolean updateCurrentDate = pendingCurrentDate;
+        boolean lastUpdate = lastUpdateCurrentDate;
+        navigationPending = false;
+        pendingCurrentDate = false;
+        lastUpdateCurrentDate = false;
+        refreshCalendar(updateCurrentDate, lastUpdate);
+    }
+
+    private void refreshCalendar(boolean updateCurrentDate, boolean highlightToday) {
         if (updateCurrentDate) {
             currentDate.setText(calendar.getDayOfWeekByZeller() + ", " + calendar.getDateWithMonthName());
-            eventDatePicker.setValue(LocalDate.parse(calendar.toString()));
-            this.isUpdate = true;
+            eventDatePicker.setValue(calendar.toLocalDate());
+        }
+        this.isUpdate = highlightToday
+                || calendar.getMonth().getNumOfMonth() == LocalDate.now().getMonthValue();
+
+        selectedMonthLabel.setText(calendar.getMonthWithYear());
+        if (calendar.getYear() == shownYear && calendar.getMonth().getNumOfMonth() == shownMonth) {
+            moveHighlight();
         } else {
-            this.isUpdate = calendar.getMonth().getNumOfMonth() == LocalDate.now().getMonthValue();
+            createCalendarCardsGrid();
         }
+    }
 
-        selectedMonthLabel.setText(calendar.getMonth().getNameOfMonth() + " " + calendar.getYear());
-        createCalendarCardsGrid();
+    /**
+     * Updates only the day cells whose highlight changed, for moves within the shown month.
+     */
+    private void moveHighlight() {
+        RenderEvent probe = RenderEvent.start(HIGHLIGHT_METRICS);
+        int newDay = isUpdate ? calendar.getDay() : 0;
+        int updated = 0;
+
+        if (newDay != highlightedDay) {
+            int oldDay = highlightedDay;
+            highlightedDay = newDay;
+            if (monthCanvas != null) {
+                updated = monthCanvas.setHighlightedDay(newDay);
+            } else {
+                for (int day : new int[]{oldDay, newDay}) {
+                    if (day > 0) {
+                        styleDayLabel(dayLabels[day], day);
+                        updated++;
+                    }
+                }
+            }
+        }
+        probe.finish(updated);
     }
 
     private void setupEventPanel() {
-        eventDatePicker.setValue(LocalDate.parse(calendar.toString()));
+        eventDatePicker.setValue(calendar.toLocalDate());
         refreshEventList();
 
         addEventBtn.setOnAction(e -> {
@@ -93,7 +345,7 @@ public class CalendarController implements Initializable {
             }
 
             try {
-                eventManager.addEvent(date, title);
+                calendars.getDefault().getEventManager().addEvent(date, title);
                 eventTitleField.clear();
                 reloadEvents();
             } catch (Exception ex) {
@@ -102,14 +354,23 @@ public class CalendarController implements Initializable {
         });
 
         eventDatePicker.valueProperty().addListener((obs, oldDate, newDate) -> refreshEventList());
+        eventSearchField.textProperty().addListener((obs, oldText, newText) -> refreshEventList());
     }
 
     private void loadEventDates() {
-        eventManager.loadEvents();
-        eventDates = eventManager.getAllEvents()
-                .stream()
-                .map(Event::getDate)
-                .collect(Collectors.toSet());
+        calendars.loadEvents();
+        collectEventDates();
+    }
+
+    private void collectEventDates() {
+        eventDates = new HashMap<>();
+        for (Iterator<CalendarOverlay.Entry> entries = calendars.iterateEvents(LocalDate.MIN, LocalDate.MAX); entries.hasNext(); ) {
+            CalendarOverlay.Entry entry = entries.next();
+            // events spanning several days are drawn as bars, not as highlighted days
+            if (!entry.getEvent().isMultiDay()) {
+                eventDates.computeIfAbsent(entry.getEvent().getDate(), date -> new LinkedHashSet<>()).add(entry.getCalendar());
+            }
+        }
     }
 
     private void reloadEvents() {
@@ -119,17 +380,32 @@ public class CalendarController implements Initializable {
     }
 
     private void refreshEventList() {
+        RenderEvent probe = RenderEvent.start(EVENT_LIST_METRICS);
         eventListView.getItems().clear();
 
-        var events = eventManager.getAllEvents();
+        String query = eventSearchField.getText();
+        boolean searching = query != null && !query.isBlank();
+
+        List<CalendarOverlay.Entry> events = searching
+                ? calendars.searchEvents(query, SEARCH_RESULTS_LIMIT)
+                : calendars.getAllEvents();
+        boolean severalCalendars = calendars.getCalendars().size() > 1;
         if (events.isEmpty()) {
-            Label empty = new Label("Brak wydarzeń");
+            Label empty = new Label(searching ? "Brak wyników" : "Brak wydarzeń");
             empty.getStyleClass().add("event-empty");
             empty.setId("event-empty");
             eventListView.getItems().add(empty);
         } else {
-            for (var e : events) {
-                Label eventItem = new Label("• " + e.getDescription());
+            for (CalendarOverlay.Entry entry : events) {
+                Event e = entry.getEvent();
+                String time = e.isTimed() ? e.getStartTime().format(Event.TIME_PATTERN) + " " : "";
+                Label eventItem;
+                if (severalCalendars) {
+                    // the bullet shows the calendar
+                    eventItem = new Label(time + e.getDescription(), calendarDot(entry.getCalendar()));
+                } else {
+                    eventItem = new Label("• " + time + e.getDescription());
+                }
                 eventItem.getStyleClass().add("event-li");
 
                 eventItem.setId("event-" + e.getDate().toString());
@@ -137,10 +413,28 @@ public class CalendarController implements Initializable {
                 eventListView.getItems().add(eventItem);
             }
         }
+        probe.finish(eventListView.getItems().size());
     }
 
     public void createCalendarCardsGrid() {
+        RenderEvent probe = RenderEvent.start(GRID_METRICS);
         final int days = MonthsTable.getDaysInMonth(calendar);
+        shownYear = calendar.getYear();
+        shownMonth = calendar.getMonth().getNumOfMonth();
+        highlightedDay = isUpdate ? calendar.getDay() : 0;
+        holidayMask = holidays.getMonthMask(shownYear, shownMonth);
+        if (calendars.setVisibleMonth(shownYear, shownMonth)) {
+            // the paged storage loaded other months
+            collectEventDates();
+            refreshEventList();
+        }
+
+        if (monthCanvas != null) {
+            int repainted = monthCanvas.update(calendar.getYear(), calendar.getMonth().getNumOfMonth(),
+                    days, highlightedDay, holidayMask, calendars::viewEventsForDate, getSpansOfShownMonth(days));
+            probe.finish(repainted);
+            return;
+        }
 
         GridPane calendarGrid = new GridPane();
         calendarGrid.setHgap(2);
@@ -151,6 +445,7 @@ public class CalendarController implements Initializable {
         calendarGrid.setMaxWidth(Region.USE_PREF_SIZE);
 
         createDateCards(calendarGrid, days);
+        createSpanBars(calendarGrid, days);
 
         calendarGrid.setLayoutX(150);
         calendarGrid.setLayoutY(110);
@@ -158,6 +453,7 @@ public class CalendarController implements Initializable {
         // remove old one
         root.getChildren().removeIf(node -> node instanceof GridPane);
         root.getChildren().add(calendarGrid);
+        probe.finish(days);
     }
 
     private void createDateCards(GridPane grid, final int days) {
@@ -167,6 +463,7 @@ public class CalendarController implements Initializable {
 
         final double cellWidth = 150;
         final double cellHeight = 130;
+        dayLabels = new Label[days + 1];
 
         while (dayCounter <= days) {
             Label dayLabel = new Label(String.valueOf(dayCounter));
@@ -180,18 +477,8 @@ public class CalendarController implements Initializable {
             // open modal on click
             dayLabel.setOnMouseClicked(e -> openEventModal(selectedDate));
 
-            // highlight today
-            if (dayCounter == calendar.getDay() && isUpdate) {
-                dayLabel.getStyleClass().add("date-item-current");
-            }
-            // highlight days with events
-            else if (eventDates.contains(selectedDate)) {
-                dayLabel.getStyleClass().add("date-item-event");
-            }
-            // basic
-            else {
-                dayLabel.getStyleClass().add("date-item");
-            }
+            styleDayLabel(dayLabel, dayCounter);
+            dayLabels[dayCounter] = dayLabel;
 
             grid.add(dayLabel, currentCol, currentRow);
 
@@ -204,8 +491,124 @@ public class CalendarController implements Initializable {
         }
     }
 
-    private void openEventModal(LocalDate selectedDate) {
-        Event existingEvent = eventManager.getEventForDate(selectedDate);
+    private List<CalendarOverlay.Entry> getSpansOfShownMonth(int days) {
+        return calendars.getSpanningEvents(LocalDate.of(shownYear, shownMonth, 1),
+                LocalDate.of(shownYear, shownMonth, days));
+    }
+
+    /**
+     * Adds one bar per event spanning several days and grid row, laid over the day cells, and a
+     * "+N" marker on days covered by more events than there are lanes.
+     */
+    private void createSpanBars(GridPane grid, final int days) {
+        List<Event> spans = new ArrayList<>();
+        Map<Event, CalendarOverlay.Entry> entries = new IdentityHashMap<>();
+        for (CalendarOverlay.Entry entry : getSpansOfShownMonth(days)) {
+            spans.add(entry.getEvent());
+            entries.put(entry.getEvent(), entry);
+        }
+        SpanLayout layout = new SpanLayout(shownYear, shownMonth, days, spans, SPAN_LANES);
+
+        for (SpanLayout.Segment segment : layout.getSegments()) {
+            Label bar = new Label(segment.event.getDescription());
+            bar.getStyleClass().add("date-item-span");
+            CalendarOverlay.Entry entry = entries.get(segment.event);
+            bar.setStyle("-fx-background-color: " + entry.getCalendar().getColor() + ";");
+            bar.setMaxWidth(Double.MAX_VALUE);
+            bar.setPrefHeight(16);
+            bar.setOnMouseClicked(e -> openEventModal(segment.event.getDate(), entry));
+
+            int cell = segment.firstDay - 1;
+            GridPane.setConstraints(bar, cell % SpanLayout.COLUMNS, cell / SpanLayout.COLUMNS + 1,
+                    segment.lastDay - segment.firstDay + 1, 1, HPos.LEFT, VPos.BOTTOM);
+            GridPane.setMargin(bar, new Insets(0,
+                    segment.continuesRight ? 0 : 3,
+                    3 + segment.lane * 19,
+                    segment.continuesLeft ? 0 : 3));
+            grid.getChildren().add(bar);
+        }
+
+        for (int day = 1; day <= days; day++) {
+            int hidden = layout.getHiddenCount(day);
+            if (hidden == 0) {
+                continue;
+            }
+            Label more = new Label("+" + hidden);
+            more.getStyleClass().add("date-item-more");
+            // clicks go to the day cell, which opens an event covering the day
+            more.setMouseTransparent(true);
+            int cell = day - 1;
+            GridPane.setConstraints(more, cell % SpanLayout.COLUMNS, cell / SpanLayout.COLUMNS + 1,
+                    1, 1, HPos.RIGHT, VPos.BOTTOM);
+            GridPane.setMargin(more, new Insets(0, 6, 3 + SPAN_LANES * 19, 0));
+            grid.getChildren().add(more);
+        }
+    }
+
+    private void styleDayLabel(Label dayLabel, int day) {
+        dayLabel.getStyleClass().removeAll("date-item-current", "date-item-event", "date-item", "date-item-holiday");
+        if ((holidayMask >>> day & 1) != 0) {
+            dayLabel.getStyleClass().add("date-item-holiday");
+        }
+
+        // highlight today
+        if (day == highlightedDay) {
+            dayLabel.getStyleClass().add("date-item-current");
+        }
+        // highlight days with events
+        else if (eventDates.containsKey(LocalDate.of(shownYear, shownMonth, day))) {
+            dayLabel.getStyleClass().add("date-item-event");
+        }
+        // basic
+        else {
+            dayLabel.getStyleClass().add("date-item");
+        }
+
+        // a dot per calendar with events on the day
+        Set<NamedCalendar> owners = eventDates.get(LocalDate.of(shownYear, shownMonth, day));
+        if (owners == null || calendars.getCalendars().size() == 1) {
+            dayLabel.setGraphic(null);
+        } else {
+            HBox dots = new HBox(3);
+            dots.setAlignment(Pos.CENTER);
+            for (NamedCalendar owner : owners) {
+                dots.getChildren().add(calendarDot(owner));
+            }
+            dayLabel.setGraphic(dots);
+            dayLabel.setContentDisplay(ContentDisplay.BOTTOM);
+        }
+    }
+
+    /**
+     * Opens the dialog of a clicked day: its last event, or on a day without events of its own the
+     * last event spanning it, or a new event.
+     */
+    private void openEventModal(LocalDate clickedDate) {
+        // the last event of the day wins, as in EventManager#getEventForDate
+        List<CalendarOverlay.Entry> onDate = calendars.viewEventsForDate(clickedDate);
+        if (!onDate.isEmpty()) {
+            openEventModal(clickedDate, onDate.get(onDate.size() - 1));
+            return;
+        }
+        List<CalendarOverlay.Entry> spanning = calendars.getSpanningEvents(clickedDate, clickedDate);
+        if (!spanning.isEmpty()) {
+            CalendarOverlay.Entry span = spanning.get(spanning.size() - 1);
+            openEventModal(span.getEvent().getDate(), span);
+            return;
+        }
+        openEventModal(clickedDate, null);
+    }
+
+    /**
+     * Opens the dialog of an event.
+     *
+     * @param selectedDate the day the event starts on, or the day of a new event
+     * @param existing the event with its calendar, or null to add one
+     */
+    private void openEventModal(LocalDate selectedDate, CalendarOverlay.Entry existing) {
+        RenderEvent probe = RenderEvent.start(MODAL_METRICS);
+        Event existingEvent = existing == null ? null : existing.getEvent();
+        NamedCalendar owner = existing == null ? calendars.getDefault() : existing.getCalendar();
 
         Dialog<Void> dialog = new Dialog<>();
         dialog.setTitle("Wydarzenie");
@@ -229,8 +632,46 @@ public class CalendarController implements Initializable {
         DatePicker datePicker = new DatePicker(selectedDate);
         datePicker.getStyleClass().add("date-picker");
 
+        // empty for events of a single day
+        DatePicker endDatePicker = new DatePicker();
+        endDatePicker.getStyleClass().add("date-picker");
+
+        // empty time means a whole day event
+        TextField timeField = new TextField();
+        timeField.getStyleClass().add("input-field");
+        timeField.setPromptText("GG:MM");
+        TextField durationField = new TextField();
+        durationField.getStyleClass().add("input-field");
+        durationField.setPromptText("minuty");
+
+        ComboBox<Integer> reminderBox = new ComboBox<>();
+        reminderBox.getItems().addAll(REMINDER_OPTIONS);
+        reminderBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Integer minutes) {
+                return minutes == null ? "" : formatReminder(minutes);
+            }
+
+            @Override
+            public Integer fromString(String text) {
+                return null;
+            }
+        });
+        reminderBox.setValue(Event.NO_REMINDER);
+
         if (existingEvent != null) {
             titleField.setText(existingEvent.getDescription());
+            if (existingEvent.isTimed()) {
+                timeField.setText(existingEvent.getStartTime().format(Event.TIME_PATTERN));
+                durationField.setText(String.valueOf(existingEvent.getDurationMinutes()));
+            }
+            if (existingEvent.isMultiDay()) {
+                endDatePicker.setValue(existingEvent.getEndDate());
+            }
+            if (!reminderBox.getItems().contains(existingEvent.getReminderMinutes())) {
+                reminderBox.getItems().add(existingEvent.getReminderMinutes());
+            }
+            reminderBox.setValue(existingEvent.getReminderMinutes());
         } else {
             titleField.setPromptText("Tytuł wydarzenia");
         }
@@ -238,8 +679,46 @@ public class CalendarController implements Initializable {
         VBox content = new VBox(12,
                 headerLabel,
                 new Label("Tytuł:"), titleField,
-                new Label("Data:"), datePicker
+                new Label("Data:"), datePicker,
+                new Label("Do dnia:"), endDatePicker,
+                new HBox(12, new VBox(4, new Label("Godzina:"), timeField),
+                        new VBox(4, new Label("Czas trwania:"), durationField)),
+                new Label("Przypomnienie:"), reminderBox
         );
+
+        ComboBox<NamedCalendar> calendarBox = new ComboBox<>();
+        calendarBox.getItems().addAll(calendars.getCalendars());
+        calendarBox.setValue(owner);
+        if (calendars.getCalendars().size() > 1) {
+            content.getChildren().addAll(new Label("Kalendarz:"), calendarBox);
+        }
+
+        // agenda of the day, including events carried over from the previous day;
+        // clicking an entry opens that event instead
+        List<CalendarOverlay.Entry> agenda = calendars.getAgenda(selectedDate);
+        CalendarOverlay.Entry[] chosen = new CalendarOverlay.Entry[1];
+        if (!agenda.isEmpty()) {
+            ListView<String> agendaList = new ListView<>();
+            agendaList.getStyleClass().add("agenda-list");
+            agendaList.setPrefHeight(Math.min(agenda.size(), 6) * 26 + 4);
+            for (CalendarOverlay.Entry entry : agenda) {
+                agendaList.getItems().add(formatAgendaItem(entry.getEvent()));
+            }
+            agendaList.setOnMouseClicked(e -> {
+                int index = agendaList.getSelectionModel().getSelectedIndex();
+                if (index >= 0 && agenda.get(index).getEvent() != existingEvent) {
+                    chosen[0] = agenda.get(index);
+                    dialog.close();
+                }
+            });
+            content.getChildren().addAll(1, List.of(new Label("Plan dnia:"), agendaList));
+        }
+        String holiday = holidays.getHolidayName(selectedDate);
+        if (holiday != null) {
+            Label holidayLabel = new Label(holiday);
+            holidayLabel.getStyleClass().add("dialog-holiday");
+            content.getChildren().add(1, holidayLabel);
+        }
         content.setPadding(new Insets(20));
         content.getStyleClass().add("dialog-content");
 
@@ -269,20 +748,126 @@ public class CalendarController implements Initializable {
 
         dialog.setResultConverter(button -> {
             if (button == deleteBtn) {
-                eventManager.removeEvent(selectedDate);
-                reloadEvents();
-            } else if (button == saveBtn) {
-                eventManager.removeEvent(selectedDate);
-                eventManager.addEvent(datePicker.getValue(), titleField.getText());
-                reloadEvents();
-            } else if (button == addBtn) {
-                eventManager.addEvent(datePicker.getValue(), titleField.getText());
+                owner.getEventManager().removeEvent(existingEvent);
                 reloadEvents();
+            } else if (button == saveBtn || button == addBtn) {
+                Event event = eventFromDialog(datePicker.getValue(), endDatePicker.getValue(), titleField.getText(),
+                        timeField.getText(), durationField.getText(), reminderBox.getValue());
+                // the edited event is replaced only once the new one is valid
+                if (event != null) {
+                    if (button == saveBtn) {
+                        owner.getEventManager().removeEvent(existingEvent);
+                    }
+                    calendarBox.getValue().getEventManager().addEvent(event);
+                    reloadEvents();
+                }
             }
             return null;
         });
 
+        // measures building the dialog, not the time the user keeps it open
+        probe.finish(existingEvent == null ? 0 : 1);
         dialog.showAndWait();
+        if (chosen[0] != null) {
+            openEventModal(chosen[0].getEvent().getDate(), chosen[0]);
+        }
+    }
+
+    /**
+     * Builds the event entered in the dialog.
+     *
+     * @return the event, or null if the entered data is invalid
+     */
+    private Event eventFromDialog(LocalDate date, LocalDate endDate, String title,
+                                  String time, String duration, Integer reminder) {
+        if (date == null) {
+            System.err.println("Nieprawidłowe dane wydarzenia: brak daty");
+            return null;
+        }
+        try {
+            Event event;
+            if (time != null && !time.isBlank()) {
+                event = new Event(date, title, LocalTime.parse(time.trim(), Event.TIME_PATTERN),
+                        Integer.parseInt(duration.trim()));
+            } else if (endDate != null && !endDate.equals(date)) {
+                event = new Event(date, endDate, title);
+            } else {
+                event = new Event(date, title);
+            }
+            if (reminder != null && reminder != Event.NO_REMINDER) {
+                event = event.withReminder(reminder);
+            }
+            return event;
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            System.err.println("Nieprawidłowe dane wydarzenia: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Shows a reminder in the bottom right corner of the window for a few seconds;
+     * reminders shown at the same time are stacked.
+     */
+    private void showReminder(Event event) {
+        Scene scene = root.getScene();
+        Window window = scene == null ? null : scene.getWindow();
+        if (window == null || !window.isShowing()) {
+            return;
+        }
+
+        Label title = new Label("Przypomnienie");
+        title.getStyleClass().add("reminder-title");
+        String when = event.isMultiDay() ? "" : event.getDate().format(Event.DATE_PATTERN) + "  ";
+        Label text = new Label(when + formatAgendaItem(event));
+        text.getStyleClass().add("reminder-text");
+        text.setWrapText(true);
+
+        VBox box = new VBox(4, title, text);
+        box.getStyleClass().add("reminder-popup");
+        box.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/styles/styles.css")).toExternalForm());
+        box.setPrefWidth(300);
+
+        Popup popup = new Popup();
+        popup.getContent().add(box);
+        popup.setOnHidden(e -> visibleReminders--);
+        box.setOnMouseClicked(e -> popup.hide());
+
+        visibleReminders++;
+        popup.show(window, window.getX() + window.getWidth() - 320,
+                window.getY() + window.getHeight() - 90 * visibleReminders);
+
+        PauseTransition pause = new PauseTransition(Duration.seconds(REMINDER_SECONDS));
+        pause.setOnFinished(e -> popup.hide());
+        pause.play();
+    }
+
+    private static String formatReminder(int minutes) {
+        if (minutes == Event.NO_REMINDER) {
+            return "Brak";
+        }
+        if (minutes == 0) {
+            return "W chwili rozpoczęcia";
+        }
+        if (minutes % (24 * 60) == 0) {
+            int days = minutes / (24 * 60);
+            return days == 1 ? "1 dzień przed" : days + " dni przed";
+        }
+        if (minutes % 60 == 0) {
+            return minutes / 60 + " godz. przed";
+        }
+        return minutes + " min przed";
+    }
+
+    private static String formatAgendaItem(Event event) {
+        if (event.isMultiDay()) {
+            return event.getDate().format(Event.DATE_PATTERN) + " – " + event.getEndDate().format(Event.DATE_PATTERN)
+                    + "  " + event.getDescription();
+        }
+        if (!event.isTimed()) {
+            return "Cały dzień  " + event.getDescription();
+        }
+        return event.getStart().format(Event.TIME_PATTERN) + "–" + event.getEnd().format(Event.TIME_PATTERN)
+                + "  " + event.getDescription();
     }
 
     @Override
@@ -0,0 +1,227 @@
+package com.calendar;
+
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeType;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Builds the main window in code.
+ * <p>
+ *     Produces the same scene graph as {@code calendar.fxml}, but without parsing XML and without
+ *     reflective field injection, which makes the first frame appear sooner.
+ *     Every node that {@link CalendarController} needs is exposed as a field; keep both
+ *     definitions in sync when changing the layout.
+ * </p>
+ *
+ * @see App
+ */
+public class CalendarView {
+
+    private static final String HEADER_TEXT_STYLE = "-fx-text-fill: #8F5C38;";
+    private static final String PANEL_STYLE = "-fx-background-color: #CEDADA;";
+
+    private final BorderPane view;
+
+    final AnchorPane root;
+    final Label currentDate;
+    final Label selectedMonthLabel;
+
+    final Button minusDayBtn;
+    final Button plusDayBtn;
+    final Button minusWeekBtn;
+    final Button plusWeekBtn;
+    final Button resetBtn;
+    final Button prevMonthBtn;
+    final Button nextMonthBtn;
+    final Button yearViewBtn;
+    final Button statsBtn;
+
+    final TextField eventTitleField;
+    final DatePicker eventDatePicker;
+    final Button addEventBtn;
+    final TextField eventSearchField;
+    final ListView<Label> eventListView;
+
+    public CalendarView() {
+        // TOP
+        currentDate = new Label("Data");
+        currentDate.setLayoutX(20);
+        currentDate.setLayoutY(19);
+        currentDate.setPrefHeight(36);
+        currentDate.setStyle(HEADER_TEXT_STYLE);
+        currentDate.setFont(new Font(25));
+
+        prevMonthBtn = mainButton("‹");
+        prevMonthBtn.setPrefWidth(40);
+        nextMonthBtn = mainButton("›");
+        nextMonthBtn.setPrefWidth(40);
+
+        selectedMonthLabel = new Label("Styczeń 2024");
+        selectedMonthLabel.setAlignment(Pos.CENTER);
+        selectedMonthLabel.setPrefWidth(260);
+        selectedMonthLabel.setStyle(HEADER_TEXT_STYLE);
+        selectedMonthLabel.setFont(new Font(25));
+
+        HBox monthSwitcher = new HBox(20, prevMonthBtn, selectedMonthLabel, nextMonthBtn);
+        monthSwitcher.setAlignment(Pos.CENTER);
+        monthSwitcher.setLayoutY(15);
+        monthSwitcher.setPrefWidth(500);
+        AnchorPane.setLeftAnchor(monthSwitcher, 0.0);
+        AnchorPane.setRightAnchor(monthSwitcher, 0.0);
+
+        yearViewBtn = mainButton("Rok");
+        yearViewBtn.setLayoutY(20);
+        yearViewBtn.setPrefSize(90, 30);
+        AnchorPane.setRightAnchor(yearViewBtn, 20.0);
+
+        statsBtn = mainButton("Statystyki");
+        statsBtn.setLayoutY(20);
+        statsBtn.setPrefSize(100, 30);
+        AnchorPane.setRightAnchor(statsBtn, 120.0);
+
+        AnchorPane top = new AnchorPane(currentDate, monthSwitcher, statsBtn, yearViewBtn);
+        top.setPrefHeight(70);
+        top.setStyle("-fx-background-color: #A89B8C;");
+
+        // LEFT
+        minusDayBtn = navigationButton("Zmniejsz", 33, 63);
+        minusDayBtn.setMaxWidth(Region.USE_PREF_SIZE);
+        minusDayBtn.setTextFill(Color.WHITE);
+        plusDayBtn = navigationButton("Dodaj", 135, 63);
+        plusDayBtn.setMaxWidth(Region.USE_PREF_SIZE);
+        plusDayBtn.setMinWidth(Region.USE_PREF_SIZE);
+        minusWeekBtn = navigationButton("Zmniejsz", 30, 158);
+        minusWeekBtn.setTextFill(Color.WHITE);
+        plusWeekBtn = navigationButton("Dodaj", 132, 158);
+        resetBtn = navigationButton("Wyczyść", 83, 807);
+        resetBtn.setTextAlignment(TextAlignment.LEFT);
+
+        AnchorPane left = new AnchorPane(
+                minusDayBtn, plusDayBtn, sectionText("Dodaj dzień", 66, 42),
+                minusWeekBtn, plusWeekBtn, sectionText("Dodaj tydzień", 63, 137),
+                resetBtn
+        );
+        left.setPrefSize(240, 862);
+        left.setStyle(PANEL_STYLE);
+        BorderPane.setAlignment(left, Pos.CENTER);
+
+        // CENTER
+        root = new AnchorPane();
+        root.setPrefHeight(200);
+        BorderPane.setAlignment(root, Pos.CENTER);
+
+        // RIGHT
+        Label eventsHeader = new Label("Wydarzenia");
+        eventsHeader.setLayoutX(96);
+        eventsHeader.setLayoutY(14);
+        eventsHeader.setStyle(HEADER_TEXT_STYLE);
+        eventsHeader.setFont(new Font("System Bold", 18));
+
+        eventTitleField = new TextField();
+        place(eventTitleField, 24, 59, 250, 26);
+        eventTitleField.setPromptText("Tytuł wydarzenia");
+
+        eventDatePicker = new DatePicker();
+        place(eventDatePicker, 24, 102, 250, 26);
+
+        addEventBtn = mainButton("Dodaj wydarzenie");
+        place(addEventBtn, 24, 138, 250, 26);
+
+        Label listHeader = new Label("Lista wydarzeń:");
+        listHeader.setLayoutX(24);
+        listHeader.setLayoutY(193);
+        listHeader.setStyle(HEADER_TEXT_STYLE);
+
+        eventSearchField = new TextField();
+        place(eventSearchField, 20, 220, 260, 26);
+        eventSearchField.setPromptText("Szukaj wydarzeń");
+
+        eventListView = new ListView<>();
+        place(eventListView, 20, 256, 260, 564);
+
+        AnchorPane eventPanel = new AnchorPane(
+                eventsHeader, eventTitleField, eventDatePicker, addEventBtn,
+                listHeader, eventSearchField, eventListView
+        );
+        eventPanel.setPrefSize(298, 862);
+        eventPanel.setStyle(PANEL_STYLE);
+        BorderPane.setAlignment(eventPanel, Pos.CENTER);
+
+        // same ids as the fx:id attributes, so lookups work for both views
+        root.setId("root");
+        currentDate.setId("currentDate");
+        selectedMonthLabel.setId("selectedMonthLabel");
+        minusDayBtn.setId("minusDayBtn");
+        plusDayBtn.setId("plusDayBtn");
+        minusWeekBtn.setId("minusWeekBtn");
+        plusWeekBtn.setId("plusWeekBtn");
+        resetBtn.setId("resetBtn");
+        prevMonthBtn.setId("prevMonthBtn");
+        nextMonthBtn.setId("nextMonthBtn");
+        yearViewBtn.setId("yearViewBtn");
+        statsBtn.setId("statsBtn");
+        eventPanel.setId("eventPanel");
+        eventTitleField.setId("eventTitleField");
+        eventDatePicker.setId("eventDatePicker");
+        addEventBtn.setId("addEventBtn");
+        eventSearchField.setId("eventSearchField");
+        eventListView.setId("eventListView");
+
+        view = new BorderPane(root, top, eventPanel, null, left);
+        view.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        view.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        view.setPrefSize(1080, 932);
+    }
+
+    /**
+     * Returns the root node of the window.
+     *
+     * @return the top level layout
+     */
+    public Parent getView() {
+        return view;
+    }
+
+    private static Button mainButton(String text) {
+        Button button = new Button(text);
+        button.getStyleClass().add("button-main");
+        return button;
+    }
+
+    private static Button navigationButton(String text, double x, double y) {
+        Button button = mainButton(text);
+        place(button, x, y, 90, 30);
+        button.setMnemonicParsing(false);
+        button.setTextAlignment(TextAlignment.CENTER);
+        return button;
+    }
+
+    private static Text sectionText(String text, double x, double y) {
+        Text node = new Text(x, y, text);
+        node.setId("text");
+        node.setStrokeType(StrokeType.OUTSIDE);
+        node.setStrokeWidth(0);
+        node.setStyle("-fx-fill: #8F5C38;");
+        node.setFont(new Font("System Bold", 18));
+        return node;
+    }
+
+    private static void place(Region node, double x, double y, double width, double height) {
+        node.setLayoutX(x);
+        node.setLayoutY(y);
+        node.setPrefSize(width, height);
+    }
+}
@@ -0,0 +1,423 @@
+package com.calendar.Cli;
+
+import com.calendar.Analytics.EventAnalytics;
+import com.calendar.Calendar;
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVParser;
+import com.calendar.Event.EventCSVWriter;
+import com.calendar.Event.EventManager;
+import com.calendar.Event.TimeSlot;
+import com.calendar.ICal.ICalReader;
+import com.calendar.ICal.ICalWriter;
+import com.calendar.Localization.CalendarNames;
+import com.calendar.Merge.EventMerger;
+import com.calendar.Month.MonthsTable;
+import com.calendar.Store.EventStores;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Headless command line entry point.
+ * <p>
+ *     Works directly on {@link EventManager}, {@link Calendar} and {@link MonthsTable} and never
+ *     loads any JavaFX class, so it starts quickly and runs without a display.
+ *     Results are written to standard output, one line per record.
+ * </p>
+ * <pre>
+ *     java -cp target/classes com.calendar.Cli.CalendarCli [--file events.csv] command [args]
+ *
+ *     import  &lt;file.csv&gt;            appends all events from the file
+ *     export  &lt;from&gt; &lt;to&gt;           prints events between two dates (inclusive)
+ *     import-ics &lt;file.ics&gt;         appends all events of an iCalendar file
+ *     export-ics &lt;file.ics&gt;         writes all events to an iCalendar file
+ *     count   &lt;year&gt;                prints number of events per month
+ *     list    &lt;date&gt;                prints events of one day
+ *     agenda  &lt;date&gt;                prints whole day events, then timed events by start
+ *     free    &lt;date&gt; [from to]      prints free time between timed events (default 08:00-18:00)
+ *     search  &lt;text...&gt;             prints events matching the text
+ *     merge   &lt;out&gt; &lt;in&gt;... [--report f]  merges files without duplicates, prints the differences
+ *     stats                         prints events per weekday, month and year, busiest days and gaps
+ *     today                         prints the current date
+ * </pre>
+ * Dates use the {@link Event#DATE_PATTERN} format ({@code dd-MM-yyyy}), times the
+ * {@link Event#TIME_PATTERN} format ({@code HH:mm}). Events are printed as CSV lines.
+ */
+public class CalendarCli {
+
+    private static final int IMPORT_BATCH_SIZE = 10_000;
+    private static final int SEARCH_RESULTS_LIMIT = 1000;
+    private static final LocalTime WORKDAY_START = LocalTime.of(8, 0);
+    private static final LocalTime WORKDAY_END = LocalTime.of(18, 0);
+
+    private final EventManager eventManager;
+    private final PrintWriter out;
+
+    public CalendarCli(EventManager eventManager, PrintWriter out) {
+        this.eventManager = eventManager;
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        String filePath = EventStores.getDefaultLocation();
+        int first = 0;
+        if (args.length >= 2 && args[0].equals("--file")) {
+            filePath = args[1];
+            first = 2;
+        }
+
+        if (args.length <= first) {
+            printUsage();
+            System.exit(1);
+        }
+
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        int status;
+        try (EventManager eventManager = new EventManager(filePath)) {
+            CalendarCli cli = new CalendarCli(eventManager, out);
+            status = cli.run(args[first], Arrays.copyOfRange(args, first + 1, args.length));
+        } catch (DateTimeParseException e) {
+            System.err.println("Nieprawidłowa data: " + e.getParsedString());
+            status = 1;
+        } catch (NumberFormatException e) {
+            System.err.println("Nieprawidłowa liczba: " + e.getMessage());
+            status = 1;
+        } finally {
+            out.flush();
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Executes a single command.
+     *
+     * @param command the command name
+     * @param args the command arguments
+     * @return process exit status, 0 on success
+     */
+    public int run(String command, String[] args) {
+        switch (command) {
+            case "import":
+                return args.length == 1 ? importEvents(Path.of(args[0])) : usageError();
+            case "export":
+                return args.length == 2 ? export(parseDate(args[0]), parseDate(args[1])) : usageError();
+            case "import-ics":
+                return args.length == 1 ? importICal(Path.of(args[0])) : usageError();
+            case "export-ics":
+                return args.length == 1 ? exportICal(Path.of(args[0])) : usageError();
+            case "count":
+                return args.length == 1 ? countByMonth(Integer.parseInt(args[0])) : usageError();
+            case "list":
+                return args.length == 1 ? list(parseDate(args[0])) : usageError();
+            case "agenda":
+                return args.length == 1 ? agenda(parseDate(args[0])) : usageError();
+            case "free":
+                if (args.length == 1) {
+                    return free(parseDate(args[0]), WORKDAY_START, WORKDAY_END);
+                }
+                return args.length == 3
+                        ? free(parseDate(args[0]), parseTime(args[1]), parseTime(args[2]))
+                        : usageError();
+            case "search":
+                return args.length >= 1 ? search(String.join(" ", args)) : usageError();
+            case "merge":
+                return args.length >= 2 ? merge(args) : usageError();
+            case "stats":
+                return args.length == 0 ? stats() : usageError();
+            case "today":
+                return today();
+            default:
+                return usageError();
+        }
+    }
+
+    private int importEvents(Path source) {
+        EventCSVParser parser = new EventCSVParser();
+        List<Event> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        long imported = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(source)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(parser.parseFrom(line));
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    eventManager.addEvents(batch);
+                    imported += batch.size();
+                    batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Błąd podczas importu wydarzeń: " + e.getMessage());
+            return 1;
+        }
+        eventManager.addEvents(batch);
+        imported += batch.size();
+
+        out.println("Zaimportowano wydarzeń: " + imported);
+        return 0;
+    }
+
+    private int importICal(Path source) {
+        ICalReader reader = new ICalReader(IMPORT_BATCH_SIZE);
+        long startNanos = System.nanoTime();
+        long imported;
+
+        try (BufferedReader in = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            imported = reader.read(in, eventManager::addEvents);
+        } catch (IOException e) {
+            System.err.println("Błąd podczas importu kalendarza: " + e.getMessage());
+            return 1;
+        }
+
+        printThroughput("Zaimportowano", imported, System.nanoTime() - startNanos);
+        if (reader.getSkipped() > 0) {
+            out.println("Pominięto wydarzeń: " + reader.getSkipped());
+        }
+        return 0;
+    }
+
+    private int exportICal(Path target) {
+        eventManager.loadEvents();
+        long startNanos = System.nanoTime();
+        long written;
+
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            ICalWriter iCal = new ICalWriter(writer);
+            try {
+                eventManager.forEachEvent(event -> {
+                    try {
+                        iCal.write(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            written = iCal.finish();
+        } catch (IOException e) {
+            System.err.println("Błąd podczas eksportu kalendarza: " + e.getMessage());
+            return 1;
+        }
+
+        printThroughput("Wyeksportowano", written, System.nanoTime() - startNanos);
+        return 0;
+    }
+
+    private void printThroughput(String action, long events, long nanos) {
+        double seconds = Math.max(nanos, 1) / 1e9;
+        out.printf("%s wydarzeń: %d w %.0f ms (%.0f wydarzeń/s)%n", action, events, seconds * 1000, events / seconds);
+    }
+
+    private int export(LocalDate from, LocalDate to) {
+        eventManager.loadEvents();
+
+        List<Event> selected = new ArrayList<>();
+        eventManager.forEachEventBetween(from, to, selected::add);
+        selected.sort(Comparator.comparing(Event::getDate));
+
+        for (Event event : selected) {
+            printEvent(event);
+        }
+        return 0;
+    }
+
+    private int countByMonth(int year) {
+        eventManager.loadEvents();
+
+        int[] counts = new int[12];
+        eventManager.forEachEventBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31),
+                event -> counts[event.getDate().getMonthValue() - 1]++);
+
+        for (int month = 1; month <= 12; month++) {
+            out.println(MonthsTable.getMonth(month).getNameOfMonth() + " " + year + "," + counts[month - 1]);
+        }
+        return 0;
+    }
+
+    private int list(LocalDate date) {
+        loadAround(date);
+        for (Event event : eventManager.getEventsForDate(date)) {
+            printEvent(event);
+        }
+        return 0;
+    }
+
+    private int agenda(LocalDate date) {
+        loadAround(date);
+        for (Event event : eventManager.getAgenda(date)) {
+            printEvent(event);
+        }
+        return 0;
+    }
+
+    private int free(LocalDate date, LocalTime from, LocalTime to) {
+        loadAround(date);
+        LocalDateTime start = date.atTime(from);
+        LocalDateTime end = to.equals(LocalTime.MIDNIGHT) ? date.plusDays(1).atStartOfDay() : date.atTime(to);
+
+        for (TimeSlot slot : eventManager.getFreeSlots(start, end, 1)) {
+            out.println(slot.getStart().format(Event.TIME_PATTERN) + "-" + slot.getEnd().format(Event.TIME_PATTERN)
+                    + "," + slot.getMinutes());
+        }
+        return 0;
+    }
+
+    private int search(String query) {
+        eventManager.loadEvents();
+        for (Event event : eventManager.searchEvents(query, SEARCH_RESULTS_LIMIT)) {
+            printEvent(event);
+        }
+        return 0;
+    }
+
+    /**
+     * Merges the files after the output into it; the first of them is the base of the report,
+     * written to the {@code --report} file or printed.
+     */
+    private int merge(String[] args) {
+        List<String> paths = new ArrayList<>(Arrays.asList(args));
+        Path reportFile = null;
+        int option = paths.indexOf("--report");
+        if (option >= 0) {
+            if (option + 1 >= paths.size()) {
+                return usageError();
+            }
+            reportFile = Path.of(paths.remove(option + 1));
+            paths.remove(option);
+        }
+        if (paths.size() < 2) {
+            return usageError();
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (String path : paths.subList(1, paths.size())) {
+            inputs.add(Path.of(path));
+        }
+
+        long startNanos = System.nanoTime();
+        EventMerger.MergeResult result;
+        try {
+            if (reportFile == null) {
+                result = new EventMerger().merge(inputs, Path.of(paths.get(0)), out);
+            } else {
+                try (PrintWriter report = new PrintWriter(Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8))) {
+                    result = new EventMerger().merge(inputs, Path.of(paths.get(0)), report);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Błąd podczas scalania wydarzeń: " + e.getMessage());
+            return 1;
+        }
+
+        printThroughput("Scalono", result.getRead(), System.nanoTime() - startNanos);
+        out.println("Zapisano wydarzeń: " + result.getWritten() + ", duplikatów: " + result.getDuplicates()
+                + ", dodanych: " + result.getAdded() + ", usuniętych: " + result.getRemoved()
+                + (result.getSkipped() > 0 ? ", pominiętych wierszy: " + result.getSkipped() : ""));
+        return 0;
+    }
+
+    private int stats() {
+        eventManager.loadEvents();
+        long startNanos = System.nanoTime();
+        EventAnalytics.Report report = new EventAnalytics(eventManager).getReport();
+        long nanos = System.nanoTime() - startNanos;
+
+        out.printf("Obliczono statystyki wydarzeń: %d w %.0f ms%n", report.getEventCount(), nanos / 1e6);
+        if (report.getEventCount() == 0) {
+            return 0;
+        }
+        out.println("Dni z wydarzeniami: " + report.getDayCount() + ", od " + report.getFirstDate().format(Event.DATE_PATTERN)
+                + " do " + report.getLastDate().format(Event.DATE_PATTERN));
+
+        CalendarNames names = CalendarNames.getDefault();
+        long[] byWeekday = report.getCountsByWeekday();
+        for (int weekday = 0; weekday < byWeekday.length; weekday++) {
+            out.println(names.getWeekdayName(weekday) + "," + byWeekday[weekday]);
+        }
+        long[] byMonth = report.getCountsByMonth();
+        for (int month = 1; month <= 12; month++) {
+            out.println(names.getMonthName(month) + "," + byMonth[month - 1]);
+        }
+        report.getCountsByYear().forEach((year, count) -> out.println(year + "," + count));
+
+        for (EventAnalytics.DayCount day : report.getBusiestDays()) {
+            out.println("Najwięcej wydarzeń: " + day.getDate().format(Event.DATE_PATTERN) + "," + day.getCount());
+        }
+        for (EventAnalytics.Gap gap : report.getLongestGaps()) {
+            out.println("Przerwa: " + gap.getFrom().format(Event.DATE_PATTERN) + "," + gap.getTo().format(Event.DATE_PATTERN)
+                    + "," + gap.getDays());
+        }
+        out.printf("Średnia przerwa: %.2f dni%n", report.getAverageGapDays());
+        return 0;
+    }
+
+    private int today() {
+        Calendar calendar = new Calendar();
+        out.println(calendar.getDayOfWeekByZeller() + ", " + calendar.getDateWithMonth());
+        return 0;
+    }
+
+    /**
+     * Loads the events, in a windowed store those of the months around a date.
+     */
+    private void loadAround(LocalDate date) {
+        if (!eventManager.setVisibleMonth(date.getYear(), date.getMonthValue())) {
+            eventManager.loadEvents();
+        }
+    }
+
+    private void printEvent(Event event) {
+        out.println(EventCSVWriter.toCsvLine(event));
+    }
+
+    private static LocalDate parseDate(String text) {
+        return LocalDate.parse(text, Event.DATE_PATTERN);
+    }
+
+    private static LocalTime parseTime(String text) {
+        return LocalTime.parse(text, Event.TIME_PATTERN);
+    }
+
+    private static int usageError() {
+        printUsage();
+        return 1;
+    }
+
+    private static void printUsage() {
+        System.err.println("Użycie: CalendarCli [--file plik.csv] <polecenie> [argumenty]");
+        System.err.println("  import <plik.csv>      importuje wydarzenia z pliku");
+        System.err.println("  export <od> <do>       wypisuje wydarzenia z zakresu dat");
+        System.err.println("  import-ics <plik.ics>  importuje wydarzenia z pliku iCalendar");
+        System.err.println("  export-ics <plik.ics>  zapisuje wszystkie wydarzenia do pliku iCalendar");
+        System.err.println("  count <rok>            liczba wydarzeń w każdym miesiącu");
+        System.err.println("  list <data>            wydarzenia jednego dnia");
+        System.err.println("  agenda <data>          plan dnia według godzin");
+        System.err.println("  free <data> [od do]    wolny czas w ciągu dnia (domyślnie 08:00 18:00)");
+        System.err.println("  search <tekst>         wyszukuje wydarzenia");
+        System.err.println("  merge <wynik.csv> <plik.csv>... [--report raport.txt]");
+        System.err.println("                         scala pliki bez duplikatów, pierwszy jest bazą raportu różnic");
+        System.err.println("  stats                  statystyki: dni tygodnia, miesiące, lata, najbardziej zajęte dni i przerwy");
+        System.err.println("  today                  bieżąca data");
+        System.err.println("Daty w formacie dd-MM-yyyy, godziny HH:mm.");
+    }
+}
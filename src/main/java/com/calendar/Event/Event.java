@@ -1,6 +1,8 @@
 package com.calendar.Event;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
@@ -9,6 +11,9 @@ import java.util.Objects;
  * This immutable class stores event information and provides:
  * <ul>
  *     <li>Basic event data storage (date and description)</li>
+ *     <li>Optional start time and duration; events without them last the whole day</li>
+ *     <li>Optional last day for whole day events spanning several days</li>
+ *     <li>Optional reminder, a number of minutes before the start</li>
  *     <li>Standard date formatting pattern ({@code "dd-MM-yyyy"})</li>
  *     <li>Proper equality comparison and hashing</li>
  * </ul>
@@ -19,6 +24,10 @@ public class Event {
 
     private final LocalDate date;
     private final String description;
+    private final LocalTime startTime;
+    private final int durationMinutes;
+    private final LocalDate endDate;
+    private final int reminderMinutes;
 
     /**
      * Standard date formatter pattern for all Event instances.
@@ -28,6 +37,19 @@ public class Event {
      */
     public static final DateTimeFormatter DATE_PATTERN = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
+    /**
+     * Standard start time formatter pattern for timed events.
+     * <p>
+     *      Pattern format: hour:minute (24 hour clock)
+     * </p>
+     */
+    public static final DateTimeFormatter TIME_PATTERN = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * Value of {@link #getReminderMinutes()} for events without a reminder.
+     */
+    public static final int NO_REMINDER = -1;
+
     /**
      * Creates a new Event with the specified date and description.
      *
@@ -38,6 +60,78 @@ public class Event {
     public Event(LocalDate date, String description) {
         this.date = date;
         this.description = description;
+        this.startTime = null;
+        this.durationMinutes = 0;
+        this.endDate = date;
+        this.reminderMinutes = NO_REMINDER;
+    }
+
+    /**
+     * Creates a new whole day Event spanning several days, e.g. a conference.
+     *
+     * @param date the first day of the event (must not be null)
+     * @param endDate the last day of the event, inclusive (must not be before {@code date})
+     * @param description the event description (must not be null or empty)
+     * @throws IllegalArgumentException if the last day is before the first one
+     */
+    public Event(LocalDate date, LocalDate endDate, String description) {
+        if (endDate == null || endDate.isBefore(date)) {
+            throw new IllegalArgumentException("Koniec wydarzenia nie może być przed jego początkiem");
+        }
+        this.date = date;
+        this.description = description;
+        this.startTime = null;
+        this.durationMinutes = 0;
+        this.endDate = endDate;
+        this.reminderMinutes = NO_REMINDER;
+    }
+
+    private Event(Event event, int reminderMinutes) {
+        this.date = event.date;
+        this.description = event.description;
+        this.startTime = event.startTime;
+        this.durationMinutes = event.durationMinutes;
+        this.endDate = event.endDate;
+        this.reminderMinutes = reminderMinutes;
+    }
+
+    /**
+     * Returns a copy of this event with a reminder.
+     *
+     * @param minutesBefore how many minutes before the start to remind, e.g. 1440 for a day
+     *                      (must not be negative)
+     * @return a new event
+     * @throws IllegalArgumentException if the number of minutes is negative
+     */
+    public Event withReminder(int minutesBefore) {
+        if (minutesBefore < 0) {
+            throw new IllegalArgumentException("Przypomnienie nie może być po początku wydarzenia");
+        }
+        return new Event(this, minutesBefore);
+    }
+
+    /**
+     * Creates a new timed Event, e.g. a meeting.
+     * <p>
+     *     The event may last past midnight; it then also occupies the following day(s).
+     * </p>
+     *
+     * @param date the date the event starts on (must not be null)
+     * @param description the event description (must not be null or empty)
+     * @param startTime the start time (must not be null)
+     * @param durationMinutes the duration in minutes (must be positive)
+     * @throws IllegalArgumentException if the start time is missing or the duration is not positive
+     */
+    public Event(LocalDate date, String description, LocalTime startTime, int durationMinutes) {
+        if (startTime == null || durationMinutes <= 0) {
+            throw new IllegalArgumentException("Wydarzenie z godziną wymaga dodatniego czasu trwania");
+        }
+        this.date = date;
+        this.description = description;
+        this.startTime = startTime;
+        this.durationMinutes = durationMinutes;
+        this.endDate = date;
+        this.reminderMinutes = NO_REMINDER;
     }
 
     // GETTERS
@@ -59,16 +153,108 @@ public class Event {
         return description;
     }
 
+    /**
+     * Checks whether the event has a start time and duration.
+     *
+     * @return {@code true} for timed events, {@code false} for whole day events
+     */
+    public boolean isTimed() {
+        return startTime != null;
+    }
+
+    /**
+     * Gets the start time.
+     *
+     * @return the start time, or null for whole day events
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Gets the duration.
+     *
+     * @return the duration in minutes, 0 for whole day events
+     */
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    /**
+     * Gets the last day of a whole day event.
+     *
+     * @return the last day (inclusive), equal to {@link #getDate()} unless the event spans several days
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Checks whether the event is a whole day event lasting more than one day.
+     *
+     * @return {@code true} if the event spans several days
+     */
+    public boolean isMultiDay() {
+        return !endDate.equals(date);
+    }
+
+    /**
+     * Gets the moment the event starts.
+     *
+     * @return the start, or the beginning of the day for whole day events
+     */
+    public LocalDateTime getStart() {
+        return isTimed() ? date.atTime(startTime) : date.atStartOfDay();
+    }
+
+    /**
+     * Gets the moment the event ends (exclusive).
+     *
+     * @return the end, or the beginning of the day after the last day for whole day events
+     */
+    public LocalDateTime getEnd() {
+        return isTimed() ? getStart().plusMinutes(durationMinutes) : endDate.plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * Checks whether the event has a reminder.
+     *
+     * @return {@code true} if a reminder is set
+     */
+    public boolean hasReminder() {
+        return reminderMinutes != NO_REMINDER;
+    }
+
+    /**
+     * Gets the reminder.
+     *
+     * @return minutes before the start, or {@link #NO_REMINDER}
+     */
+    public int getReminderMinutes() {
+        return reminderMinutes;
+    }
+
+    /**
+     * Gets the moment of the reminder.
+     *
+     * @return the start minus the reminder, or null if there is no reminder
+     */
+    public LocalDateTime getReminderTime() {
+        return hasReminder() ? getStart().minusMinutes(reminderMinutes) : null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Event event = (Event) o;
-        return Objects.equals(date, event.date) && Objects.equals(description, event.description);
+        return durationMinutes == event.durationMinutes && reminderMinutes == event.reminderMinutes && Objects.equals(date, event.date)
+                && Objects.equals(description, event.description) && Objects.equals(startTime, event.startTime)
+                && Objects.equals(endDate, event.endDate);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(date, description);
+        return Objects.hash(date, description, startTime, durationMinutes, endDate, reminderMinutes);
     }
 
     @Override
@@ -76,6 +262,9 @@ public class Event {
         return "Event{" +
                 "date=" + date +
                 ", description='" + description + '\'' +
+                (isTimed() ? ", startTime=" + startTime + ", durationMinutes=" + durationMinutes : "") +
+                (isMultiDay() ? ", endDate=" + endDate : "") +
+                (hasReminder() ? ", reminderMinutes=" + reminderMinutes : "") +
                 '}';
     }
 }
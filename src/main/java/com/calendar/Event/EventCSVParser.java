@@ -1,16 +1,31 @@
 package com.calendar.Event;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Implementation of {@link EventParser} for parsing events from CSV format.
  * <p>
  *      This parser converts CSV lines into {@link Event} objects using the format:
- *      {@code "yyyy-MM-dd,Event Description"}. The date format is shared with
- *      the {@link Event} class through {@link Event#DATE_PATTERN}.
+ *      {@code "dd-MM-yyyy,Event Description"}, optionally followed by the start time and the
+ *      duration in minutes of timed events: {@code "dd-MM-yyyy,Event Description,HH:mm,60"},
+ *      or by the last day of events spanning several days: {@code "dd-MM-yyyy,Event Description,dd-MM-yyyy"}.
+ *      Any of them may end with a reminder, minutes before the start after an {@code @}:
+ *      {@code "dd-MM-yyyy,Event Description,HH:mm,60,@15"}.
+ *      The date and time formats are shared with the {@link Event} class through
+ *      {@link Event#DATE_PATTERN} and {@link Event#TIME_PATTERN}.
+ * </p>
+ * <p>
+ *      A description containing commas or quotes is written in quotes, with quotes doubled:
+ *      {@code 01-05-2024,"Lunch, Anna"}. Files written before descriptions were quoted may
+ *      hold commas in an unquoted description; the optional columns are then recognised from the
+ *      end of the line and everything before them is the description.
  * </p>
  *
  * @see EventParser
@@ -18,49 +33,156 @@ import java.util.List;
  */
 public class EventCSVParser implements EventParser {
 
+    private static final Pattern DATE_COLUMN = Pattern.compile("\\d{2}-\\d{2}-\\d{4}");
+    private static final Pattern TIME_COLUMN = Pattern.compile("\\d{2}:\\d{2}");
+    private static final Pattern MINUTES_COLUMN = Pattern.compile("\\d+");
+    private static final Pattern REMINDER_COLUMN = Pattern.compile("@\\d+");
+
     private final DateTimeFormatter DATE_PATTERN = Event.DATE_PATTERN;
 
     /**
      * Parses a single line of CSV into an Event object.
      * <p>
-     *      Expected format: {@code "dd-MM-yyyy,Event Description"}
+     *      Expected format: {@code "dd-MM-yyyy,Event Description[,HH:mm,minutes | ,dd-MM-yyyy][,@minutes]"},
+     *      the description may be empty or quoted.
      * </p>
      *
      * @param line the CSV line to parse (must not be null or empty)
      * @return the parsed Event object
      * @throws IllegalArgumentException if the line is malformed
-     * @throws java.time.format.DateTimeParseException if the date cannot be parsed
+     * @throws java.time.format.DateTimeParseException if a date or time cannot be parsed
      */
     @Override
     public Event parseFrom(String line) {
-        String[] columns = line.split(",");
+        int comma = line.indexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("Brak opisu wydarzenia");
+        }
+        final LocalDate date = LocalDate.parse(line.substring(0, comma), DATE_PATTERN);
+
+        final String description;
+        List<String> columns;
+        if (comma + 1 < line.length() && line.charAt(comma + 1) == '"') {
+            StringBuilder text = new StringBuilder();
+            int end = readQuoted(line, comma + 2, text);
+            description = text.toString();
+            if (end == line.length()) {
+                columns = List.of();
+            } else if (line.charAt(end) == ',') {
+                columns = Arrays.asList(line.substring(end + 1).split(",", -1));
+            } else {
+                throw new IllegalArgumentException("Tekst po cudzysłowie zamykającym opis");
+            }
+        } else {
+            String[] parts = line.substring(comma + 1).split(",", -1);
+            int first = optionalColumnsStart(parts);
+            description = String.join(",", Arrays.asList(parts).subList(0, first));
+            columns = Arrays.asList(parts).subList(first, parts.length);
+        }
+
+        int count = columns.size();
+        int reminder = Event.NO_REMINDER;
+        if (count > 0 && columns.get(count - 1).startsWith("@")) {
+            reminder = Integer.parseInt(columns.get(--count).substring(1));
+        }
 
-        final LocalDate date = LocalDate.parse(columns[0], DATE_PATTERN);
-        final String description = columns[1];
+        Event event;
+        if (count == 2) {
+            final LocalTime startTime = LocalTime.parse(columns.get(0), Event.TIME_PATTERN);
+            event = new Event(date, description, startTime, Integer.parseInt(columns.get(1)));
+        } else if (count == 1) {
+            event = new Event(date, LocalDate.parse(columns.get(0), DATE_PATTERN), description);
+        } else if (count == 0) {
+            event = new Event(date, description);
+        } else {
+            throw new IllegalArgumentException("Nieoczekiwana liczba kolumn: " + (count + 2));
+        }
+        return reminder == Event.NO_REMINDER ? event : event.withReminder(reminder);
+    }
 
-        return new Event(date, description);
+    /**
+     * Parses a line, reporting a malformed one on the error output instead of throwing.
+     *
+     * @param line the CSV line to parse
+     * @param lineNumber the number of the line in its file, for the report
+     * @return the parsed Event, or null if the line is malformed
+     */
+    public Event parseOrReport(String line, long lineNumber) {
+        try {
+            return parseFrom(line);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            System.err.println("Pominięto nieprawidłowy wiersz " + lineNumber + " (" + e.getMessage() + "): " + line);
+            return null;
+        }
     }
 
     /**
      * Parses multiple lines of CSV into a list of Event objects.
      * <p>
-     *      Each line is processed by {@link #parseFrom(String)}.
-     *      Empty line will cause an IllegalArgumentException.
+     *      Each line is processed by {@link #parseFrom(String)}. Blank lines are skipped, malformed
+     *      ones are skipped and reported on the error output, so one bad line does not make
+     *      the whole file unreadable.
      * </p>
      *
      * @param lines the list of CSV lines to parse (must not be null)
      * @return a list of parsed Event objects
-     * @throws IllegalArgumentException if any line is malformed
-     * @throws java.time.format.DateTimeParseException if any date cannot be parsed
-     * @see #parseFrom(String)
+     * @see #parseOrReport(String, long)
      */
     @Override
     public List<Event> parseLinesFrom(final List<String> lines) {
         final List<Event> eventsList = new ArrayList<>();
 
+        int lineNumber = 0;
         for (final String line : lines) {
-            eventsList.add(parseFrom(line));
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Event event = parseOrReport(line, lineNumber);
+            if (event != null) {
+                eventsList.add(event);
+            }
         }
         return eventsList;
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads a quoted field up to its closing quote, un-doubling quotes.
+     *
+     * @return the index after the closing quote
+     */
+    private static int readQuoted(String line, int from, StringBuilder text) {
+        int i = from;
+        while (true) {
+            int quote = line.indexOf('"', i);
+            if (quote < 0) {
+                throw new IllegalArgumentException("Brak cudzysłowu zamykającego opis");
+            }
+            text.append(line, i, quote);
+            if (quote + 1 < line.length() && line.charAt(quote + 1) == '"') {
+                text.append('"');
+                i = quote + 2;
+            } else {
+                return quote + 1;
+            }
+        }
+    }
+
+    /**
+     * Finds where the optional columns of an unquoted line start, recognising them from the end;
+     * the first part always belongs to the description.
+     */
+    private static int optionalColumnsStart(String[] parts) {
+        int end = parts.length;
+        if (end > 1 && REMINDER_COLUMN.matcher(parts[end - 1]).matches()) {
+            end--;
+        }
+        if (end > 2 && TIME_COLUMN.matcher(parts[end - 2]).matches() && MINUTES_COLUMN.matcher(parts[end - 1]).matches()) {
+            return end - 2;
+        }
+        if (end > 1 && DATE_COLUMN.matcher(parts[end - 1]).matches()) {
+            return end - 1;
+        }
+        return end;
+    }
+}
@@ -1,10 +1,14 @@
 package com.calendar.Event;
 
+import com.calendar.Metrics.MetricsRegistry;
+import com.calendar.Metrics.OperationMetrics;
+import com.calendar.Metrics.PersistenceEvent;
+
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,15 +16,22 @@ import java.util.List;
  * Implementation of {@link EventWriter} for writing events to CSV file.
  * <p>
  *     This writer saves events in the format: {@code "dd-MM-yyyy",Event Description\n}
- *     using the date pattern defined in {@link Event#DATE_PATTERN}.
+ *     using the date pattern defined in {@link Event#DATE_PATTERN}. Timed events get two more
+ *     columns, the start time ({@link Event#TIME_PATTERN}) and the duration in minutes; events spanning
+ *     several days get one, their last day. A reminder is written as a last column with the
+ *     number of minutes before the start after an {@code @}, e.g. {@code ,@15}. A description with
+ *     commas is written in quotes, see {@link EventCSVParser}.
  *     Each event is appended to the file in a new line.
  * </p>
  * */
 
 public class EventCSVWriter implements EventWriter {
 
+    private static final OperationMetrics WRITE_EVENT_METRICS = MetricsRegistry.operation("eventCSVWriter.writeEvent");
+    private static final OperationMetrics WRITE_EVENTS_METRICS = MetricsRegistry.operation("eventCSVWriter.writeEvents");
+    private static final OperationMetrics WRITE_ALL_METRICS = MetricsRegistry.operation("eventCSVWriter.writeAllEvents");
+
     private final String filePath;
-    private final DateTimeFormatter DATE_PATTERN = Event.DATE_PATTERN;
 
     /**
      * Creates a new EventCSVWriter that will write to the specified file.
@@ -40,14 +51,44 @@ public class EventCSVWriter implements EventWriter {
      * </p>
      *
      * @param event the event to write (must not be null)
+     * @return the number of bytes written
      */
     @Override
-    public void writeEvent(Event event) {
+    public long writeEvent(Event event) {
+        PersistenceEvent probe = PersistenceEvent.start(WRITE_EVENT_METRICS);
+        long bytes = 0;
         try (FileWriter writer = new FileWriter(filePath, true)) {
-            writer.write(event.getDate().format(DATE_PATTERN) + "," + event.getDescription() + "\n");
+            String line = toCsvLine(event) + "\n";
+            writer.write(line);
+            bytes = byteLength(line);
         } catch (IOException | IllegalArgumentException e) {
             System.err.println("Nie udało się zapisać wydarzenia: " + e.getMessage());
         }
+        probe.finish(1, bytes);
+        return bytes;
+    }
+
+    /**
+     * Appends many events to the CSV file using one buffered writer.
+     *
+     * @param events the events to append (must not be null)
+     * @return the number of bytes written
+     */
+    @Override
+    public long writeEvents(List<Event> events) {
+        PersistenceEvent probe = PersistenceEvent.start(WRITE_EVENTS_METRICS);
+        long bytes = 0;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
+            for (Event e : events) {
+                String line = toCsvLine(e) + "\n";
+                writer.write(line);
+                bytes += byteLength(line);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Nie udało się zapisać wydarzeń: " + e.getMessage());
+        }
+        probe.finish(events.size(), bytes);
+        return bytes;
     }
 
     /**
@@ -55,18 +96,82 @@ public class EventCSVWriter implements EventWriter {
      *  <p>
      *      This method rewrites all file with data inside
      *  </p>
+     *
+     *  @return the number of bytes written
      * */
     @Override
-    public void writeAllEvents(List<Event> events) {
+    public long writeAllEvents(List<Event> events) {
+        PersistenceEvent probe = PersistenceEvent.start(WRITE_ALL_METRICS);
         List<String> lines = new ArrayList<>();
+        long bytes = 0;
         for (Event e : events) {
-            lines.add(e.getDate().format(DATE_PATTERN) + "," + e.getDescription());
+            String line = toCsvLine(e);
+            lines.add(line);
+            bytes += byteLength(line) + System.lineSeparator().length();
         }
 
         try {
             Files.write(Path.of(filePath), lines);
         } catch (IOException e) {
             System.err.println("Nie udało się zapisać wydarzeń: " + e.getMessage());
+            bytes = 0;
+        }
+        probe.finish(events.size(), bytes);
+        return bytes;
+    }
+
+    /**
+     * Formats an event as one CSV line, without the line separator.
+     *
+     * @param event the event to format (must not be null)
+     * @return the CSV line
+     */
+    public static String toCsvLine(Event event) {
+        String line = event.getDate().format(Event.DATE_PATTERN) + "," + descriptionColumn(event.getDescription());
+        if (event.isTimed()) {
+            line += "," + event.getStartTime().format(Event.TIME_PATTERN) + "," + event.getDurationMinutes();
+        } else if (event.isMultiDay()) {
+            line += "," + event.getEndDate().format(Event.DATE_PATTERN);
+        }
+        if (event.hasReminder()) {
+            line += ",@" + event.getReminderMinutes();
+        }
+        return line;
+    }
+
+    /**
+     * Quotes a description holding commas or starting with a quote, doubling its quotes; line
+     * breaks become spaces, since every event takes one line.
+     */
+    private static String descriptionColumn(String description) {
+        String text = description.replace("\r\n", " ").replace('\r', ' ').replace('\n', ' ');
+        if (text.indexOf(',') < 0 && !text.startsWith("\"")) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Counts the UTF-8 bytes of a line without encoding it, so the metrics need no call to the file system.
+     *
+     * @param line the text
+     * @return the length of the text in UTF-8
+     */
+    public static long byteLength(String line) {
+        long bytes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < line.length() && Character.isLowSurrogate(line.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
         }
+        return bytes;
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.calendar.Event;
+
+import java.util.List;
+
+/**
+ * Receives the changes of the events of an {@link EventManager}.
+ * <p>
+ *     Methods are called on the thread that made the change, after the manager's own indexes
+ *     have been updated. The lists must not be kept or modified.
+ * </p>
+ *
+ * @see EventManager#addChangeListener(EventChangeListener)
+ */
+public interface EventChangeListener {
+
+    /**
+     * Called after the events were (re)loaded; replaces everything received before.
+     *
+     * @param events all loaded events
+     */
+    void eventsLoaded(List<Event> events);
+
+    /**
+     * Called after events were added.
+     *
+     * @param events the added events
+     */
+    void eventsAdded(List<Event> events);
+
+    /**
+     * Called after events were removed.
+     *
+     * @param events the removed events
+     */
+    void eventsRemoved(List<Event> events);
+}
@@ -0,0 +1,74 @@
+package com.calendar.Event;
+
+import com.calendar.Month.MonthsTable;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Number of events per day, kept as one {@code int} array per year.
+ * <p>
+ *     Every array has one slot per day of the year ({@link MonthsTable#getDaysInYear(int)}),
+ *     so reading the counts of a whole year is a single array copy, no matter how many
+ *     events the calendar holds.
+ * </p>
+ *
+ * @see EventManager#getEventCountsForYear(int)
+ */
+public class EventDensityIndex {
+
+    private final Map<Integer, int[]> countsByYear = new HashMap<>();
+
+    /**
+     * Counts one more event on the given date.
+     *
+     * @param date the event date (must not be null)
+     */
+    public void add(LocalDate date) {
+        countsByYear.computeIfAbsent(date.getYear(), year -> new int[MonthsTable.getDaysInYear(year)])
+                [date.getDayOfYear() - 1]++;
+    }
+
+    /**
+     * Counts one event less on the given date.
+     *
+     * @param date the event date (must not be null)
+     */
+    public void remove(LocalDate date) {
+        int[] counts = countsByYear.get(date.getYear());
+        if (counts != null && counts[date.getDayOfYear() - 1] > 0) {
+            counts[date.getDayOfYear() - 1]--;
+        }
+    }
+
+    /**
+     * Removes all counts.
+     */
+    public void clear() {
+        countsByYear.clear();
+    }
+
+    /**
+     * Returns the number of events on a date.
+     *
+     * @param date the date (must not be null)
+     * @return number of events, 0 if there are none
+     */
+    public int getCount(LocalDate date) {
+        int[] counts = countsByYear.get(date.getYear());
+        return counts == null ? 0 : counts[date.getDayOfYear() - 1];
+    }
+
+    /**
+     * Returns the number of events for every day of a year.
+     *
+     * @param year the year
+     * @return a new array indexed by day of year minus one
+     */
+    public int[] getCountsForYear(int year) {
+        int[] counts = countsByYear.get(year);
+        return counts == null ? new int[MonthsTable.getDaysInYear(year)] : Arrays.copyOf(counts, counts.length);
+    }
+}
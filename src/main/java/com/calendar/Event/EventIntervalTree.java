@@ -0,0 +1,221 @@
+package com.calendar.Event;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Interval tree of events.
+ * <p>
+ *     Every event occupies the half-open range {@code [start, end)} given by
+ *     {@link Event#getStart()} and {@link Event#getEnd()}, measured in minutes since
+ *     {@code 1970-01-01T00:00}. The ranges are kept in a treap ordered by start, where every node
+ *     also stores the largest end in its subtree. An overlap query skips every subtree that ends
+ *     before the queried range and stops at the first start after it, so it runs in
+ *     {@code O(log n + k)} for {@code k} results; insertion and removal take {@code O(log n)}.
+ *     Results are returned ordered by start.
+ * </p>
+ * <p>
+ *     Events are tracked by identity, like in {@link com.calendar.Search.EventSearchIndex}, so equal
+ *     events added twice are two entries.
+ * </p>
+ *
+ * @see EventManager#getEventsOverlapping(LocalDateTime, LocalDateTime)
+ * @see EventManager#getSpanningEvents(java.time.LocalDate, java.time.LocalDate)
+ */
+public class EventIntervalTree {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final Map<Event, Node> nodes = new IdentityHashMap<>();
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * Adds an event.
+     *
+     * @param event the event to add (must not be null)
+     */
+    public void add(Event event) {
+        if (nodes.containsKey(event)) {
+            return;
+        }
+        Node node = new Node(event, toMinute(event.getStart()), toMinute(event.getEnd()), nextSequence++, random.nextInt());
+        nodes.put(event, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Removes an event added before. Unknown events are ignored.
+     *
+     * @param event the event to remove (must not be null)
+     */
+    public void remove(Event event) {
+        Node node = nodes.remove(event);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Removes all events.
+     */
+    public void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    /**
+     * Returns the number of events in the tree.
+     *
+     * @return the number of events
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Finds events overlapping a range.
+     *
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return events that start before {@code to} and end after {@code from}, ordered by start
+     */
+    public List<Event> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<Event> result = new ArrayList<>();
+        collect(root, toMinute(from), toMinute(to), result);
+        return result;
+    }
+
+    private static void collect(Node node, long from, long to, List<Event> result) {
+        // nothing in this subtree ends after the start of the range
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start >= to) {
+            // this node and its right subtree start too late
+            return;
+        }
+        if (node.end > from) {
+            result.add(node.event);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    static long toMinute(LocalDateTime time) {
+        return ChronoUnit.MINUTES.between(EPOCH, time);
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            return update(node);
+        }
+        if (node.compareTo(tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        return update(tree);
+    }
+
+    private static Node delete(Node tree, Node node) {
+        if (tree == node) {
+            return merge(tree.left, tree.right);
+        }
+        if (node.compareTo(tree) < 0) {
+            tree.left = delete(tree.left, node);
+        } else {
+            tree.right = delete(tree.right, node);
+        }
+        return update(tree);
+    }
+
+    /**
+     * Splits a tree into nodes ordered before the key and nodes ordered after it.
+     */
+    private static Node[] split(Node tree, Node key) {
+        if (tree == null) {
+            return new Node[2];
+        }
+        if (tree.compareTo(key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            parts[0] = update(tree);
+            return parts;
+        }
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        parts[1] = update(tree);
+        return parts;
+    }
+
+    /**
+     * Joins two trees where every node of {@code left} is ordered before every node of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+        return node;
+    }
+
+    private static final class Node implements Comparable<Node> {
+        private final Event event;
+        private final long start;
+        private final long end;
+        // tie breaker for events starting at the same minute
+        private final long sequence;
+        private final int priority;
+
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Event event, long start, long end, long sequence, int priority) {
+            this.event = event;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int byStart = Long.compare(start, other.start);
+            return byStart != 0 ? byStart : Long.compare(sequence, other.sequence);
+        }
+    }
+}
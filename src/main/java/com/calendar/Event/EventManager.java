@@ -1,78 +1,194 @@
 package com.calendar.Event;
 
+import com.calendar.Metrics.MetricsRegistry;
+import com.calendar.Metrics.OperationMetrics;
+import com.calendar.Metrics.PersistenceEvent;
+import com.calendar.Search.EventSearchIndex;
+import com.calendar.Store.EventStore;
+import com.calendar.Store.EventStores;
+
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
- * Manages a collection of events with persistence in CSV format.
+ * Manages a collection of events persisted in an {@link EventStore}, a CSV file by default.
  * <p>
  *     This class provides functionality to:
  *     <ul>
- *         <li>Load events from a CSV format</li>
- *         <li>Writing event to CSV file</li>
- *         <li>Parsing data from CSV file</li>
+ *         <li>Load events from the store</li>
+ *         <li>Writing every change to the store</li>
+ *         <li>Searching event descriptions through {@link EventSearchIndex}</li>
+ *         <li>Counting events per day through {@link EventDensityIndex}</li>
+ *         <li>Finding overlapping timed events and free time through {@link EventIntervalTree}</li>
+ *         <li>Finding events spanning several days through a second {@link EventIntervalTree}</li>
+ *         <li>Notifying {@link EventChangeListener}s, e.g. the reminder scheduler, of every change</li>
  *     </ul>
- *     The CSV file is automatically created if it is not exist
+ *     The store is chosen by {@link EventStores}, e.g. with {@code -Dcalendar.store=memory}.
+ * </p>
+ * <p>
+ *     With a windowed store, like {@code -Dcalendar.store=paged}, only the months around the one
+ *     passed to {@link #setVisibleMonth(int, int)} are loaded. {@link #getEventsForDate(LocalDate)},
+ *     {@link #searchEvents(String, int)}, {@link #getEventCountsForYear(int)} and the
+ *     {@code forEachEvent} methods then read the months they need from the store; the other
+ *     queries, meant for the visible month, see only the loaded ones.
  * </p>
  *
  * @see Event
- * @see EventCSVParser
- * @see EventCSVWriter
+ * @see EventStore
  * */
 
-public class EventManager {
+public class EventManager implements AutoCloseable {
+
+    private static final OperationMetrics LOAD_METRICS = MetricsRegistry.operation("eventManager.loadEvents");
+    private static final OperationMetrics ADD_METRICS = MetricsRegistry.operation("eventManager.addEvent");
+    private static final OperationMetrics ADD_ALL_METRICS = MetricsRegistry.operation("eventManager.addEvents");
+    private static final OperationMetrics REMOVE_METRICS = MetricsRegistry.operation("eventManager.removeEvent");
+
     private List<Event> events;
-    private final String filePath;
-    private final EventCSVParser parser;
-    private final EventCSVWriter writer;
+    private final EventStore store;
+    private final EventSearchIndex searchIndex;
+    private boolean searchIndexReady;
+    private final EventDensityIndex densityIndex;
+    private final NavigableMap<LocalDate, List<Event>> eventsByDate;
+    private final EventIntervalTree timedEvents;
+    private final EventIntervalTree spanningEvents;
+    private int visibleYear;
+    private int visibleMonth;
+    private final List<EventChangeListener> listeners = new ArrayList<>();
 
     /**
-     * Creates a new EventManager for the specified file.
+     * Creates a new EventManager for the specified location in the configured store.
      * <p>
-     *      Initializes the parser and writer, and creates an empty event list.
      *      Note: You must call {@link #loadEvents()} to load existing events.
      * </p>
      *
-     * @param filePath path to the CSV storage file (must not be null or empty)
-     * @throws IllegalArgumentException if filePath is null or empty
+     * @param filePath path to the CSV storage file, or the location of another store (must not be null)
+     * @see EventStores#open(String)
      */
     public EventManager(String filePath) {
-        this.filePath = filePath;
-        this.parser = new EventCSVParser();
-        this.writer = new EventCSVWriter(filePath);
+        this(EventStores.open(filePath));
+    }
+
+    /**
+     * Creates a new EventManager using the given store, e.g. a {@link com.calendar.Store.MemoryEventStore}.
+     * <p>
+     *      Note: You must call {@link #loadEvents()} to load existing events.
+     * </p>
+     *
+     * @param store the storage (must not be null)
+     */
+    public EventManager(EventStore store) {
+        this.store = store;
         this.events = new ArrayList<>();
+        this.searchIndex = new EventSearchIndex();
+        this.densityIndex = new EventDensityIndex();
+        this.eventsByDate = new TreeMap<>();
+        this.timedEvents = new EventIntervalTree();
+        this.spanningEvents = new EventIntervalTree();
+        LocalDate today = LocalDate.now();
+        this.visibleYear = today.getYear();
+        this.visibleMonth = today.getMonthValue();
     }
 
     /**
-     * Loads events from the CSV file into memory.
+     * Loads events from the store into memory.
      * <p>
-     *      If the file doesn't exist, it will be created and an empty list will be loaded.
+     *      If the CSV file doesn't exist, it will be created and an empty list will be loaded.
      *      On any error, an empty list will be initialized and an error message printed.
+     *      In a windowed store only the months around the visible one are loaded.
      * </p>
      */
     public void loadEvents() {
+        PersistenceEvent probe = PersistenceEvent.start(LOAD_METRICS);
+        long bytes = 0;
         try {
-            Path pathToFile = Path.of(filePath);
-            // check if file exist if not create it
-            if (!Files.exists(pathToFile)) {
-                Files.createFile(pathToFile);
-                this.events = new ArrayList<>();
-                return;
-            }
-            List<String> lines = Files.readAllLines(pathToFile);
-            this.events = parser.parseLinesFrom(lines);
+            this.events = store.load(visibleYear, visibleMonth);
+            bytes = store.getSizeBytes();
         } catch(IOException e) {
             System.err.println("Błąd podczas wczytywania wydarzeń: " + e.getMessage());
             this.events = new ArrayList<>();
         }
+        rebuildIndexes();
+        for (EventChangeListener listener : listeners) {
+            listener.eventsLoaded(Collections.unmodifiableList(events));
+        }
+        probe.finish(events.size(), bytes);
     }
 
     /**
-     * This method adds a new event and persists it to the CSV file.
+     * Registers a listener notified of every load, addition and removal.
+     *
+     * @param listener the listener (must not be null)
+     */
+    public void addChangeListener(EventChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener registered before
+     */
+    public void removeChangeListener(EventChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the month shown to the user. In a windowed store the months around it are loaded and
+     * months far from it may be dropped; otherwise nothing happens.
+     *
+     * @param year the year
+     * @param month the month number (1-12)
+     * @return {@code true} if the loaded events changed
+     */
+    public boolean setVisibleMonth(int year, int month) {
+        if (year == visibleYear && month == visibleMonth) {
+            return false;
+        }
+        visibleYear = year;
+        visibleMonth = month;
+        if (!store.isWindowed()) {
+            return false;
+        }
+        loadEvents();
+        return true;
+    }
+
+    /**
+     * Tells whether only the months around the visible one are loaded.
+     *
+     * @return {@code true} with a windowed store
+     */
+    public boolean isWindowed() {
+        return store.isWindowed();
+    }
+
+    private void rebuildIndexes() {
+        // the index is rebuilt on the first search, not on every load
+        searchIndex.clear();
+        searchIndexReady = false;
+
+        densityIndex.clear();
+        eventsByDate.clear();
+        timedEvents.clear();
+        spanningEvents.clear();
+        for (Event event : events) {
+            index(event);
+        }
+    }
+
+    /**
+     * This method adds a new event and persists it to the store.
      * <p>
      *      The event is immediately written to the file and added to the in-memory list.
      * </p>
@@ -81,26 +197,116 @@ public class EventManager {
      * @param description the event description (must not be null or empty)
      */
     public void addEvent(LocalDate date, String description) {
-        Event event = new Event(date, description);
-        writer.writeEvent(event);
+        addEvent(new Event(date, description));
+    }
+
+    /**
+     * This method adds a new timed event and persists it to the store.
+     *
+     * @param date the date the event starts on (must not be null)
+     * @param description the event description (must not be null or empty)
+     * @param startTime the start time (must not be null)
+     * @param durationMinutes the duration in minutes (must be positive)
+     * @throws IllegalArgumentException if the start time is missing or the duration is not positive
+     */
+    public void addEvent(LocalDate date, String description, LocalTime startTime, int durationMinutes) {
+        addEvent(new Event(date, description, startTime, durationMinutes));
+    }
+
+    /**
+     * This method adds a new whole day event spanning several days and persists it to the store.
+     *
+     * @param date the first day of the event (must not be null)
+     * @param endDate the last day of the event, inclusive (must not be before {@code date})
+     * @param description the event description (must not be null or empty)
+     * @throws IllegalArgumentException if the last day is before the first one
+     */
+    public void addEvent(LocalDate date, LocalDate endDate, String description) {
+        addEvent(new Event(date, endDate, description));
+    }
+
+    /**
+     * This method adds an event, e.g. one with a reminder, and persists it to the store.
+     *
+     * @param event the event to add (must not be null)
+     */
+    public void addEvent(Event event) {
+        PersistenceEvent probe = PersistenceEvent.start(ADD_METRICS);
+        long bytes = persist(List.of(event));
         events.add(event);
+        index(event);
+        if (searchIndexReady) {
+            searchIndex.add(event);
+        }
+        for (EventChangeListener listener : listeners) {
+            listener.eventsAdded(List.of(event));
+        }
+        probe.finish(1, bytes);
+    }
+
+    /**
+     * Adds many events at once and persists them with a single write to the store.
+     * <p>
+     *      Intended for bulk imports, where writing the file once per event would dominate.
+     * </p>
+     *
+     * @param newEvents the events to add (must not be null)
+     */
+    public void addEvents(List<Event> newEvents) {
+        if (newEvents.isEmpty()) {
+            return;
+        }
+        PersistenceEvent probe = PersistenceEvent.start(ADD_ALL_METRICS);
+        long bytes = persist(newEvents);
+        events.addAll(newEvents);
+        for (Event event : newEvents) {
+            index(event);
+        }
+        if (searchIndexReady) {
+            searchIndex.addAll(newEvents);
+        }
+        for (EventChangeListener listener : listeners) {
+            listener.eventsAdded(Collections.unmodifiableList(newEvents));
+        }
+        probe.finish(newEvents.size(), bytes);
     }
 
     /**
      * Gets all events for a specific date.
+     * <p>
+     *     In a windowed store a date without loaded events is read from the store, so dates
+     *     outside the loaded months are found too.
+     * </p>
      *
      * @param date the date to filter events (must not be null)
      * @return a list of matching events (never null, may be empty)
      * @throws IllegalArgumentException if date is null
      */
     public List<Event> getEventsForDate(LocalDate date) {
-        List<Event> result = new ArrayList<>();
-        for (Event event : events) {
-            if (event.getDate().equals(date)) {
-                result.add(event);
-            }
+        List<Event> onDate = eventsByDate.get(date);
+        if (onDate != null) {
+            return new ArrayList<>(onDate);
+        }
+        List<Event> stored = new ArrayList<>();
+        if (store.isWindowed()) {
+            // months are loaded whole, so a loaded date with events is always in the index
+            forEachEventBetween(date, date, stored::add);
         }
-        return result;
+        return stored;
+    }
+
+    /**
+     * Gets the events of a date without copying them.
+     * <p>
+     *     Meant for rendering, which reads the events of every visible day on each refresh.
+     * </p>
+     *
+     * @param date the date to filter events (must not be null)
+     * @return an unmodifiable list of events in insertion order (never null, may be empty)
+     */
+    public List<Event> viewEventsForDate(LocalDate date) {
+        List<Event> onDate = eventsByDate.get(date);
+        return onDate == null ? Collections.emptyList() : Collections.unmodifiableList(onDate);
     }
 
     /**
@@ -110,36 +316,388 @@ public class EventManager {
      * @return found event or null is event is not exist
      * */
     public Event getEventForDate(LocalDate date) {
-        Event result = null;
-        for (Event event : events) {
-            if (event.getDate().equals(date)) {
-                result = event;
-            }
-        }
-        return result;
+        List<Event> onDate = eventsByDate.get(date);
+        // the last added event wins, as when scanning the whole list
+        return onDate == null ? null : onDate.get(onDate.size() - 1);
     }
 
     /**
-     * This method gets a copy of all events.
+     * This method gets a copy of all loaded events.
      * <p>
-     *     Returns a defencive copy to project in internal list.
+     *     Returns a defencive copy to project in internal list. In a windowed store these are the
+     *     events of the loaded months only, see {@link #forEachEvent(Consumer)} for all of them.
      * </p>
      *
-     * @return a new list containing all events
+     * @return a new list containing all loaded events
      * */
     public List<Event> getAllEvents() {
         return new ArrayList<>(events); // copy of original events array
     }
 
+    /**
+     * Streams all events, also those of months that are not loaded.
+     * <p>
+     *     Without a windowed store these are the loaded events. A windowed store reads them a
+     *     part at a time without keeping them, so the whole history never has to be in memory;
+     *     the order is then up to the store. A read error is printed and ends the stream.
+     * </p>
+     * <p>
+     *     With a windowed store this may be called from any thread, windowed stores being
+     *     synchronized.
+     * </p>
+     *
+     * @param action receives every event
+     */
+    public void forEachEvent(Consumer<Event> action) {
+        if (!store.isWindowed()) {
+            events.forEach(action);
+            return;
+        }
+        try {
+            store.forEach(action);
+        } catch (IOException e) {
+            System.err.println("Błąd podczas wczytywania wydarzeń: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Streams the events starting in a range of days, also in months that are not loaded.
+     * <p>
+     *     Without a windowed store these are the loaded events ordered by date, as
+     *     {@link #iterateEvents(LocalDate, LocalDate)}; a windowed store reads the months of the
+     *     range without keeping them, in an order up to the store.
+     * </p>
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (inclusive)
+     * @param action receives every event starting in the range
+     */
+    public void forEachEventBetween(LocalDate from, LocalDate to, Consumer<Event> action) {
+        if (!store.isWindowed()) {
+            iterateEvents(from, to).forEachRemaining(action);
+            return;
+        }
+        try {
+            store.forEachBetween(from, to, action);
+        } catch (IOException e) {
+            System.err.println("Błąd podczas wczytywania wydarzeń: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Iterates over the loaded events starting in a range of days, ordered by date.
+     * <p>
+     *     Walks the date index lazily, so taking the first few events of a long range costs as
+     *     little as taking them from a short one. Events of one day come in insertion order,
+     *     events spanning several days under their first day. The manager must not be changed
+     *     while iterating.
+     * </p>
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (inclusive)
+     * @return an iterator over the events
+     */
+    public Iterator<Event> iterateEvents(LocalDate from, LocalDate to) {
+        Iterator<List<Event>> days = eventsByDate.subMap(from, true, to, true).values().iterator();
+        return new Iterator<>() {
+            private Iterator<Event> day = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!day.hasNext() && days.hasNext()) {
+                    day = days.next().iterator();
+                }
+                return day.hasNext();
+            }
+
+            @Override
+            public Event next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return day.next();
+            }
+        };
+    }
+
     /**
      * This method removes event in provided date
      * @param date to remove event
      * */
     public void removeEvent(LocalDate date) {
+        PersistenceEvent probe = PersistenceEvent.start(REMOVE_METRICS);
+        int sizeBefore = events.size();
+        List<Event> removed = new ArrayList<>();
+
         // remove from memory
-        events.removeIf(event -> event.getDate().equals(date));
+        events.removeIf(event -> {
+            if (event.getDate().equals(date)) {
+                removed.add(event);
+                for (LocalDate day = date; !day.isAfter(event.getEndDate()); day = day.plusDays(1)) {
+                    densityIndex.remove(day);
+                }
+                timedEvents.remove(event);
+                spanningEvents.remove(event);
+                if (searchIndexReady) {
+                    searchIndex.remove(event);
+                }
+                return true;
+            }
+            return false;
+        });
+        eventsByDate.remove(date);
+
+        try {
+            store.removeDate(date, Collections.unmodifiableList(events));
+        } catch (IOException e) {
+            System.err.println("Nie udało się usunąć wydarzeń: " + e.getMessage());
+        }
+        if (!removed.isEmpty()) {
+            for (EventChangeListener listener : listeners) {
+                listener.eventsRemoved(removed);
+            }
+        }
+        probe.finish(sizeBefore - events.size(), 0);
+    }
+
+    /**
+     * Removes a single event, leaving other events of its day.
+     * <p>
+     *     The event is found by identity, so of two equal events only the given one goes; the
+     *     store removes one equal event.
+     * </p>
+     *
+     * @param event an event returned by this manager (must not be null)
+     * @return {@code true} if the event was loaded and has been removed
+     */
+    public boolean removeEvent(Event event) {
+        PersistenceEvent probe = PersistenceEvent.start(REMOVE_METRICS);
+        List<Event> onDate = eventsByDate.get(event.getDate());
+        if (onDate == null || !removeSame(onDate, event)) {
+            probe.finish(0, 0);
+            return false;
+        }
+        if (onDate.isEmpty()) {
+            eventsByDate.remove(event.getDate());
+        }
+        removeSame(events, event);
+        for (LocalDate day = event.getDate(); !day.isAfter(event.getEndDate()); day = day.plusDays(1)) {
+            densityIndex.remove(day);
+        }
+        timedEvents.remove(event);
+        spanningEvents.remove(event);
+        if (searchIndexReady) {
+            searchIndex.remove(event);
+        }
+
+        try {
+            store.remove(event, Collections.unmodifiableList(events));
+        } catch (IOException e) {
+            System.err.println("Nie udało się usunąć wydarzenia: " + e.getMessage());
+        }
+        for (EventChangeListener listener : listeners) {
+            listener.eventsRemoved(List.of(event));
+        }
+        probe.finish(1, 0);
+        return true;
+    }
+
+    /**
+     * Searches event descriptions.
+     * <p>
+     *     Every word of the query must match a word of the description, either fully
+     *     or as its beginning. Results are ranked, the best match first.
+     * </p>
+     * <p>
+     *     In a windowed store the whole store is streamed through an
+     *     {@link EventSearchIndex.Ranking} instead, so months that are not loaded are searched too.
+     * </p>
+     *
+     * @param query the text to search for
+     * @param limit maximal number of returned events
+     * @return a ranked list of matching events (never null, may be empty)
+     * @see EventSearchIndex#search(String, int)
+     */
+    public List<Event> searchEvents(String query, int limit) {
+        if (store.isWindowed()) {
+            EventSearchIndex.Ranking ranking = new EventSearchIndex.Ranking(query, limit);
+            forEachEvent(ranking);
+            return ranking.getResults();
+        }
+        if (!searchIndexReady) {
+            searchIndex.addAll(events);
+            searchIndexReady = true;
+        }
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Gets the number of events for every day of a year.
+     * <p>
+     *     Read from a per-day index kept up to date on every change, so it does not
+     *     depend on the total number of events. In a windowed store the year is read from
+     *     the store instead, because most of its months are not loaded.
+     * </p>
+     *
+     * @param year the year
+     * @return a new array indexed by day of year minus one (365 or 366 elements)
+     */
+    public int[] getEventCountsForYear(int year) {
+        if (!store.isWindowed()) {
+            return densityIndex.getCountsForYear(year);
+        }
+
+        EventDensityIndex yearIndex = new EventDensityIndex();
+        LocalDate first = LocalDate.of(year, 1, 1);
+        LocalDate last = LocalDate.of(year, 12, 31);
+        Consumer<Event> count = event -> {
+            LocalDate from = event.getDate().isBefore(first) ? first : event.getDate();
+            for (LocalDate day = from; !day.isAfter(event.getEndDate()) && !day.isAfter(last); day = day.plusDays(1)) {
+                yearIndex.add(day);
+            }
+        };
+        try {
+            // events of the previous year may last into this one
+            store.forEachInYear(year - 1, event -> {
+                if (!event.getEndDate().isBefore(first)) {
+                    count.accept(event);
+                }
+            });
+            store.forEachInYear(year, count);
+        } catch (IOException e) {
+            System.err.println("Błąd podczas wczytywania wydarzeń: " + e.getMessage());
+        }
+        return yearIndex.getCountsForYear(year);
+    }
+
+    /**
+     * Finds timed events overlapping a range of time, e.g. 10:00-11:00 of a day.
+     * <p>
+     *     Runs in {@code O(log n + k)}, see {@link EventIntervalTree}. Whole day events are not
+     *     included.
+     * </p>
+     *
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the overlapping events ordered by start (never null, may be empty)
+     */
+    public List<Event> getEventsOverlapping(LocalDateTime from, LocalDateTime to) {
+        return timedEvents.findOverlapping(from, to);
+    }
+
+    /**
+     * Finds the gaps between timed events within a range of time.
+     * <p>
+     *     Whole day events do not block time.
+     * </p>
+     *
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @param minMinutes shortest gap worth returning, in minutes
+     * @return the free slots in order (never null, may be empty)
+     */
+    public List<TimeSlot> getFreeSlots(LocalDateTime from, LocalDateTime to, int minMinutes) {
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalDateTime free = from;
+
+        // the events come ordered by start, so a single sweep finds every gap
+        for (Event event : timedEvents.findOverlapping(from, to)) {
+            if (event.getStart().isAfter(free)) {
+                addSlot(slots, free, event.getStart(), minMinutes);
+            }
+            if (event.getEnd().isAfter(free)) {
+                free = event.getEnd();
+            }
+        }
+        if (free.isBefore(to)) {
+            addSlot(slots, free, to, minMinutes);
+        }
+        return slots;
+    }
+
+    /**
+     * Finds events spanning several days that touch a range of days, e.g. a month.
+     * <p>
+     *     Runs in {@code O(log n + k)}, see {@link EventIntervalTree}. Every event is returned once,
+     *     however many days of the range it covers.
+     * </p>
+     *
+     * @param from the first day of the range (inclusive)
+     * @param to the last day of the range (inclusive)
+     * @return the events ordered by their first day (never null, may be empty)
+     */
+    public List<Event> getSpanningEvents(LocalDate from, LocalDate to) {
+        return spanningEvents.findOverlapping(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Gets the agenda of a day: whole day events first (including events spanning several days
+     * that cover this day), then timed events by start time, including events started on an
+     * earlier day that last into this one.
+     *
+     * @param date the day (must not be null)
+     * @return the events of the day (never null, may be empty)
+     */
+    public List<Event> getAgenda(LocalDate date) {
+        List<Event> agenda = new ArrayList<>(getSpanningEvents(date, date));
+        for (Event event : viewEventsForDate(date)) {
+            if (!event.isTimed() && !event.isMultiDay()) {
+                agenda.add(event);
+            }
+        }
+        agenda.addAll(timedEvents.findOverlapping(date.atStartOfDay(), date.plusDays(1).atStartOfDay()));
+        return agenda;
+    }
+
+    /**
+     * Closes the store, which writes out what it still keeps in memory or in a journal.
+     * On error a message is printed. The manager must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        try {
+            store.close();
+        } catch (IOException e) {
+            System.err.println("Nie udało się zamknąć magazynu wydarzeń: " + e.getMessage());
+        }
+    }
+
+    private static void addSlot(List<TimeSlot> slots, LocalDateTime start, LocalDateTime end, int minMinutes) {
+        TimeSlot slot = new TimeSlot(start, end);
+        if (slot.getMinutes() >= minMinutes) {
+            slots.add(slot);
+        }
+    }
+
+    private long persist(List<Event> newEvents) {
+        try {
+            return store.add(newEvents);
+        } catch (IOException e) {
+            System.err.println("Nie udało się zapisać wydarzeń: " + e.getMessage());
+            return 0;
+        }
+    }
 
-        // write to csv
-        writer.writeAllEvents(events);
+    private static boolean removeSame(List<Event> list, Event event) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i) == event) {
+                list.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void index(Event event) {
+        // events spanning several days are kept once, under their first day
+        eventsByDate.computeIfAbsent(event.getDate(), d -> new ArrayList<>(1)).add(event);
+        for (LocalDate day = event.getDate(); !day.isAfter(event.getEndDate()); day = day.plusDays(1)) {
+            densityIndex.add(day);
+        }
+        if (event.isTimed()) {
+            timedEvents.add(event);
+        } else if (event.isMultiDay()) {
+            spanningEvents.add(event);
+        }
     }
 }
\ No newline at end of file
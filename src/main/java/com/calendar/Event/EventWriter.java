@@ -2,7 +2,11 @@ package com.calendar.Event;
 
 import java.util.List;
 
+/**
+ * Writes events to a file. Every method returns the number of bytes written, 0 on error.
+ */
 public interface EventWriter {
-    void writeEvent(Event event);
-    void writeAllEvents(List<Event> events);
+    long writeEvent(Event event);
+    long writeEvents(List<Event> events);
+    long writeAllEvents(List<Event> events);
 }
\ No newline at end of file
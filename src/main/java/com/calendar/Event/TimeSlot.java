@@ -0,0 +1,74 @@
+package com.calendar.Event;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * An immutable range of time, {@code [start, end)}.
+ *
+ * @see EventManager#getFreeSlots(LocalDateTime, LocalDateTime, int)
+ */
+public class TimeSlot {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Creates a new TimeSlot.
+     *
+     * @param start the start (inclusive, must not be null)
+     * @param end the end (exclusive, must not be null)
+     */
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Gets the start of the slot.
+     *
+     * @return the start (inclusive)
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the end of the slot.
+     *
+     * @return the end (exclusive)
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the length of the slot.
+     *
+     * @return the length in minutes
+     */
+    public long getMinutes() {
+        return Duration.between(start, end).toMinutes();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        TimeSlot slot = (TimeSlot) o;
+        return Objects.equals(start, slot.start) && Objects.equals(end, slot.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSlot{" +
+                "start=" + start +
+                ", end=" + end +
+                '}';
+    }
+}
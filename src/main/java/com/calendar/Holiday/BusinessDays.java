@@ -0,0 +1,177 @@
+package com.calendar.Holiday;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Business day arithmetic: days from Monday to Friday that are not excluded, e.g. holidays.
+ * <p>
+ *     Weekdays are counted with whole-week arithmetic: every 7 days hold 5 weekdays, so the number
+ *     of weekdays before a day is a formula of its epoch day. Excluded days are kept as a sorted
+ *     array of epoch days (weekend days are dropped, they are never business days), and the
+ *     exclusions within a range are counted by binary search. Both operations therefore take
+ *     {@code O(log h)} for {@code h} excluded days, however far apart the dates are.
+ * </p>
+ *
+ * @see HolidayCalendar
+ */
+public final class BusinessDays {
+
+    /**
+     * First year whose holidays are excluded by {@link #getDefault()}.
+     */
+    public static final int DEFAULT_FIRST_YEAR = 1900;
+
+    /**
+     * Last year whose holidays are excluded by {@link #getDefault()}.
+     */
+    public static final int DEFAULT_LAST_YEAR = 2199;
+
+    private static volatile BusinessDays defaultDays;
+
+    // sorted epoch days of excluded weekdays
+    private final long[] excluded;
+
+    /**
+     * Creates business day arithmetic excluding the given days.
+     *
+     * @param excludedDays days that are not business days even if they are weekdays (must not be null)
+     */
+    public BusinessDays(Collection<LocalDate> excludedDays) {
+        this.excluded = excludedDays.stream()
+                .mapToLong(LocalDate::toEpochDay)
+                .filter(BusinessDays::isWeekday)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Returns business days without holidays of the default {@link HolidayCalendar} from
+     * {@value #DEFAULT_FIRST_YEAR} to {@value #DEFAULT_LAST_YEAR}; outside these years only
+     * weekends are excluded.
+     *
+     * @return the shared default instance
+     */
+    public static BusinessDays getDefault() {
+        BusinessDays days = defaultDays;
+        if (days == null) {
+            HolidayCalendar holidays = HolidayCalendar.getDefault();
+            List<LocalDate> dates = new ArrayList<>();
+            for (int year = DEFAULT_FIRST_YEAR; year <= DEFAULT_LAST_YEAR; year++) {
+                dates.addAll(holidays.getHolidayDates(year));
+            }
+            days = new BusinessDays(dates);
+            defaultDays = days;
+        }
+        return days;
+    }
+
+    /**
+     * Checks whether a day is a business day.
+     *
+     * @param date the day
+     * @return {@code true} for weekdays that are not excluded
+     */
+    public boolean isBusinessDay(LocalDate date) {
+        long day = date.toEpochDay();
+        return isWeekday(day) && Arrays.binarySearch(excluded, day) < 0;
+    }
+
+    /**
+     * Counts business days from one date to another: {@code from} counts, {@code to} does not.
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (exclusive)
+     * @return the number of business days, negative if {@code to} is before {@code from}
+     */
+    public long between(LocalDate from, LocalDate to) {
+        long start = from.toEpochDay();
+        long end = to.toEpochDay();
+        if (end < start) {
+            return -between(to, from);
+        }
+        return weekdaysBefore(end) - weekdaysBefore(start) - (lowerBound(end) - lowerBound(start));
+    }
+
+    /**
+     * Moves a date by business days. The date itself does not count, so adding 1 to a Friday
+     * gives the next Monday (unless it is excluded).
+     *
+     * @param date the date to start from
+     * @param days number of business days, negative to go back; 0 returns {@code date}
+     * @return the business day {@code days} business days after (or before) {@code date}
+     */
+    public LocalDate plus(LocalDate date, long days) {
+        if (days == 0) {
+            return date;
+        }
+        long start = date.toEpochDay();
+
+        // Candidate j is the weekday reached when j exclusions are skipped on the way. The number
+        // of exclusions passed minus j can only drop by 0 or 1 from one candidate to the next,
+        // so the first candidate passing at most j exclusions is the answer, found by binary
+        // search over j with a single array lookup per step.
+        if (days > 0) {
+            long base = weekdaysBefore(start + 1) + days - 1;
+            int first = lowerBound(start + 1);
+            int low = 0;
+            int high = excluded.length - first;
+            while (low < high) {
+                int j = (low + high) >>> 1;
+                if (excluded[first + j] > weekdayAt(base + j)) {
+                    high = j;
+                } else {
+                    low = j + 1;
+                }
+            }
+            return LocalDate.ofEpochDay(weekdayAt(base + low));
+        }
+
+        long base = weekdaysBefore(start) + days;
+        int last = lowerBound(start) - 1;
+        int low = 0;
+        int high = last + 1;
+        while (low < high) {
+            int j = (low + high) >>> 1;
+            if (excluded[last - j] < weekdayAt(base - j)) {
+                high = j;
+            } else {
+                low = j + 1;
+            }
+        }
+        return LocalDate.ofEpochDay(weekdayAt(base - low));
+    }
+
+    /**
+     * Counts weekdays before an epoch day, starting from the Monday 1969-12-29 (epoch day -3);
+     * negative for earlier days.
+     */
+    private static long weekdaysBefore(long epochDay) {
+        long sinceMonday = epochDay + 3;
+        return 5 * Math.floorDiv(sinceMonday, 7) + Math.min(Math.floorMod(sinceMonday, 7), 5);
+    }
+
+    /**
+     * The inverse of {@link #weekdaysBefore(long)}: the epoch day of the weekday with the given number.
+     */
+    private static long weekdayAt(long weekday) {
+        return -3 + 7 * Math.floorDiv(weekday, 5) + Math.floorMod(weekday, 5);
+    }
+
+    private static boolean isWeekday(long epochDay) {
+        // 0 = Monday
+        return Math.floorMod(epochDay + 3, 7) < 5;
+    }
+
+    /**
+     * Finds the number of exclusions before an epoch day.
+     */
+    private int lowerBound(long epochDay) {
+        int index = Arrays.binarySearch(excluded, epochDay);
+        return index >= 0 ? index : -index - 1;
+    }
+}
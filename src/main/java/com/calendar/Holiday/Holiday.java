@@ -0,0 +1,64 @@
+package com.calendar.Holiday;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * An immutable public holiday: a date and its name.
+ *
+ * @see HolidayRules
+ */
+public class Holiday {
+
+    private final LocalDate date;
+    private final String name;
+
+    /**
+     * Creates a new Holiday.
+     *
+     * @param date the date (must not be null)
+     * @param name the name, e.g. "Boże Narodzenie" (must not be null)
+     */
+    public Holiday(LocalDate date, String name) {
+        this.date = date;
+        this.name = name;
+    }
+
+    /**
+     * Gets the date.
+     *
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        Holiday holiday = (Holiday) o;
+        return Objects.equals(date, holiday.date) && Objects.equals(name, holiday.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, name);
+    }
+
+    @Override
+    public String toString() {
+        return "Holiday{" +
+                "date=" + date +
+                ", name='" + name + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,163 @@
+package com.calendar.Holiday;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Public holidays of a country, computed once per year.
+ * <p>
+ *     The first question about a year runs the {@link HolidayRules} and stores the result as a
+ *     bitset of days of the year (six {@code long}s) together with a bitmask of days for every
+ *     month, so later questions, e.g. highlighting the days of a month, are a bit test and never
+ *     compute Easter again.
+ * </p>
+ * <p>
+ *     Rules are chosen by country code; Polish ones ({@code pl}) are built in and used by default,
+ *     {@code -Dcalendar.holidays=none} turns holidays off. Other countries are added with
+ *     {@link #registerRules(String, HolidayRules)}.
+ * </p>
+ */
+public final class HolidayCalendar {
+
+    /**
+     * System property with the country code of the default calendar, {@code pl} by default.
+     */
+    public static final String COUNTRY_PROPERTY = "calendar.holidays";
+
+    private static final Map<String, HolidayRules> RULES = new ConcurrentHashMap<>();
+    private static final HolidayRules NO_HOLIDAYS = year -> Collections.emptyList();
+    private static volatile HolidayCalendar defaultCalendar;
+
+    static {
+        RULES.put("pl", new PolishHolidays());
+    }
+
+    private final HolidayRules rules;
+    private final Map<Integer, YearHolidays> years = new ConcurrentHashMap<>();
+
+    private HolidayCalendar(HolidayRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Registers the rules of a country.
+     *
+     * @param country the country code, e.g. {@code de}
+     * @param rules the rules (must not be null)
+     */
+    public static void registerRules(String country, HolidayRules rules) {
+        RULES.put(country.toLowerCase(), rules);
+    }
+
+    /**
+     * Creates a calendar of a country. Unknown countries have no holidays.
+     *
+     * @param country the country code
+     * @return a new calendar with an empty cache
+     */
+    public static HolidayCalendar forCountry(String country) {
+        return new HolidayCalendar(RULES.getOrDefault(country.toLowerCase(), NO_HOLIDAYS));
+    }
+
+    /**
+     * Returns the calendar of the country given by {@value #COUNTRY_PROPERTY}.
+     *
+     * @return the shared default calendar
+     */
+    public static HolidayCalendar getDefault() {
+        HolidayCalendar calendar = defaultCalendar;
+        if (calendar == null) {
+            calendar = forCountry(System.getProperty(COUNTRY_PROPERTY, "pl"));
+            defaultCalendar = calendar;
+        }
+        return calendar;
+    }
+
+    /**
+     * Checks whether a day is a holiday.
+     *
+     * @param date the day
+     * @return {@code true} for holidays
+     */
+    public boolean isHoliday(LocalDate date) {
+        return year(date.getYear()).isHoliday(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Gets the name of a holiday.
+     *
+     * @param date the day
+     * @return the name, or null if the day is not a holiday
+     */
+    public String getHolidayName(LocalDate date) {
+        return year(date.getYear()).names.get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Gets the holidays of a month as a bitmask.
+     *
+     * @param year the year
+     * @param month the month number (1-12)
+     * @return a mask where bit {@code d} is set if day {@code d} of the month is a holiday
+     */
+    public int getMonthMask(int year, int month) {
+        return year(year).monthMasks[month - 1];
+    }
+
+    /**
+     * Gets the holidays of a year.
+     *
+     * @param year the year
+     * @return the dates of the holidays in order (never null, may be empty)
+     */
+    public List<LocalDate> getHolidayDates(int year) {
+        long[] days = year(year).days;
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate first = LocalDate.of(year, 1, 1);
+        for (int word = 0; word < days.length; word++) {
+            long bits = days[word];
+            while (bits != 0) {
+                dates.add(first.plusDays(word * 64L + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return dates;
+    }
+
+    private YearHolidays year(int year) {
+        return years.computeIfAbsent(year, y -> new YearHolidays(y, rules.getHolidays(y)));
+    }
+
+    /**
+     * Holidays of one year.
+     */
+    private static final class YearHolidays {
+        // bit n = day of year n + 1
+        private final long[] days = new long[6];
+        private final int[] monthMasks = new int[12];
+        private final Map<Integer, String> names = new HashMap<>();
+
+        private YearHolidays(int year, List<Holiday> holidays) {
+            for (Holiday holiday : holidays) {
+                LocalDate date = holiday.getDate();
+                if (date.getYear() != year) {
+                    continue;
+                }
+                int dayOfYear = date.getDayOfYear() - 1;
+                days[dayOfYear >>> 6] |= 1L << dayOfYear;
+                monthMasks[date.getMonthValue() - 1] |= 1 << date.getDayOfMonth();
+                // the first name wins when two holidays fall on one day
+                names.putIfAbsent(dayOfYear, holiday.getName());
+            }
+        }
+
+        private boolean isHoliday(int dayOfYear) {
+            return (days[dayOfYear >>> 6] & (1L << dayOfYear)) != 0;
+        }
+    }
+}
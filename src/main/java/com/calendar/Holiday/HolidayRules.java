@@ -0,0 +1,24 @@
+package com.calendar.Holiday;
+
+import java.util.List;
+
+/**
+ * The public holidays of one country.
+ * <p>
+ *     Implementations only compute the holidays of a year; {@link HolidayCalendar} caches the
+ *     result, so rules may be as slow as they need to be. Register rules for a country with
+ *     {@link HolidayCalendar#registerRules(String, HolidayRules)}.
+ * </p>
+ *
+ * @see PolishHolidays
+ */
+public interface HolidayRules {
+
+    /**
+     * Computes the holidays of a year.
+     *
+     * @param year the year
+     * @return the holidays, in any order (never null, may be empty)
+     */
+    List<Holiday> getHolidays(int year);
+}
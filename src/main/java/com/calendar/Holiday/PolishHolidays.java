@@ -0,0 +1,45 @@
+package com.calendar.Holiday;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Public holidays (days free from work) of Poland.
+ * <p>
+ *     Fixed holidays, Easter with Easter Monday, Pentecost (7 weeks after Easter) and Corpus
+ *     Christi (60 days after Easter). Epiphany is a holiday since 2011 and Christmas Eve since 2025.
+ * </p>
+ */
+public class PolishHolidays implements HolidayRules {
+
+    @Override
+    public List<Holiday> getHolidays(int year) {
+        List<Holiday> holidays = new ArrayList<>(14);
+        fixed(holidays, year, 1, 1, "Nowy Rok");
+        if (year >= 2011) {
+            fixed(holidays, year, 1, 6, "Święto Trzech Króli");
+        }
+        fixed(holidays, year, 5, 1, "Święto Pracy");
+        fixed(holidays, year, 5, 3, "Święto Konstytucji 3 Maja");
+        fixed(holidays, year, 8, 15, "Wniebowzięcie Najświętszej Maryi Panny");
+        fixed(holidays, year, 11, 1, "Wszystkich Świętych");
+        fixed(holidays, year, 11, 11, "Narodowe Święto Niepodległości");
+        if (year >= 2025) {
+            fixed(holidays, year, 12, 24, "Wigilia Bożego Narodzenia");
+        }
+        fixed(holidays, year, 12, 25, "Boże Narodzenie (pierwszy dzień)");
+        fixed(holidays, year, 12, 26, "Boże Narodzenie (drugi dzień)");
+
+        LocalDate easter = Computus.easterSunday(year);
+        holidays.add(new Holiday(easter, "Wielkanoc"));
+        holidays.add(new Holiday(easter.plusDays(1), "Poniedziałek Wielkanocny"));
+        holidays.add(new Holiday(easter.plusDays(49), "Zielone Świątki"));
+        holidays.add(new Holiday(easter.plusDays(60), "Boże Ciało"));
+        return holidays;
+    }
+
+    private static void fixed(List<Holiday> holidays, int year, int month, int day, String name) {
+        holidays.add(new Holiday(LocalDate.of(year, month, day), name));
+    }
+}
@@ -0,0 +1,406 @@
+package com.calendar.ICal;
+
+import com.calendar.Event.Event;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader of iCalendar (RFC 5545) files.
+ * <p>
+ *     Reads the file once, line by line: folded lines are joined as they arrive, only the
+ *     properties of the {@code VEVENT} currently being read are kept, and finished events are
+ *     handed over in batches of a fixed size. Memory use therefore does not depend on the size
+ *     of the file.
+ * </p>
+ * <p>
+ *     Mapping to {@link Event}:
+ *     <ul>
+ *         <li>{@code SUMMARY} becomes the description, line breaks become spaces; an event without
+ *         one is titled {@value #UNTITLED}</li>
+ *         <li>{@code DTSTART} with a date only gives a whole day event; a {@code DTEND} more than
+ *         one day later gives an event spanning several days</li>
+ *         <li>{@code DTSTART} with a time gives a timed event lasting until {@code DTEND} or for
+ *         {@code DURATION}; UTC times and times with a {@code TZID} are converted to the local
+ *         time zone; without an end the event becomes a whole day event</li>
+ *         <li>the {@code TRIGGER} of the first {@code VALARM} before the start becomes the reminder</li>
+ *         <li>recurrence rules are not expanded, only the first occurrence is imported</li>
+ *     </ul>
+ *     Events without {@code DTSTART} or with a value that cannot be read are skipped and counted.
+ * </p>
+ */
+public class ICalReader {
+
+    /**
+     * Description of events without a {@code SUMMARY}.
+     */
+    public static final String UNTITLED = "(bez tytułu)";
+
+    private final int batchSize;
+    private final ZoneId localZone;
+    private final Map<String, ZoneId> zones = new HashMap<>();
+
+    // state of the VEVENT being read
+    private boolean inEvent;
+    private int nestedDepth;
+    private String summary;
+    private String start;
+    private String startZone;
+    private String end;
+    private String endZone;
+    private String duration;
+    private boolean inAlarm;
+    private String trigger;
+
+    private long imported;
+    private long skipped;
+
+    /**
+     * Creates a reader converting times to the system time zone.
+     *
+     * @param batchSize number of events handed over at once
+     */
+    public ICalReader(int batchSize) {
+        this(batchSize, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates a reader converting times to the given time zone.
+     *
+     * @param batchSize number of events handed over at once
+     * @param localZone time zone of the calendar
+     */
+    public ICalReader(int batchSize, ZoneId localZone) {
+        this.batchSize = batchSize;
+        this.localZone = localZone;
+    }
+
+    /**
+     * Reads all events of a calendar.
+     *
+     * @param in the iCalendar text (must not be null)
+     * @param sink receives the events, at most {@code batchSize} at a time; the list is not reused
+     * @return the number of imported events
+     * @throws IOException if reading fails
+     */
+    public long read(Reader in, Consumer<List<Event>> sink) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 1 << 16);
+        List<Event> batch = new ArrayList<>(batchSize);
+        StringBuilder logical = new StringBuilder(128);
+        imported = 0;
+        skipped = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // folded line: continues the previous one without its first space or tab
+            if (!line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                logical.append(line, 1, line.length());
+                continue;
+            }
+            if (logical.length() > 0) {
+                processLine(logical, batch, sink);
+            }
+            logical.setLength(0);
+            logical.append(line);
+        }
+        if (logical.length() > 0) {
+            processLine(logical, batch, sink);
+        }
+
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+        return imported;
+    }
+
+    /**
+     * Returns the number of events skipped by the last {@link #read(Reader, Consumer)}.
+     *
+     * @return the number of skipped events
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    private void processLine(CharSequence line, List<Event> batch, Consumer<List<Event>> sink) {
+        String text = line.toString();
+        int colon = valueSeparator(text);
+        if (colon < 0) {
+            return;
+        }
+        int semicolon = text.indexOf(';');
+        int nameEnd = semicolon >= 0 && semicolon < colon ? semicolon : colon;
+        String name = text.substring(0, nameEnd).toUpperCase();
+        String value = text.substring(colon + 1);
+
+        if (name.equals("BEGIN")) {
+            if (inEvent) {
+                nestedDepth++;
+                inAlarm = nestedDepth == 1 && value.equalsIgnoreCase("VALARM");
+            } else if (value.equalsIgnoreCase("VEVENT")) {
+                inEvent = true;
+                summary = start = startZone = end = endZone = duration = trigger = null;
+            }
+            return;
+        }
+        if (name.equals("END")) {
+            if (nestedDepth > 0) {
+                nestedDepth--;
+                inAlarm = false;
+            } else if (inEvent && value.equalsIgnoreCase("VEVENT")) {
+                inEvent = false;
+                finishEvent(batch, sink);
+            }
+            return;
+        }
+        if (inAlarm && trigger == null && name.equals("TRIGGER")
+                && parameter(text, nameEnd, colon, "VALUE") == null
+                && !"END".equalsIgnoreCase(parameter(text, nameEnd, colon, "RELATED"))) {
+            trigger = value;
+            return;
+        }
+        // other properties of VALARM and other components inside the event are ignored
+        if (!inEvent || nestedDepth > 0) {
+            return;
+        }
+
+        switch (name) {
+            case "SUMMARY":
+                summary = unescape(value);
+                break;
+            case "DTSTART":
+                start = value;
+                startZone = parameter(text, nameEnd, colon, "TZID");
+                break;
+            case "DTEND":
+                end = value;
+                endZone = parameter(text, nameEnd, colon, "TZID");
+                break;
+            case "DURATION":
+                duration = value;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void finishEvent(List<Event> batch, Consumer<List<Event>> sink) {
+        Event event;
+        try {
+            event = toEvent();
+        } catch (DateTimeException | IllegalArgumentException e) {
+            event = null;
+        }
+        if (event == null) {
+            skipped++;
+            return;
+        }
+
+        batch.add(event);
+        imported++;
+        if (batch.size() == batchSize) {
+            sink.accept(new ArrayList<>(batch));
+            batch.clear();
+        }
+    }
+
+    private Event toEvent() {
+        Event event = toPlainEvent();
+        if (event == null || trigger == null) {
+            return event;
+        }
+        // only reminders before the start, e.g. -PT15M
+        long minutes = -parseDurationMinutes(trigger);
+        return minutes >= 0 && minutes <= Integer.MAX_VALUE ? event.withReminder((int) minutes) : event;
+    }
+
+    private Event toPlainEvent() {
+        if (start == null) {
+            return null;
+        }
+        String description = summary == null || summary.isBlank() ? UNTITLED : summary;
+
+        if (start.length() == 8) {
+            LocalDate date = parseDate(start);
+            if (end != null && end.length() == 8) {
+                // DTEND of a whole day event is exclusive
+                LocalDate last = parseDate(end).minusDays(1);
+                return last.isAfter(date) ? new Event(date, last, description) : new Event(date, description);
+            }
+            if (duration != null) {
+                long days = parseDurationMinutes(duration) / (24 * 60);
+                return days > 1 ? new Event(date, date.plusDays(days - 1), description) : new Event(date, description);
+            }
+            return new Event(date, description);
+        }
+
+        LocalDateTime startTime = parseDateTime(start, startZone);
+        long minutes;
+        if (end != null) {
+            minutes = Duration.between(startTime, parseDateTime(end, endZone)).toMinutes();
+        } else if (duration != null) {
+            minutes = parseDurationMinutes(duration);
+        } else {
+            minutes = 0;
+        }
+        if (minutes <= 0) {
+            return new Event(startTime.toLocalDate(), description);
+        }
+        return new Event(startTime.toLocalDate(), description, startTime.toLocalTime(), (int) Math.min(minutes, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Parses {@code yyyyMMdd}.
+     */
+    private static LocalDate parseDate(String value) {
+        return LocalDate.of(digits(value, 0, 4), digits(value, 4, 6), digits(value, 6, 8));
+    }
+
+    /**
+     * Parses {@code yyyyMMddTHHmmss} with an optional {@code Z}, converting to the local time zone.
+     */
+    private LocalDateTime parseDateTime(String value, String zone) {
+        if (value.length() == 8) {
+            return parseDate(value).atStartOfDay();
+        }
+        if (value.length() < 15 || value.charAt(8) != 'T') {
+            throw new IllegalArgumentException("Nieprawidłowa data i godzina: " + value);
+        }
+        LocalDateTime time = LocalDateTime.of(digits(value, 0, 4), digits(value, 4, 6), digits(value, 6, 8),
+                digits(value, 9, 11), digits(value, 11, 13), digits(value, 13, 15));
+
+        ZoneId source = null;
+        if (value.length() > 15 && value.charAt(15) == 'Z') {
+            source = ZoneOffset.UTC;
+        } else if (zone != null) {
+            source = zone(zone);
+        }
+        // floating times and unknown zones are taken as local
+        return source == null ? time : time.atZone(source).withZoneSameInstant(localZone).toLocalDateTime();
+    }
+
+    private ZoneId zone(String id) {
+        return zones.computeIfAbsent(id, key -> {
+            try {
+                return ZoneId.of(key);
+            } catch (DateTimeException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Parses a duration such as {@code P1D}, {@code PT1H30M} or {@code P2W}.
+     */
+    static long parseDurationMinutes(String value) {
+        long minutes = 0;
+        long number = 0;
+        boolean negative = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                number = number * 10 + (c - '0');
+                continue;
+            }
+            switch (c) {
+                case '-':
+                    negative = true;
+                    break;
+                case 'W':
+                    minutes += number * 7 * 24 * 60;
+                    break;
+                case 'D':
+                    minutes += number * 24 * 60;
+                    break;
+                case 'H':
+                    minutes += number * 60;
+                    break;
+                case 'M':
+                    minutes += number;
+                    break;
+                default:
+                    // P, T, + and seconds, which are dropped
+                    break;
+            }
+            number = 0;
+        }
+        return negative ? -minutes : minutes;
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Nieprawidłowa data: " + value);
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * Finds the colon between the property name with its parameters and the value;
+     * colons inside quoted parameter values do not count.
+     */
+    private static int valueSeparator(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String parameter(String line, int from, int to, String name) {
+        if (from >= to) {
+            return null;
+        }
+        for (String parameter : line.substring(from + 1, to).split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).equalsIgnoreCase(name)) {
+                String value = parameter.substring(equals + 1);
+                return value.startsWith("\"") && value.endsWith("\"") && value.length() > 1
+                        ? value.substring(1, value.length() - 1) : value;
+            }
+        }
+        return null;
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                if (next == 'n' || next == 'N') {
+                    result.append(' ');
+                } else {
+                    result.append(next);
+                }
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package com.calendar.ICal;
+
+import com.calendar.Event.Event;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Streaming writer of iCalendar (RFC 5545) files.
+ * <p>
+ *     Writes each event as soon as it is given, as a {@code VEVENT} with {@code UID},
+ *     {@code DTSTAMP}, {@code DTSTART}, {@code DTEND} and {@code SUMMARY}. Whole day events use
+ *     date values, timed events floating local times. A reminder is written as a {@code VALARM}
+ *     triggered before the start. Lines longer than 75 bytes are folded.
+ *     The caller owns the {@link Writer} and should buffer it.
+ * </p>
+ *
+ * @see ICalReader
+ */
+public class ICalWriter {
+
+    private static final int MAX_LINE_BYTES = 75;
+
+    private final Writer out;
+    private final String timestamp;
+    private final StringBuilder line = new StringBuilder(128);
+    private long written;
+
+    /**
+     * Creates a writer and writes the calendar header.
+     *
+     * @param out the destination (must not be null)
+     * @throws IOException if writing fails
+     */
+    public ICalWriter(Writer out) throws IOException {
+        this.out = out;
+        this.timestamp = formatDateTime(LocalDateTime.now(ZoneOffset.UTC)) + "Z";
+
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//com.calendar//Calendar//PL");
+        writeLine("CALSCALE:GREGORIAN");
+    }
+
+    /**
+     * Writes one event.
+     *
+     * @param event the event (must not be null)
+     * @throws IOException if writing fails
+     */
+    public void write(Event event) throws IOException {
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:" + (++written) + "-" + Integer.toHexString(event.hashCode()) + "@calendar");
+        writeLine("DTSTAMP:" + timestamp);
+        if (event.isTimed()) {
+            writeLine("DTSTART:" + formatDateTime(event.getStart()));
+            writeLine("DTEND:" + formatDateTime(event.getEnd()));
+        } else {
+            // the end of a whole day event is exclusive
+            writeLine("DTSTART;VALUE=DATE:" + formatDate(event.getDate()));
+            writeLine("DTEND;VALUE=DATE:" + formatDate(event.getEndDate().plusDays(1)));
+        }
+        writeLine("SUMMARY:" + escape(event.getDescription()));
+        if (event.hasReminder()) {
+            writeLine("BEGIN:VALARM");
+            writeLine("ACTION:DISPLAY");
+            writeLine("DESCRIPTION:" + escape(event.getDescription()));
+            writeLine("TRIGGER:-PT" + event.getReminderMinutes() + "M");
+            writeLine("END:VALARM");
+        }
+        writeLine("END:VEVENT");
+    }
+
+    /**
+     * Writes the calendar footer and flushes; the writer is not closed.
+     *
+     * @return the number of written events
+     * @throws IOException if writing fails
+     */
+    public long finish() throws IOException {
+        writeLine("END:VCALENDAR");
+        out.flush();
+        return written;
+    }
+
+    private void writeLine(String content) throws IOException {
+        line.setLength(0);
+        int bytes = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            // a surrogate pair takes 4 bytes, all counted on its first char
+            int size = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isHighSurrogate(c) ? 4 : Character.isLowSurrogate(c) ? 0 : 3;
+            // folding: CRLF followed by a space, never inside a surrogate pair
+            if (bytes + size > MAX_LINE_BYTES && !Character.isLowSurrogate(c)) {
+                line.append("\r\n ");
+                bytes = 1;
+            }
+            line.append(c);
+            bytes += size;
+        }
+        line.append("\r\n");
+        out.append(line);
+    }
+
+    private static String escape(String text) {
+        StringBuilder result = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                result.append('\\');
+            }
+            if (c == '\n') {
+                result.append("\\n");
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static String formatDate(LocalDate date) {
+        StringBuilder text = new StringBuilder(8);
+        appendPadded(text, date.getYear(), 4);
+        appendPadded(text, date.getMonthValue(), 2);
+        appendPadded(text, date.getDayOfMonth(), 2);
+        return text.toString();
+    }
+
+    private static String formatDateTime(LocalDateTime time) {
+        StringBuilder text = new StringBuilder(15).append(formatDate(time.toLocalDate())).append('T');
+        appendPadded(text, time.getHour(), 2);
+        appendPadded(text, time.getMinute(), 2);
+        appendPadded(text, time.getSecond(), 2);
+        return text.toString();
+    }
+
+    private static void appendPadded(StringBuilder text, int value, int width) {
+        String digits = Integer.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            text.append('0');
+        }
+        text.append(digits);
+    }
+}
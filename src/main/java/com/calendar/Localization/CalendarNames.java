@@ -0,0 +1,233 @@
+package com.calendar.Localization;
+
+import java.time.DayOfWeek;
+import java.time.format.TextStyle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable table of month and weekday names for one language.
+ * <p>
+ *     Polish, English and German are defined here; any other language is filled once from the
+ *     JDK locale data. Tables are created on first use and shared afterwards, so looking up a name
+ *     never allocates. The language of the application is taken from the
+ *     {@code calendar.locale} system property (a language tag, Polish by default).
+ * </p>
+ * <p>
+ *     The {@code append...} methods write formatted dates into a caller supplied
+ *     {@link StringBuilder}, which avoids parsing a format string on every call.
+ * </p>
+ */
+public final class CalendarNames {
+
+    /**
+     * System property with the language tag of the application, e.g. {@code en} or {@code de}.
+     */
+    public static final String LOCALE_PROPERTY = "calendar.locale";
+
+    private static final Map<String, CalendarNames> TABLES = new ConcurrentHashMap<>();
+    private static volatile CalendarNames defaultNames;
+
+    private final Locale locale;
+    private final String[] months;
+    private final String[] monthsGenitive;
+    private final String[] monthsShort;
+    private final String[] weekdays;
+    private final String[] weekdaysShort;
+    private final String daySuffix;
+
+    private CalendarNames(Locale locale, String[] months, String[] monthsGenitive, String[] monthsShort,
+                          String[] weekdays, String[] weekdaysShort, String daySuffix) {
+        this.locale = locale;
+        this.months = months;
+        this.monthsGenitive = monthsGenitive;
+        this.monthsShort = monthsShort;
+        this.weekdays = weekdays;
+        this.weekdaysShort = weekdaysShort;
+        this.daySuffix = daySuffix;
+    }
+
+    /**
+     * Returns the names for the language chosen by {@value #LOCALE_PROPERTY}.
+     *
+     * @return the names of the application language
+     */
+    public static CalendarNames getDefault() {
+        CalendarNames names = defaultNames;
+        if (names == null) {
+            names = forLocale(Locale.forLanguageTag(System.getProperty(LOCALE_PROPERTY, "pl")));
+            defaultNames = names;
+        }
+        return names;
+    }
+
+    /**
+     * Returns the names for the language of a locale. Only the language part of the locale is used.
+     *
+     * @param locale the locale
+     * @return the shared table for the language
+     */
+    public static CalendarNames forLocale(Locale locale) {
+        return TABLES.computeIfAbsent(locale.getLanguage(), CalendarNames::create);
+    }
+
+    private static CalendarNames create(String language) {
+        switch (language) {
+            case "pl":
+                return new CalendarNames(new Locale("pl"),
+                        new String[]{"Styczeń", "Luty", "Marzec", "Kwiecień", "Maj", "Czerwiec",
+                                "Lipiec", "Sierpień", "Wrzesień", "Październik", "Listopad", "Grudzień"},
+                        new String[]{"stycznia", "lutego", "marca", "kwietnia", "maja", "czerwca",
+                                "lipca", "sierpnia", "września", "października", "listopada", "grudnia"},
+                        new String[]{"Sty", "Lut", "Mar", "Kwi", "Maj", "Cze",
+                                "Lip", "Sie", "Wrz", "Paź", "Lis", "Gru"},
+                        new String[]{"Poniedziałek", "Wtorek", "Środa", "Czwartek", "Piątek", "Sobota", "Niedziela"},
+                        new String[]{"Pn", "Wt", "Śr", "Cz", "Pt", "So", "Nd"},
+                        "");
+            case "en":
+                String[] englishMonths = {"January", "February", "March", "April", "May", "June",
+                        "July", "August", "September", "October", "November", "December"};
+                return new CalendarNames(Locale.ENGLISH, englishMonths, englishMonths,
+                        new String[]{"Jan", "Feb", "Mar", "Apr", "May", "Jun",
+                                "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"},
+                        new String[]{"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"},
+                        new String[]{"Mo", "Tu", "We", "Th", "Fr", "Sa", "Su"},
+                        "");
+            case "de":
+                String[] germanMonths = {"Januar", "Februar", "März", "April", "Mai", "Juni",
+                        "Juli", "August", "September", "Oktober", "November", "Dezember"};
+                return new CalendarNames(Locale.GERMAN, germanMonths, germanMonths,
+                        new String[]{"Jan", "Feb", "Mär", "Apr", "Mai", "Jun",
+                                "Jul", "Aug", "Sep", "Okt", "Nov", "Dez"},
+                        new String[]{"Montag", "Dienstag", "Mittwoch", "Donnerstag", "Freitag", "Samstag", "Sonntag"},
+                        new String[]{"Mo", "Di", "Mi", "Do", "Fr", "Sa", "So"},
+                        ".");
+            default:
+                return fromJdk(Locale.forLanguageTag(language));
+        }
+    }
+
+    private static CalendarNames fromJdk(Locale locale) {
+        String[] months = new String[12];
+        String[] monthsGenitive = new String[12];
+        String[] monthsShort = new String[12];
+        for (int i = 0; i < 12; i++) {
+            java.time.Month month = java.time.Month.of(i + 1);
+            months[i] = capitalize(month.getDisplayName(TextStyle.FULL_STANDALONE, locale), locale);
+            monthsGenitive[i] = month.getDisplayName(TextStyle.FULL, locale);
+            monthsShort[i] = capitalize(month.getDisplayName(TextStyle.SHORT_STANDALONE, locale), locale);
+        }
+
+        String[] weekdays = new String[7];
+        String[] weekdaysShort = new String[7];
+        for (int i = 0; i < 7; i++) {
+            DayOfWeek day = DayOfWeek.of(i + 1);
+            weekdays[i] = capitalize(day.getDisplayName(TextStyle.FULL_STANDALONE, locale), locale);
+            weekdaysShort[i] = capitalize(day.getDisplayName(TextStyle.SHORT_STANDALONE, locale), locale);
+        }
+        return new CalendarNames(locale, months, monthsGenitive, monthsShort, weekdays, weekdaysShort, "");
+    }
+
+    private static String capitalize(String name, Locale locale) {
+        return name.isEmpty() ? name : name.substring(0, 1).toUpperCase(locale) + name.substring(1);
+    }
+
+    /**
+     * Returns the locale of this table.
+     *
+     * @return the locale
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Returns the name of a month as used on its own, e.g. in a header.
+     *
+     * @param monthNumber the number of the month (1 for January, 12 for December)
+     * @return the month name
+     */
+    public String getMonthName(int monthNumber) {
+        return months[monthNumber - 1];
+    }
+
+    /**
+     * Returns the name of a month as used after a day number; differs from
+     * {@link #getMonthName(int)} in languages with grammatical cases.
+     *
+     * @param monthNumber the number of the month (1 for January, 12 for December)
+     * @return the month name
+     */
+    public String getMonthNameGenitive(int monthNumber) {
+        return monthsGenitive[monthNumber - 1];
+    }
+
+    /**
+     * Returns the abbreviated name of a month.
+     *
+     * @param monthNumber the number of the month (1 for January, 12 for December)
+     * @return the abbreviation
+     */
+    public String getMonthShortName(int monthNumber) {
+        return monthsShort[monthNumber - 1];
+    }
+
+    /**
+     * Returns the name of a weekday.
+     *
+     * @param dayOfWeek the day of the week, 0 for Monday up to 6 for Sunday
+     * @return the weekday name
+     */
+    public String getWeekdayName(int dayOfWeek) {
+        return weekdays[dayOfWeek];
+    }
+
+    /**
+     * Returns the abbreviated name of a weekday.
+     *
+     * @param dayOfWeek the day of the week, 0 for Monday up to 6 for Sunday
+     * @return the abbreviation
+     */
+    public String getWeekdayShortName(int dayOfWeek) {
+        return weekdaysShort[dayOfWeek];
+    }
+
+    /**
+     * Appends a day with its month, e.g. {@code 5 stycznia}.
+     *
+     * @param out the builder to append to
+     * @param day the day of the month
+     * @param monthNumber the number of the month
+     * @return {@code out}
+     */
+    public StringBuilder appendDayAndMonth(StringBuilder out, int day, int monthNumber) {
+        return out.append(day).append(daySuffix).append(' ').append(getMonthNameGenitive(monthNumber));
+    }
+
+    /**
+     * Appends a full date with the month name, e.g. {@code 5 Styczeń 2024}.
+     *
+     * @param out the builder to append to
+     * @param day the day of the month
+     * @param monthNumber the number of the month
+     * @param year the year
+     * @return {@code out}
+     */
+    public StringBuilder appendDate(StringBuilder out, int day, int monthNumber, int year) {
+        return out.append(day).append(daySuffix).append(' ').append(getMonthName(monthNumber))
+                .append(' ').append(year);
+    }
+
+    /**
+     * Appends a month with its year, e.g. {@code Styczeń 2024}.
+     *
+     * @param out the builder to append to
+     * @param monthNumber the number of the month
+     * @param year the year
+     * @return {@code out}
+     */
+    public StringBuilder appendMonthAndYear(StringBuilder out, int monthNumber, int year) {
+        return out.append(getMonthName(monthNumber)).append(' ').append(year);
+    }
+}
@@ -0,0 +1,333 @@
+package com.calendar.Merge;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVParser;
+import com.calendar.Event.EventCSVWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Merges CSV events files into one, dropping duplicates.
+ * <p>
+ *     Every input is cut into runs of {@code chunkSize} events sorted by date and written to
+ *     temporary files, so inputs larger than the heap can be merged. The runs of all inputs are
+ *     then merged in one pass ordered by date, input and run; events of one day keep the order of
+ *     their files, those of the first input coming first. Two events are duplicates if they are
+ *     {@link Event#equals(Object) equal}, which needs the same date, so only the events of the
+ *     current day are held in a hash set.
+ * </p>
+ * <p>
+ *     The first input is the base, usually the calendar being merged into; it may also be the
+ *     output. The report lists the events of the merged file missing from the base
+ *     ({@code + line}) and the duplicates dropped from the base ({@code - line}).
+ * </p>
+ * <p>
+ *     Malformed lines are skipped and reported on the error output with their file and line
+ *     number, as when events are loaded, so one bad line does not stop the merge. They are
+ *     counted by {@link MergeResult#getSkipped()} and are not written to the merged file.
+ * </p>
+ */
+public class EventMerger {
+
+    /**
+     * Number of events sorted in memory at a time by default.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 200_000;
+
+    private final int chunkSize;
+    private final EventCSVParser parser = new EventCSVParser();
+
+    public EventMerger() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize number of events sorted in memory at a time
+     */
+    public EventMerger(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Rozmiar porcji musi być dodatni: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Merges events files.
+     *
+     * @param inputs the files to merge, the base first
+     * @param output the merged file, replaced when the merge is complete
+     * @param report receives the differences between the base and the merged file, may be null
+     * @return the numbers of read, written, added and removed events
+     * @throws IOException if a file cannot be read or written
+     */
+    public MergeResult merge(List<Path> inputs, Path output, PrintWriter report) throws IOException {
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("Brak plików do scalenia");
+        }
+        List<Run> runs = new ArrayList<>();
+        Path temp = null;
+        try {
+            Counts counts = new Counts();
+            for (int input = 0; input < inputs.size(); input++) {
+                split(inputs.get(input), input, runs, counts);
+            }
+            Path directory = output.toAbsolutePath().getParent();
+            temp = Files.createTempFile(directory, "events-merge", ".csv");
+            MergeResult result = mergeRuns(runs, temp, report, counts);
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return result;
+        } finally {
+            for (Run run : runs) {
+                Files.deleteIfExists(run.file);
+            }
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Cuts an input into sorted runs, counting the events read and the lines skipped.
+     */
+    private void split(Path input, int inputIndex, List<Run> runs, Counts counts) throws IOException {
+        List<Line> chunk = new ArrayList<>(Math.min(chunkSize, 1 << 16));
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String text;
+            long number = 0;
+            while ((text = reader.readLine()) != null) {
+                number++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                Event event = parseOrReport(text, input, number);
+                if (event == null) {
+                    counts.skipped++;
+                    continue;
+                }
+                chunk.add(new Line(event));
+                counts.read++;
+                if (chunk.size() == chunkSize) {
+                    runs.add(writeRun(chunk, inputIndex));
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            runs.add(writeRun(chunk, inputIndex));
+        }
+    }
+
+    /**
+     * Parses a line like {@link EventCSVParser#parseOrReport(String, long)}, naming the file in
+     * the report since several are read.
+     *
+     * @return the event, or null if the line is malformed
+     */
+    private Event parseOrReport(String text, Path input, long number) {
+        try {
+            return parser.parseFrom(text);
+        } catch (DateTimeException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Pominięto nieprawidłowy wiersz " + number + " w pliku " + input
+                    + " (" + e.getMessage() + "): " + text);
+            return null;
+        }
+    }
+
+    private static Run writeRun(List<Line> chunk, int input) throws IOException {
+        // stable, so events of one day keep the order of the file
+        chunk.sort(Comparator.comparingLong(line -> line.day));
+        Run run = new Run(Files.createTempFile("events-merge-run", ".csv"), input);
+        try (BufferedWriter writer = Files.newBufferedWriter(run.file, StandardCharsets.UTF_8)) {
+            for (Line line : chunk) {
+                writer.write(EventCSVWriter.toCsvLine(line.event));
+                writer.write('\n');
+            }
+        }
+        return run;
+    }
+
+    private MergeResult mergeRuns(List<Run> runs, Path target, PrintWriter report, Counts counts) throws IOException {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.<Head>comparingLong(head -> head.line.day)
+                .thenComparingInt(head -> head.run.input).thenComparingInt(head -> head.index));
+        List<BufferedReader> readers = new ArrayList<>();
+        long written = 0;
+        long added = 0;
+        long removed = 0;
+
+        try (BufferedWriter out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < runs.size(); i++) {
+                BufferedReader reader = Files.newBufferedReader(runs.get(i).file, StandardCharsets.UTF_8);
+                readers.add(reader);
+                Head head = next(reader, runs.get(i), i);
+                if (head != null) {
+                    heads.add(head);
+                }
+            }
+
+            long day = Long.MIN_VALUE;
+            Set<Event> seen = new HashSet<>();
+            Map<Event, Integer> base = new HashMap<>();
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                Event event = head.line.event;
+                if (head.line.day != day) {
+                    day = head.line.day;
+                    seen.clear();
+                    base.clear();
+                }
+
+                String text = EventCSVWriter.toCsvLine(event);
+                if (head.run.input == 0) {
+                    // the base comes first within a day
+                    if (base.merge(event, 1, Integer::sum) > 1) {
+                        removed++;
+                        if (report != null) {
+                            report.println("- " + text);
+                        }
+                    }
+                } else if (!base.containsKey(event) && !seen.contains(event)) {
+                    added++;
+                    if (report != null) {
+                        report.println("+ " + text);
+                    }
+                }
+                if (seen.add(event)) {
+                    out.write(text);
+                    out.write('\n');
+                    written++;
+                }
+
+                Head next = next(head.reader, head.run, head.index);
+                if (next != null) {
+                    heads.add(next);
+                }
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+        return new MergeResult(counts.read, written, added, removed, counts.skipped);
+    }
+
+    private Head next(BufferedReader reader, Run run, int index) throws IOException {
+        String text = reader.readLine();
+        return text == null ? null : new Head(new Line(parser.parseFrom(text)), reader, run, index);
+    }
+
+    /**
+     * Numbers of events of a merge.
+     */
+    public static final class MergeResult {
+        private final long read;
+        private final long written;
+        private final long added;
+        private final long removed;
+        private final long skipped;
+
+        private MergeResult(long read, long written, long added, long removed, long skipped) {
+            this.read = read;
+            this.written = written;
+            this.added = added;
+            this.removed = removed;
+            this.skipped = skipped;
+        }
+
+        /**
+         * @return events read from all inputs
+         */
+        public long getRead() {
+            return read;
+        }
+
+        /**
+         * @return events in the merged file
+         */
+        public long getWritten() {
+            return written;
+        }
+
+        /**
+         * @return duplicates dropped from all inputs
+         */
+        public long getDuplicates() {
+            return read - written;
+        }
+
+        /**
+         * @return events of the merged file missing from the base
+         */
+        public long getAdded() {
+            return added;
+        }
+
+        /**
+         * @return duplicates dropped from the base
+         */
+        public long getRemoved() {
+            return removed;
+        }
+
+        /**
+         * @return malformed lines skipped in all inputs
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+    }
+
+    private static final class Counts {
+        private long read;
+        private long skipped;
+    }
+
+    private static final class Line {
+        private final Event event;
+        private final long day;
+
+        private Line(Event event) {
+            this.event = event;
+            this.day = event.getDate().toEpochDay();
+        }
+    }
+
+    private static final class Run {
+        private final Path file;
+        private final int input;
+
+        private Run(Path file, int input) {
+            this.file = file;
+            this.input = input;
+        }
+    }
+
+    private static final class Head {
+        private final Line line;
+        private final BufferedReader reader;
+        private final Run run;
+        private final int index;
+
+        private Head(Line line, BufferedReader reader, Run run, int index) {
+            this.line = line;
+            this.reader = reader;
+            this.run = run;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.calendar.Metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process registry of operation metrics.
+ * <p>
+ *     Instrumented classes look up their {@link OperationMetrics} once and keep it in a static
+ *     field, so recording never touches the registry map. Starting the application with
+ *     {@code -Dcalendar.metrics.summary=true} prints a summary of all operations on exit.
+ * </p>
+ * This class cannot be instantiated.
+ */
+public final class MetricsRegistry {
+
+    private static final String SUMMARY_PROPERTY = "calendar.metrics.summary";
+    private static final Map<String, OperationMetrics> operations = new ConcurrentSkipListMap<>();
+
+    static {
+        if (Boolean.getBoolean(SUMMARY_PROPERTY)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> printSummary(System.err), "metrics-summary"));
+        }
+    }
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Returns metrics of the named operation, creating them on first use.
+     *
+     * @param name operation name, e.g. {@code "eventManager.loadEvents"}
+     * @return metrics shared by all callers using the same name
+     */
+    public static OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    /**
+     * Tells whether Flight Recorder runs in this JVM, e.g. after {@code -XX:StartFlightRecording}
+     * or {@code jcmd <pid> JFR.start}. Until then the probes time into {@link OperationMetrics}
+     * only and never create a JFR event, whose first use sets up the recorder (about half a second).
+     *
+     * @return {@code true} once Flight Recorder has been started
+     */
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized();
+    }
+
+    /**
+     * Prints one line per operation with call count, latency percentiles and totals.
+     *
+     * @param out the stream to print to
+     */
+    public static void printSummary(PrintStream out) {
+        out.printf("%-36s %8s %10s %10s %10s %10s %10s %12s%n",
+                "operacja", "liczba", "śr. ms", "p50 ms", "p99 ms", "max ms", "wydarzenia", "bajty");
+
+        for (OperationMetrics metrics : operations.values()) {
+            LatencyHistogram latency = metrics.getLatency();
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            out.printf("%-36s %8d %10.3f %10.3f %10.3f %10.3f %10d %12d%n",
+                    metrics.getName(),
+                    latency.getCount(),
+                    latency.getMeanNanos() / 1e6,
+                    latency.getPercentileNanos(50) / 1e6,
+                    latency.getPercentileNanos(99) / 1e6,
+                    latency.getMaxNanos() / 1e6,
+                    metrics.getEvents(),
+                    metrics.getBytes());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.calendar.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one instrumented operation: latency histogram plus the number of processed
+ * events and bytes.
+ *
+ * @see MetricsRegistry#operation(String)
+ */
+public class OperationMetrics {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one execution of the operation.
+     *
+     * @param nanos duration in nanoseconds
+     * @param eventCount number of processed events
+     * @param byteCount number of read or written bytes
+     */
+    public void record(long nanos, long eventCount, long byteCount) {
+        latency.record(nanos);
+        events.add(eventCount);
+        bytes.add(byteCount);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getEvents() {
+        return events.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+}
@@ -0,0 +1,90 @@
+package com.calendar.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Timing of loading and saving events, also emitted as a Java Flight Recorder event.
+ * <p>
+ *     Usage:
+ *     <pre>
+ *         PersistenceEvent probe = PersistenceEvent.start(LOAD_METRICS);
+ *         ...
+ *         probe.finish(events.size(), bytes);
+ *     </pre>
+ *     {@link #finish(int, long)} always updates the in-process {@link OperationMetrics}. The JFR
+ *     event ({@code com.calendar.Persistence}) is created only once Flight Recorder runs, see
+ *     {@link MetricsRegistry#isRecording()}, and committed only when a recording with this event
+ *     enabled is running.
+ * </p>
+ */
+public final class PersistenceEvent {
+
+    private final OperationMetrics metrics;
+    private final long startNanos;
+    private final Recorded recorded;
+
+    private PersistenceEvent(OperationMetrics metrics, Recorded recorded) {
+        this.metrics = metrics;
+        this.recorded = recorded;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @param metrics metrics of the operation
+     * @return the started probe
+     */
+    public static PersistenceEvent start(OperationMetrics metrics) {
+        Recorded recorded = null;
+        if (MetricsRegistry.isRecording()) {
+            recorded = new Recorded();
+            recorded.begin();
+        }
+        return new PersistenceEvent(metrics, recorded);
+    }
+
+    /**
+     * Stops timing and records the result.
+     *
+     * @param eventCount number of processed calendar events
+     * @param bytes number of read or written bytes
+     */
+    public void finish(int eventCount, long bytes) {
+        metrics.record(System.nanoTime() - startNanos, eventCount, bytes);
+
+        if (recorded != null) {
+            recorded.end();
+            if (recorded.shouldCommit()) {
+                recorded.operation = metrics.getName();
+                recorded.eventCount = eventCount;
+                recorded.bytes = bytes;
+                recorded.commit();
+            }
+        }
+    }
+
+    @Name("com.calendar.Persistence")
+    @Label("Calendar Persistence")
+    @Category({"Calendar", "Persistence"})
+    @Description("Loading or saving calendar events")
+    @StackTrace(false)
+    static final class Recorded extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Event Count")
+        int eventCount;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+}
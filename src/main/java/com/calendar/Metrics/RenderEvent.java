@@ -0,0 +1,73 @@
+package com.calendar.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Timing of building parts of the user interface, also emitted as a Java Flight Recorder event
+ * ({@code com.calendar.Render}). Works the same way as {@link PersistenceEvent}.
+ */
+public final class RenderEvent {
+
+    private final OperationMetrics metrics;
+    private final long startNanos;
+    private final Recorded recorded;
+
+    private RenderEvent(OperationMetrics metrics, Recorded recorded) {
+        this.metrics = metrics;
+        this.recorded = recorded;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @param metrics metrics of the operation
+     * @return the started probe
+     */
+    public static RenderEvent start(OperationMetrics metrics) {
+        Recorded recorded = null;
+        if (MetricsRegistry.isRecording()) {
+            recorded = new Recorded();
+            recorded.begin();
+        }
+        return new RenderEvent(metrics, recorded);
+    }
+
+    /**
+     * Stops timing and records the result.
+     *
+     * @param itemCount number of rendered items
+     */
+    public void finish(int itemCount) {
+        metrics.record(System.nanoTime() - startNanos, itemCount, 0);
+
+        if (recorded != null) {
+            recorded.end();
+            if (recorded.shouldCommit()) {
+                recorded.operation = metrics.getName();
+                recorded.itemCount = itemCount;
+                recorded.commit();
+            }
+        }
+    }
+
+    @Name("com.calendar.Render")
+    @Label("Calendar Rendering")
+    @Category({"Calendar", "Rendering"})
+    @Description("Building the month grid, the event list or the event dialog")
+    @StackTrace(false)
+    static final class Recorded extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Item Count")
+        @Description("Number of rendered days, list items or events")
+        int itemCount;
+    }
+}
@@ -1,6 +1,7 @@
 package com.calendar.Month;
 
 import com.calendar.Calendar;
+import com.calendar.Localization.CalendarNames;
 
 /**
  * A utility class providing a static table of months and methods to retrieve month information,
@@ -16,43 +17,35 @@ public class MonthsTable {
     private static final Month[] months;
 
     /**
-     * Initializes the static {@code months} array with standard month data.
+     * February of a leap year, shared like the other months.
+     */
+    private static final Month leapFebruary;
+
+    private static final CalendarNames names = CalendarNames.getDefault();
+
+    /**
+     * Initializes the static {@code months} array with standard month data, named in the
+     * application language (see {@link CalendarNames}).
      * This block runs once when the class is loaded.
      */
     static {
-        months = new Month[] {
-                new Month(1, "Styczeń", 31), // January
-                new Month(2, "Luty", 28),    // February (standard)
-                new Month(3, "Marzec", 31),  // March
-                new Month(4, "Kwiecień", 30),// April
-                new Month(5, "Maj", 31),    // May
-                new Month(6, "Czerwiec", 30),// June
-                new Month(7, "Lipiec", 31),  // July
-                new Month(8, "Sierpień", 31),// August
-                new Month(9, "Wrzesień", 30),// September
-                new Month(10, "Październik", 31),// October
-                new Month(11, "Listopad", 30),// November
-                new Month(12, "Grudzień", 31) // December
-        };
-    }
+        final int[] days = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
 
-    private static final String[] monthsGenitive = {
-            "stycznia",
-            "lutego",
-            "marca",
-            "kwietnia",
-            "maja",
-            "czerwca",
-            "lipca",
-            "sierpnia",
-            "września",
-            "października",
-            "listopada",
-            "grudnia"
-    };
+        months = new Month[12];
+        for (int i = 0; i < months.length; i++) {
+            months[i] = new Month(i + 1, names.getMonthName(i + 1), days[i]);
+        }
+        leapFebruary = new Month(2, names.getMonthName(2), 29);
+    }
 
+    /**
+     * Returns the month name used after a day number, e.g. "stycznia".
+     *
+     * @param monthNumber The number of the month (1 for January, 12 for December).
+     * @return The month name in the application language.
+     */
     public static String getMonthNameGenitive(int monthNumber) {
-        return monthsGenitive[monthNumber - 1];
+        return names.getMonthNameGenitive(monthNumber);
     }
 
 
@@ -69,12 +62,8 @@ public class MonthsTable {
     }
 
     public static Month getMonth(int year, int monthNumber) {
-        if(monthNumber == 2) {
-            if(isLeapYear(year)) {
-                return new Month(2, "Luty", 29);
-            } else {
-                return months[monthNumber - 1];
-            }
+        if(monthNumber == 2 && isLeapYear(year)) {
+            return leapFebruary;
         }
         return months[monthNumber - 1];
     }
@@ -103,6 +92,42 @@ public class MonthsTable {
         return getDaysInMonth(yearNum, monthNum);
     }
 
+    /**
+     * Returns the number of days in a year.
+     *
+     * @param year The year.
+     * @return 366 for a leap year, 365 otherwise.
+     */
+    public static int getDaysInYear(int year) {
+        return isLeapYear(year) ? 366 : 365;
+    }
+
+    /**
+     * Calculates the day of the week using Zeller's congruence.
+     *
+     * @param year The year.
+     * @param monthNumber The number of the month (1 for January, 12 for December).
+     * @param day The day of the month.
+     * @return The day of the week, 0 for Monday up to 6 for Sunday.
+     */
+    public static int getDayOfWeek(int year, int monthNumber, int day) {
+        int m = monthNumber;
+        int y = year;
+
+        // January and February are counted as months 13 and 14 of the previous year
+        if (m < 3) {
+            m += 12;
+            y--;
+        }
+
+        int k = y % 100;
+        int j = y / 100;
+
+        // 0 = Saturday, 1 = Sunday, 2 = Monday, ...
+        int h = (day + (13 * (m + 1)) / 5 + k + (k / 4) + (j / 4) + 5 * j) % 7;
+        return (h + 5) % 7;
+    }
+
     /**
      * Checks if a given year is a leap year.
      * A year is a leap year if it is divisible by 4, unless it is divisible by 100
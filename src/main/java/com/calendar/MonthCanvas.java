@@ -0,0 +1,470 @@
+package com.calendar;
+
+import com.calendar.Event.Event;
+import com.calendar.Overlay.CalendarOverlay;
+import com.calendar.Overlay.NamedCalendar;
+import javafx.geometry.Point2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Month grid drawn on a single {@link Canvas}.
+ * <p>
+ *     Alternative to the grid of day {@code Label}s built by {@link CalendarController}: the days,
+ *     the today, event and holiday highlights and the first event titles of every day are painted directly,
+ *     events spanning several days are drawn as bars across the cells (see {@link SpanLayout}),
+ *     clicks are mapped to dates by arithmetic, and a refresh repaints only the cells whose content
+ *     changed. The layout and colours follow the {@code date-item} rules of {@code styles.css};
+ *     bars and the bullets of event titles take the colour of their calendar.
+ * </p>
+ */
+public class MonthCanvas extends Canvas {
+
+    static final double CELL_WIDTH = 150;
+    static final double CELL_HEIGHT = 130;
+    static final double GAP = 2;
+    static final double PADDING = 10;
+
+    private static final int COLUMNS = 7;
+    private static final int ROWS = 5;
+    private static final int MAX_PREVIEWS = 3;
+    private static final double LINE_HEIGHT = 17;
+    private static final int BAR_LANES = 2;
+    private static final double BAR_HEIGHT = 16;
+
+    private static final Color BORDER = Color.LIGHTGRAY;
+    private static final Color TODAY_BORDER = Color.GRAY;
+    private static final Color HOVER = Color.web("#bdbcbc");
+    private static final Color TODAY = Color.web("#F0DFAD");
+    private static final Color TODAY_HOVER = Color.web("#F7E6A6");
+    private static final Color EVENT = Color.web("#ADE8F4");
+    private static final Color EVENT_HOVER = Color.web("#7FD3F0");
+    private static final Color BAR_TEXT = Color.WHITE;
+    private static final Color TEXT = Color.web("#333333");
+    private static final Color HOLIDAY_TEXT = Color.web("#C0392B");
+
+    private static final Font DAY_FONT = Font.font(13);
+    private static final Font HOLIDAY_FONT = Font.font(null, FontWeight.BOLD, 13);
+    private static final Font PREVIEW_FONT = Font.font(11);
+
+    // what every cell currently shows on screen, null for an empty cell
+    private final CellState[] painted = new CellState[COLUMNS * ROWS];
+    private final CellState[] next = new CellState[COLUMNS * ROWS];
+    private final Map<String, Color> colors = new HashMap<>();
+
+    private int year;
+    private int month;
+    private int days;
+    private int hoveredDay;
+    private Consumer<LocalDate> onDayClicked = date -> { };
+
+    public MonthCanvas() {
+        super(2 * PADDING + COLUMNS * CELL_WIDTH + (COLUMNS - 1) * GAP,
+                2 * PADDING + ROWS * CELL_HEIGHT + (ROWS - 1) * GAP);
+        setId("month-canvas");
+
+        setOnMouseClicked(e -> {
+            int day = dayAt(e.getX(), e.getY());
+            if (day > 0) {
+                onDayClicked.accept(LocalDate.of(year, month, day));
+            }
+        });
+        setOnMouseMoved(e -> setHoveredDay(dayAt(e.getX(), e.getY())));
+        setOnMouseExited(e -> setHoveredDay(0));
+    }
+
+    /**
+     * Sets the action run when a day is clicked.
+     *
+     * @param onDayClicked receives the clicked date
+     */
+    public void setOnDayClicked(Consumer<LocalDate> onDayClicked) {
+        this.onDayClicked = Objects.requireNonNull(onDayClicked);
+    }
+
+    /**
+     * Shows a month and repaints the cells that differ from what is on screen.
+     *
+     * @param year the year
+     * @param month the month number (1-12)
+     * @param days number of days in the month
+     * @param highlightedDay the day shown as today, 0 for none
+     * @param holidayMask bit {@code d} set if day {@code d} is a public holiday
+     * @param eventsForDate returns the events starting on a date with their calendars (never null)
+     * @param spans events spanning several days that touch the month, ordered by their first day
+     * @return number of repainted cells
+     */
+    public int update(int year, int month, int days, int highlightedDay, int holidayMask,
+                      Function<LocalDate, List<CalendarOverlay.Entry>> eventsForDate, List<CalendarOverlay.Entry> spans) {
+        this.year = year;
+        this.month = month;
+        this.days = days;
+        if (hoveredDay > days) {
+            hoveredDay = 0;
+        }
+
+        List<Event> spanEvents = new ArrayList<>(spans.size());
+        Map<Event, Color> spanColors = new IdentityHashMap<>();
+        for (CalendarOverlay.Entry span : spans) {
+            spanEvents.add(span.getEvent());
+            spanColors.put(span.getEvent(), colorOf(span.getCalendar()));
+        }
+        SpanLayout layout = new SpanLayout(year, month, days, spanEvents, BAR_LANES);
+        List<List<Bar>> bars = new ArrayList<>(days + 1);
+        for (int day = 0; day <= days; day++) {
+            bars.add(new ArrayList<>(BAR_LANES));
+        }
+        for (SpanLayout.Segment segment : layout.getSegments()) {
+            for (int day = segment.firstDay; day <= segment.lastDay; day++) {
+                bars.get(day).add(new Bar(segment, day, spanColors.get(segment.event)));
+            }
+        }
+
+        Arrays.fill(next, null);
+        for (int day = 1; day <= days; day++) {
+            // spans are drawn as bars, the rest as text lines
+            int eventCount = 0;
+            List<Preview> previews = new ArrayList<>(MAX_PREVIEWS);
+            for (CalendarOverlay.Entry entry : eventsForDate.apply(LocalDate.of(year, month, day))) {
+                if (entry.getEvent().isMultiDay()) {
+                    continue;
+                }
+                if (previews.size() < MAX_PREVIEWS) {
+                    previews.add(new Preview(entry.getEvent().getDescription(), colorOf(entry.getCalendar())));
+                }
+                eventCount++;
+            }
+            next[day - 1] = new CellState(day, day == highlightedDay, (holidayMask >>> day & 1) != 0, eventCount, previews,
+                    bars.get(day), layout.getHiddenCount(day), day == hoveredDay);
+        }
+
+        int repainted = 0;
+        for (int cell = 0; cell < painted.length; cell++) {
+            if (!Objects.equals(painted[cell], next[cell])) {
+                paintCell(cell, next[cell]);
+                painted[cell] = next[cell];
+                repainted++;
+            }
+        }
+        return repainted;
+    }
+
+    /**
+     * Moves the today highlight within the shown month, repainting only the affected cells.
+     *
+     * @param highlightedDay the day shown as today, 0 for none
+     * @return number of repainted cells
+     */
+    public int setHighlightedDay(int highlightedDay) {
+        int repainted = 0;
+        for (int cell = 0; cell < days; cell++) {
+            boolean today = cell + 1 == highlightedDay;
+            if (painted[cell] != null && painted[cell].today != today) {
+                CellState state = painted[cell].withToday(today);
+                paintCell(cell, state);
+                painted[cell] = state;
+                repainted++;
+            }
+        }
+        return repainted;
+    }
+
+    /**
+     * Returns the centre of a day cell in the coordinates of this canvas.
+     *
+     * @param day the day of month
+     * @return the centre of the cell
+     */
+    public Point2D getCellCenter(int day) {
+        int cell = day - 1;
+        return new Point2D(cellX(cell) + CELL_WIDTH / 2, cellY(cell) + CELL_HEIGHT / 2);
+    }
+
+    /**
+     * Maps a point to the day under it.
+     *
+     * @return the day of month, or 0 for gaps, the padding and cells after the last day
+     */
+    private int dayAt(double x, double y) {
+        double gridX = x - PADDING;
+        double gridY = y - PADDING;
+        if (gridX < 0 || gridY < 0) {
+            return 0;
+        }
+
+        int column = (int) (gridX / (CELL_WIDTH + GAP));
+        int row = (int) (gridY / (CELL_HEIGHT + GAP));
+        boolean inGap = gridX - column * (CELL_WIDTH + GAP) >= CELL_WIDTH
+                || gridY - row * (CELL_HEIGHT + GAP) >= CELL_HEIGHT;
+        if (column >= COLUMNS || row >= ROWS || inGap) {
+            return 0;
+        }
+
+        int day = row * COLUMNS + column + 1;
+        return day <= days ? day : 0;
+    }
+
+    private void setHoveredDay(int day) {
+        if (day == hoveredDay) {
+            return;
+        }
+        repaintHover(hoveredDay, false);
+        hoveredDay = day;
+        repaintHover(hoveredDay, true);
+    }
+
+    private void repaintHover(int day, boolean hovered) {
+        if (day == 0 || painted[day - 1] == null) {
+            return;
+        }
+        CellState state = painted[day - 1].withHovered(hovered);
+        paintCell(day - 1, state);
+        painted[day - 1] = state;
+    }
+
+    private void paintCell(int cell, CellState state) {
+        GraphicsContext g = getGraphicsContext2D();
+        double x = cellX(cell);
+        double y = cellY(cell);
+        // the gap on the right belongs to the cell, bars continuing to the next day cross it
+        g.clearRect(x, y, CELL_WIDTH + GAP, CELL_HEIGHT);
+        if (state == null) {
+            return;
+        }
+
+        Color background = null;
+        if (state.today) {
+            background = state.hovered ? TODAY_HOVER : TODAY;
+        } else if (state.eventCount > 0) {
+            background = state.hovered ? EVENT_HOVER : EVENT;
+        } else if (state.hovered) {
+            background = HOVER;
+        }
+        if (background != null) {
+            g.setFill(background);
+            g.fillRect(x, y, CELL_WIDTH, CELL_HEIGHT);
+        }
+        if (state.today || state.eventCount == 0) {
+            g.setStroke(state.today ? TODAY_BORDER : BORDER);
+            g.setLineWidth(1);
+            g.strokeRect(x + 0.5, y + 0.5, CELL_WIDTH - 1, CELL_HEIGHT - 1);
+        }
+
+        for (Bar bar : state.bars) {
+            paintBar(g, x, y, bar);
+        }
+
+        g.setFill(state.holiday ? HOLIDAY_TEXT : TEXT);
+        g.setFont(state.holiday ? HOLIDAY_FONT : DAY_FONT);
+        g.setTextBaseline(VPos.CENTER);
+        g.setTextAlign(TextAlignment.CENTER);
+        int more = state.eventCount - state.previews.size() + state.hiddenSpans;
+        if (state.previews.isEmpty() && more == 0) {
+            g.fillText(String.valueOf(state.day), x + CELL_WIDTH / 2, y + CELL_HEIGHT / 2);
+            return;
+        }
+
+        g.fillText(String.valueOf(state.day), x + CELL_WIDTH / 2, y + 14);
+        g.setFill(TEXT);
+
+        // titles longer than the cell are cut off by the clip instead of measuring the text
+        g.save();
+        g.beginPath();
+        g.rect(x + 4, y, CELL_WIDTH - 8, CELL_HEIGHT);
+        g.clip();
+        g.setFont(PREVIEW_FONT);
+        g.setTextAlign(TextAlignment.LEFT);
+        double lineY = y + 14 + LINE_HEIGHT;
+        for (Preview preview : state.previews) {
+            g.setFill(preview.color);
+            g.fillText("•", x + 6, lineY);
+            g.setFill(TEXT);
+            g.fillText(preview.title, x + 15, lineY);
+            lineY += LINE_HEIGHT;
+        }
+        if (more > 0) {
+            g.fillText("+" + more + " więcej", x + 6, lineY);
+        }
+        g.restore();
+    }
+
+    /**
+     * Paints the part of a bar inside one cell. The title is positioned relative to the first
+     * cell of the segment and clipped to this cell, so the cells together show it uncut.
+     */
+    private void paintBar(GraphicsContext g, double x, double y, Bar bar) {
+        double barX = x;
+        double barWidth = CELL_WIDTH + (bar.lastInSegment ? 0 : GAP);
+        if (bar.startsHere) {
+            barX += 3;
+            barWidth -= 3;
+        }
+        if (bar.endsHere) {
+            barWidth -= 3;
+        }
+        double barY = y + CELL_HEIGHT - (bar.lane + 1) * (BAR_HEIGHT + 3);
+
+        g.setFill(bar.color);
+        g.fillRect(barX, barY, barWidth, BAR_HEIGHT);
+
+        g.save();
+        g.beginPath();
+        g.rect(barX, barY, barWidth, BAR_HEIGHT);
+        g.clip();
+        g.setFill(BAR_TEXT);
+        g.setFont(PREVIEW_FONT);
+        g.setTextAlign(TextAlignment.LEFT);
+        g.setTextBaseline(VPos.CENTER);
+        double segmentX = x - bar.offset * (CELL_WIDTH + GAP);
+        g.fillText(bar.title, segmentX + 8, barY + BAR_HEIGHT / 2);
+        g.restore();
+    }
+
+    private Color colorOf(NamedCalendar calendar) {
+        return colors.computeIfAbsent(calendar.getColor(), Color::web);
+    }
+
+    private static double cellX(int cell) {
+        return PADDING + (cell % COLUMNS) * (CELL_WIDTH + GAP);
+    }
+
+    private static double cellY(int cell) {
+        return PADDING + (cell / COLUMNS) * (CELL_HEIGHT + GAP);
+    }
+
+    /**
+     * Everything a cell shows; two equal states paint the same pixels.
+     */
+    private static final class CellState {
+        private final int day;
+        private final boolean today;
+        private final boolean holiday;
+        private final int eventCount;
+        private final List<Preview> previews;
+        private final List<Bar> bars;
+        private final int hiddenSpans;
+        private final boolean hovered;
+
+        private CellState(int day, boolean today, boolean holiday, int eventCount, List<Preview> previews,
+                          List<Bar> bars, int hiddenSpans, boolean hovered) {
+            this.day = day;
+            this.today = today;
+            this.holiday = holiday;
+            this.eventCount = eventCount;
+            this.previews = previews;
+            this.bars = bars;
+            this.hiddenSpans = hiddenSpans;
+            this.hovered = hovered;
+        }
+
+        private CellState withToday(boolean today) {
+            return new CellState(day, today, holiday, eventCount, previews, bars, hiddenSpans, hovered);
+        }
+
+        private CellState withHovered(boolean hovered) {
+            return new CellState(day, today, holiday, eventCount, previews, bars, hiddenSpans, hovered);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CellState)) {
+                return false;
+            }
+            CellState other = (CellState) o;
+            return day == other.day && today == other.today && holiday == other.holiday && eventCount == other.eventCount
+                    && hovered == other.hovered && hiddenSpans == other.hiddenSpans
+                    && previews.equals(other.previews) && bars.equals(other.bars);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, today, holiday, eventCount, previews, bars, hiddenSpans, hovered);
+        }
+    }
+
+    /**
+     * The title of an event shown in a cell, after a bullet in the colour of its calendar.
+     */
+    private static final class Preview {
+        private final String title;
+        private final Color color;
+
+        private Preview(String title, Color color) {
+            this.title = title;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Preview)) {
+                return false;
+            }
+            Preview other = (Preview) o;
+            return title.equals(other.title) && color.equals(other.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, color);
+        }
+    }
+
+    /**
+     * The part of a span's bar inside one cell.
+     */
+    private static final class Bar {
+        private final String title;
+        private final Color color;
+        private final int lane;
+        // number of cells between the first cell of the segment and this one
+        private final int offset;
+        private final boolean startsHere;
+        private final boolean endsHere;
+        private final boolean lastInSegment;
+
+        private Bar(SpanLayout.Segment segment, int day, Color color) {
+            this.title = segment.event.getDescription();
+            this.color = color;
+            this.lane = segment.lane;
+            this.offset = day - segment.firstDay;
+            this.startsHere = day == segment.firstDay && !segment.continuesLeft;
+            this.lastInSegment = day == segment.lastDay;
+            this.endsHere = lastInSegment && !segment.continuesRight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Bar)) {
+                return false;
+            }
+            Bar other = (Bar) o;
+            return lane == other.lane && offset == other.offset && startsHere == other.startsHere
+                    && endsHere == other.endsHere && lastInSegment == other.lastInSegment
+                    && title.equals(other.title) && color.equals(other.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, color, lane, offset, startsHere, endsHere, lastInSegment);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.calendar.Overlay;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventManager;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Several named calendars shown together in one month grid.
+ * <p>
+ *     Every calendar keeps its own {@link EventManager} and file; the overlay only combines the
+ *     visible ones. Queries are answered by a lazy k-way merge of the calendars' date indexes
+ *     ({@link EventManager#iterateEvents(LocalDate, LocalDate)}): a heap holds the next event of
+ *     every visible calendar, so nothing is concatenated or sorted again, and hiding a calendar
+ *     just leaves its iterator out. Events of one day come in the order of the calendars.
+ * </p>
+ * <p>
+ *     The calendars are read from the configuration ({@link com.calendar.Store.EventStores#getConfig()}):
+ * </p>
+ * <ul>
+ *     <li>{@value #CALENDARS_PROPERTY}: comma separated names, e.g. {@code Praca,Dom}; without it
+ *     there is one calendar, {@value #DEFAULT_NAME}</li>
+ *     <li>{@code calendar.calendars.<name>.location}: where its events are kept, by default
+ *     {@code <name>.csv} next to the default events file</li>
+ *     <li>{@code calendar.calendars.<name>.color}: the colour of its events, by default one of
+ *     {@link #PALETTE} in turn</li>
+ * </ul>
+ */
+public class CalendarOverlay implements AutoCloseable {
+
+    /**
+     * Setting with the names of the calendars, separated by commas.
+     */
+    public static final String CALENDARS_PROPERTY = "calendar.calendars";
+
+    /**
+     * Name of the only calendar when none is configured.
+     */
+    public static final String DEFAULT_NAME = "Kalendarz";
+
+    /**
+     * Colours given to calendars without one, in order; the first is the colour of the single
+     * default calendar.
+     */
+    public static final List<String> PALETTE = List.of("#3FA7D6", "#E07A5F", "#81B29A", "#9B5DE5", "#F2A541", "#6D597A");
+
+    private final List<NamedCalendar> calendars = new ArrayList<>();
+
+    /**
+     * Creates the calendars of a configuration. Events are not loaded.
+     *
+     * @param config the configuration
+     * @param defaultLocation location of the events of the default calendar
+     * @return a new overlay with at least one calendar
+     */
+    public static CalendarOverlay fromConfig(Properties config, String defaultLocation) {
+        CalendarOverlay overlay = new CalendarOverlay();
+        String names = config.getProperty(CALENDARS_PROPERTY, "").trim();
+        if (names.isEmpty()) {
+            overlay.add(new NamedCalendar(DEFAULT_NAME, PALETTE.get(0), new EventManager(defaultLocation)));
+            return overlay;
+        }
+
+        Path directory = Path.of(defaultLocation).toAbsolutePath().getParent();
+        for (String name : names.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String prefix = CALENDARS_PROPERTY + "." + name + ".";
+            String location = config.getProperty(prefix + "location", directory.resolve(name + ".csv").toString());
+            String color = config.getProperty(prefix + "color", PALETTE.get(overlay.calendars.size() % PALETTE.size()));
+            overlay.add(new NamedCalendar(name, color, new EventManager(location)));
+        }
+        return overlay;
+    }
+
+    /**
+     * Adds a calendar after the others.
+     *
+     * @param calendar the calendar
+     * @throws IllegalArgumentException if a calendar of the same name was added
+     */
+    public void add(NamedCalendar calendar) {
+        if (get(calendar.getName()) != null) {
+            throw new IllegalArgumentException("Kalendarz już istnieje: " + calendar.getName());
+        }
+        calendars.add(calendar);
+    }
+
+    /**
+     * Returns a calendar by name.
+     *
+     * @param name the name
+     * @return the calendar, or null if there is none of that name
+     */
+    public NamedCalendar get(String name) {
+        for (NamedCalendar calendar : calendars) {
+            if (calendar.getName().equals(name)) {
+                return calendar;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return all calendars in order, visible or not
+     */
+    public List<NamedCalendar> getCalendars() {
+        return Collections.unmodifiableList(calendars);
+    }
+
+    /**
+     * Returns the calendar new events go to when the user does not choose one.
+     *
+     * @return the first visible calendar, or the first one if all are hidden
+     */
+    public NamedCalendar getDefault() {
+        for (NamedCalendar calendar : calendars) {
+            if (calendar.isVisible()) {
+                return calendar;
+            }
+        }
+        return calendars.get(0);
+    }
+
+    /**
+     * Loads the events of all calendars, hidden ones too, so showing them is immediate.
+     */
+    public void loadEvents() {
+        for (NamedCalendar calendar : calendars) {
+            calendar.getEventManager().loadEvents();
+        }
+    }
+
+    /**
+     * Closes the event managers of all calendars.
+     *
+     * @see EventManager#close()
+     */
+    @Override
+    public void close() {
+        for (NamedCalendar calendar : calendars) {
+            calendar.getEventManager().close();
+        }
+    }
+
+    /**
+     * Sets the month shown to the user in every calendar.
+     *
+     * @param year the year
+     * @param month the month number (1-12)
+     * @return {@code true} if the loaded events of any calendar changed
+     * @see EventManager#setVisibleMonth(int, int)
+     */
+    public boolean setVisibleMonth(int year, int month) {
+        boolean changed = false;
+        for (NamedCalendar calendar : calendars) {
+            changed |= calendar.getEventManager().setVisibleMonth(year, month);
+        }
+        return changed;
+    }
+
+    /**
+     * Iterates over the events of the visible calendars starting in a range of days, ordered by
+     * date and, within a day, by calendar.
+     * <p>
+     *     Lazy: each step costs {@code O(log k)} for {@code k} visible calendars. The calendars must
+     *     not be changed while iterating.
+     * </p>
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (inclusive)
+     * @return an iterator over the events with their calendars
+     */
+    public Iterator<Entry> iterateEvents(LocalDate from, LocalDate to) {
+        return merge(eventManager -> eventManager.iterateEvents(from, to));
+    }
+
+    /**
+     * Returns the loaded events of the visible calendars ordered by date.
+     *
+     * @return a new list (never null, may be empty)
+     */
+    public List<Entry> getAllEvents() {
+        List<Entry> entries = new ArrayList<>();
+        iterateEvents(LocalDate.MIN, LocalDate.MAX).forEachRemaining(entries::add);
+        return entries;
+    }
+
+    /**
+     * Gets the events of the visible calendars starting on a date.
+     *
+     * @param date the date (must not be null)
+     * @return the events in the order of the calendars (never null, may be empty)
+     */
+    public List<Entry> viewEventsForDate(LocalDate date) {
+        List<Entry> entries = new ArrayList<>();
+        for (NamedCalendar calendar : calendars) {
+            if (calendar.isVisible()) {
+                for (Event event : calendar.getEventManager().viewEventsForDate(date)) {
+                    entries.add(new Entry(calendar, event));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Finds events of the visible calendars spanning several days that touch a range of days.
+     *
+     * @param from the first day of the range (inclusive)
+     * @param to the last day of the range (inclusive)
+     * @return the events ordered by their first day, then by calendar (never null, may be empty)
+     * @see EventManager#getSpanningEvents(LocalDate, LocalDate)
+     */
+    public List<Entry> getSpanningEvents(LocalDate from, LocalDate to) {
+        List<Entry> entries = new ArrayList<>();
+        merge(eventManager -> eventManager.getSpanningEvents(from, to).iterator()).forEachRemaining(entries::add);
+        return entries;
+    }
+
+    /**
+     * Gets the agenda of a day over the visible calendars: whole day events first, then timed
+     * events by start time.
+     *
+     * @param date the day (must not be null)
+     * @return the events of the day (never null, may be empty)
+     * @see EventManager#getAgenda(LocalDate)
+     */
+    public List<Entry> getAgenda(LocalDate date) {
+        List<Entry> agenda = new ArrayList<>();
+        for (NamedCalendar calendar : calendars) {
+            if (calendar.isVisible()) {
+                for (Event event : calendar.getEventManager().getAgenda(date)) {
+                    agenda.add(new Entry(calendar, event));
+                }
+            }
+        }
+        // stable, whole day events keep the order of the calendars
+        agenda.sort(Comparator.comparing((Entry entry) -> entry.event.isTimed())
+                .thenComparing(entry -> entry.event.isTimed() ? entry.event.getStart() : null,
+                        Comparator.nullsFirst(Comparator.naturalOrder())));
+        return agenda;
+    }
+
+    /**
+     * Searches the descriptions of the visible calendars.
+     *
+     * @param query the text to search for
+     * @param limit maximal number of returned events
+     * @return the results of each calendar, ranked, in the order of the calendars
+     * @see EventManager#searchEvents(String, int)
+     */
+    public List<Entry> searchEvents(String query, int limit) {
+        List<Entry> results = new ArrayList<>();
+        for (NamedCalendar calendar : calendars) {
+            if (calendar.isVisible() && results.size() < limit) {
+                for (Event event : calendar.getEventManager().searchEvents(query, limit - results.size())) {
+                    results.add(new Entry(calendar, event));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Gets the number of events of the visible calendars for every day of a year.
+     *
+     * @param year the year
+     * @return a new array indexed by day of year minus one (365 or 366 elements)
+     * @see EventManager#getEventCountsForYear(int)
+     */
+    public int[] getEventCountsForYear(int year) {
+        int[] counts = new int[LocalDate.of(year, 1, 1).lengthOfYear()];
+        for (NamedCalendar calendar : calendars) {
+            if (calendar.isVisible()) {
+                int[] own = calendar.getEventManager().getEventCountsForYear(year);
+                for (int day = 0; day < counts.length; day++) {
+                    counts[day] += own[day];
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Merges date-ordered events of the visible calendars, keeping the next event of each in a heap.
+     *
+     * @param source returns the events of one calendar ordered by date
+     */
+    private Iterator<Entry> merge(Function<EventManager, Iterator<Event>> source) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(
+                Comparator.<Cursor, LocalDate>comparing(cursor -> cursor.head.getDate()).thenComparingInt(cursor -> cursor.order));
+        for (int i = 0; i < calendars.size(); i++) {
+            NamedCalendar calendar = calendars.get(i);
+            if (calendar.isVisible()) {
+                Cursor cursor = new Cursor(calendar, i, source.apply(calendar.getEventManager()));
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Entry next() {
+                Cursor cursor = heads.poll();
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                Entry entry = new Entry(cursor.calendar, cursor.head);
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * An event together with the calendar it belongs to.
+     */
+    public static final class Entry {
+        private final NamedCalendar calendar;
+        private final Event event;
+
+        private Entry(NamedCalendar calendar, Event event) {
+            this.calendar = calendar;
+            this.event = event;
+        }
+
+        public NamedCalendar getCalendar() {
+            return calendar;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+    }
+
+    /**
+     * The next event of one calendar in a merge.
+     */
+    private static final class Cursor {
+        private final NamedCalendar calendar;
+        private final int order;
+        private final Iterator<Event> events;
+        private Event head;
+
+        private Cursor(NamedCalendar calendar, int order, Iterator<Event> events) {
+            this.calendar = calendar;
+            this.order = order;
+            this.events = events;
+        }
+
+        private boolean advance() {
+            head = events.hasNext() ? events.next() : null;
+            return head != null;
+        }
+    }
+}
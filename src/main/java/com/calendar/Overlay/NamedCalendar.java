@@ -0,0 +1,62 @@
+package com.calendar.Overlay;
+
+import com.calendar.Event.EventManager;
+
+import java.util.Objects;
+
+/**
+ * One of the calendars shown together, e.g. work or personal, with its own events.
+ *
+ * @see CalendarOverlay
+ */
+public class NamedCalendar {
+
+    private final String name;
+    private final String color;
+    private final EventManager eventManager;
+    private boolean visible = true;
+
+    /**
+     * Creates a visible calendar.
+     *
+     * @param name the name shown to the user (must not be null)
+     * @param color the colour of its events, a CSS colour such as {@code #3FA7D6} (must not be null)
+     * @param eventManager the events of the calendar (must not be null)
+     */
+    public NamedCalendar(String name, String color, EventManager eventManager) {
+        this.name = Objects.requireNonNull(name);
+        this.color = Objects.requireNonNull(color);
+        this.eventManager = Objects.requireNonNull(eventManager);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the colour of the events, a CSS colour
+     */
+    public String getColor() {
+        return color;
+    }
+
+    public EventManager getEventManager() {
+        return eventManager;
+    }
+
+    /**
+     * @return {@code true} if the events are shown and included in the queries of the overlay
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
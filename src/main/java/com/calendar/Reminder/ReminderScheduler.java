@@ -0,0 +1,273 @@
+package com.calendar.Reminder;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventChangeListener;
+import com.calendar.Event.EventManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Fires the reminders of events while the application runs.
+ * <p>
+ *     Pending reminders are kept in a {@link TimingWheel} with a tick of one second, driven by
+ *     a single daemon thread that wakes up once a second while reminders are pending and sleeps
+ *     otherwise. Adding and cancelling a reminder are {@code O(1)}, so 100k pending reminders
+ *     cost no more per change than ten; no timer or thread is created per reminder.
+ * </p>
+ * <p>
+ *     Registered as an {@link EventChangeListener}, the scheduler follows the events of an
+ *     {@link EventManager}: a load replaces all reminders in one pass over the events, additions
+ *     and removals schedule and cancel single reminders. Reminders of events that have already
+ *     started are skipped; a reminder whose time has passed for an event still to come fires at
+ *     once.
+ * </p>
+ * <p>
+ *     One scheduler serves any number of managers, e.g. one per calendar, with
+ *     {@link #follow(EventManager)}: the reminders of every manager are kept apart, so a load of
+ *     one calendar replaces only its own, but all share one wheel and one thread.
+ * </p>
+ * <p>
+ *     The callback runs on the scheduler thread; UI code must hand the event over to its own
+ *     thread, e.g. with {@code Platform.runLater}.
+ * </p>
+ */
+public class ReminderScheduler implements EventChangeListener, AutoCloseable {
+
+    private final Consumer<Event> onReminder;
+    private final Clock clock;
+    private final TimingWheel<Pending> wheel;
+    // reminders of the events this scheduler is registered for directly
+    private final Source ownEvents = new Source();
+
+    private Thread thread;
+    private boolean running;
+
+    /**
+     * Creates a scheduler using the system clock and time zone.
+     *
+     * @param onReminder receives every event whose reminder is due (must not be null)
+     */
+    public ReminderScheduler(Consumer<Event> onReminder) {
+        this(onReminder, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param onReminder receives every event whose reminder is due (must not be null)
+     * @param clock the clock; its zone converts the local times of events
+     */
+    public ReminderScheduler(Consumer<Event> onReminder, Clock clock) {
+        this.onReminder = onReminder;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(currentSecond());
+    }
+
+    /**
+     * Registers for the events of a manager, keeping its reminders apart from those of other
+     * managers followed by this scheduler.
+     *
+     * @param eventManager the manager (must not be null)
+     */
+    public void follow(EventManager eventManager) {
+        eventManager.addChangeListener(new Source());
+    }
+
+    /**
+     * Starts the scheduler thread. Does nothing if it is already running.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "calendar-reminders");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the scheduler thread. Pending reminders are kept.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        notifyAll();
+    }
+
+    /**
+     * Schedules the reminder of an event. Events without a reminder are ignored.
+     *
+     * @param event the event (must not be null)
+     */
+    public synchronized void schedule(Event event) {
+        if (ownEvents.scheduleQuietly(event)) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Cancels the reminder of an event scheduled before.
+     *
+     * @param event the event (the same object that was scheduled)
+     */
+    public synchronized void cancel(Event event) {
+        ownEvents.cancel(event);
+    }
+
+    /**
+     * Returns the number of reminders still to fire.
+     *
+     * @return the number of pending reminders
+     */
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    @Override
+    public void eventsLoaded(List<Event> events) {
+        ownEvents.eventsLoaded(events);
+    }
+
+    @Override
+    public void eventsAdded(List<Event> events) {
+        ownEvents.eventsAdded(events);
+    }
+
+    @Override
+    public void eventsRemoved(List<Event> events) {
+        ownEvents.eventsRemoved(events);
+    }
+
+    private void run() {
+        List<Pending> due = new ArrayList<>();
+        while (true) {
+            synchronized (this) {
+                if (!running) {
+                    return;
+                }
+                wheel.advance(currentSecond(), due::add);
+                for (Pending pending : due) {
+                    pending.source.timers.remove(pending.event);
+                }
+                if (due.isEmpty()) {
+                    try {
+                        waitForNextTick();
+                    } catch (InterruptedException e) {
+                        running = false;
+                        return;
+                    }
+                    continue;
+                }
+            }
+
+            // outside the lock, so the callback may add or remove events
+            for (Pending pending : due) {
+                try {
+                    onReminder.accept(pending.event);
+                } catch (RuntimeException e) {
+                    System.err.println("Błąd przypomnienia: " + e.getMessage());
+                }
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * Sleeps until the next second, or until a reminder is scheduled if none is pending.
+     */
+    private void waitForNextTick() throws InterruptedException {
+        if (wheel.size() == 0) {
+            wait();
+        } else {
+            wait(Math.max(1000 - clock.millis() % 1000, 1));
+        }
+    }
+
+    private long currentSecond() {
+        return clock.instant().getEpochSecond();
+    }
+
+    /**
+     * A reminder in the wheel, with the manager it belongs to.
+     */
+    private static final class Pending {
+        private final Source source;
+        private final Event event;
+
+        private Pending(Source source, Event event) {
+            this.source = source;
+            this.event = event;
+        }
+    }
+
+    /**
+     * The reminders of the events of one manager. Guarded by the scheduler's lock.
+     */
+    private final class Source implements EventChangeListener {
+        private final Map<Event, TimingWheel.Timer<Pending>> timers = new IdentityHashMap<>();
+
+        @Override
+        public void eventsLoaded(List<Event> events) {
+            synchronized (ReminderScheduler.this) {
+                if (timers.size() == wheel.size()) {
+                    // the only manager with reminders
+                    wheel.clear(currentSecond());
+                } else {
+                    for (TimingWheel.Timer<Pending> timer : timers.values()) {
+                        wheel.cancel(timer);
+                    }
+                }
+                timers.clear();
+                for (Event event : events) {
+                    scheduleQuietly(event);
+                }
+                ReminderScheduler.this.notifyAll();
+            }
+        }
+
+        @Override
+        public void eventsAdded(List<Event> events) {
+            synchronized (ReminderScheduler.this) {
+                for (Event event : events) {
+                    scheduleQuietly(event);
+                }
+                ReminderScheduler.this.notifyAll();
+            }
+        }
+
+        @Override
+        public void eventsRemoved(List<Event> events) {
+            synchronized (ReminderScheduler.this) {
+                for (Event event : events) {
+                    cancel(event);
+                }
+            }
+        }
+
+        private boolean scheduleQuietly(Event event) {
+            if (!event.hasReminder() || timers.containsKey(event)) {
+                return false;
+            }
+            long now = clock.instant().getEpochSecond();
+            if (event.getStart().atZone(clock.getZone()).toEpochSecond() <= now) {
+                return false;
+            }
+            long deadline = Math.max(event.getReminderTime().atZone(clock.getZone()).toEpochSecond(), now);
+            timers.put(event, wheel.schedule(new Pending(this, event), deadline));
+            return true;
+        }
+
+        private void cancel(Event event) {
+            TimingWheel.Timer<Pending> timer = timers.remove(event);
+            if (timer != null) {
+                wheel.cancel(timer);
+            }
+        }
+    }
+}
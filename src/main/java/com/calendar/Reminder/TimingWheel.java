@@ -0,0 +1,239 @@
+package com.calendar.Reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel.
+ * <p>
+ *     Time is counted in ticks. The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots;
+ *     a slot of level {@code n} covers {@code 64^n} ticks, so level 0 holds the next 64 ticks,
+ *     level 1 the next 4096 and so on, {@code 2^36} ticks in total. A timer is put into the lowest
+ *     level its deadline fits in. When level 0 has gone round, the next slot of level 1 is emptied
+ *     into the levels below it, and likewise for higher levels, so every timer moves down at most
+ *     {@value #LEVELS} times before it expires.
+ * </p>
+ * <p>
+ *     Every slot is a doubly linked list of timers, so scheduling and cancelling are {@code O(1)}
+ *     regardless of the number of pending timers, and {@link #advance(long, Consumer)} does
+ *     constant work per tick plus the expired timers.
+ * </p>
+ * <p>
+ *     The wheel is not thread-safe.
+ * </p>
+ *
+ * @param <T> the type of the payload of the timers
+ * @see ReminderScheduler
+ */
+public class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+    private final Timer<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param startTick the first tick to be processed
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long startTick) {
+        this.slots = (Timer<T>[][]) new Timer<?>[LEVELS][SLOTS];
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedules a timer. A deadline already passed expires on the next {@link #advance(long, Consumer)}.
+     *
+     * @param payload the value handed over when the timer expires
+     * @param deadline the tick to expire at
+     * @return the timer, for cancelling
+     */
+    public Timer<T> schedule(T payload, long deadline) {
+        Timer<T> timer = new Timer<>(payload, Math.min(deadline, currentTick + MAX_DELAY));
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer.
+     *
+     * @param timer the timer returned by {@link #schedule(Object, long)}
+     * @return {@code true} if the timer was pending
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer.level < 0) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Processes all ticks up to and including the given one.
+     *
+     * @param tick the last tick to process
+     * @param expired receives the payload of every expired timer, tick by tick
+     */
+    public void advance(long tick, Consumer<T> expired) {
+        while (currentTick <= tick) {
+            int index = (int) (currentTick & MASK);
+            if (index == 0) {
+                cascade();
+            }
+
+            Timer<T> timer = slots[0][index];
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                unlink(timer);
+                size--;
+                expired.accept(timer.payload);
+                timer = next;
+            }
+            currentTick++;
+        }
+    }
+
+    /**
+     * Removes all timers and restarts counting at a tick.
+     *
+     * @param startTick the first tick to be processed
+     */
+    public void clear(long startTick) {
+        for (Timer<T>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                for (Timer<T> timer = level[i]; timer != null; timer = timer.next) {
+                    timer.level = -1;
+                }
+                level[i] = null;
+            }
+        }
+        size = 0;
+        currentTick = startTick;
+    }
+
+    /**
+     * Returns the number of pending timers.
+     *
+     * @return the number of pending timers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the next tick to be processed.
+     *
+     * @return the next tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Moves the timers of the current slot of each higher level down, starting at level 1 and
+     * going up for as long as the level below has gone round as well.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int index = (int) ((currentTick >>> (BITS * level)) & MASK);
+            Timer<T> timer = slots[level][index];
+            slots[level][index] = null;
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.previous = null;
+                timer.next = null;
+                insert(timer);
+                timer = next;
+            }
+            if (index != 0) {
+                break;
+            }
+        }
+    }
+
+    private void insert(Timer<T> timer) {
+        long delay = timer.deadline - currentTick;
+        int level;
+        int index;
+        if (delay < 0) {
+            // overdue: the slot processed next
+            level = 0;
+            index = (int) (currentTick & MASK);
+        } else {
+            level = 0;
+            while (level < LEVELS - 1 && delay >= 1L << (BITS * (level + 1))) {
+                level++;
+            }
+            index = (int) ((timer.deadline >>> (BITS * level)) & MASK);
+        }
+
+        timer.level = level;
+        timer.index = index;
+        timer.previous = null;
+        timer.next = slots[level][index];
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+        slots[level][index] = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            slots[timer.level][timer.index] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.level = -1;
+    }
+
+    /**
+     * A pending timer.
+     *
+     * @param <T> the type of the payload
+     */
+    public static final class Timer<T> {
+        private final T payload;
+        private final long deadline;
+        // position in the wheel, level -1 once expired or cancelled
+        private int level = -1;
+        private int index;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(T payload, long deadline) {
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Gets the payload.
+         *
+         * @return the payload
+         */
+        public T getPayload() {
+            return payload;
+        }
+
+        /**
+         * Gets the deadline.
+         *
+         * @return the tick the timer expires at
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.calendar.Search;
+
+import com.calendar.Event.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Inverted index over event descriptions.
+ * <p>
+ *     Every description is split into lower-case tokens and each token points to a posting
+ *     list of the events containing it. Tokens are kept in a sorted map, so a prefix lookup
+ *     is a single range view ({@code "spo"} finds {@code "spotkanie"} and {@code "sport"})
+ *     instead of a {@code contains} over all events.
+ * </p>
+ * <p>
+ *     Posting lists are ordered by event date. Results are ranked by score first and date
+ *     second, so a search walks the candidates in date order and stops as soon as it has
+ *     enough results with the best possible score.
+ * </p>
+ * <p>
+ *     Events are tracked by identity, so two equal events stored twice are both found and can
+ *     be removed one by one.
+ * </p>
+ *
+ * @see Event
+ */
+public class EventSearchIndex {
+
+    /** Score for a query token that equals a description token. */
+    private static final int EXACT_MATCH_SCORE = 3;
+    /** Score for a query token that is only a prefix of a description token. */
+    private static final int PREFIX_MATCH_SCORE = 1;
+
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Event, Integer> documentIds = new IdentityHashMap<>();
+    private Event[] documents = new Event[16];
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int nextId;
+
+    /**
+     * Adds an event to the index.
+     *
+     * @param event the event to index (must not be null)
+     */
+    public void add(Event event) {
+        if (documentIds.containsKey(event)) {
+            return;
+        }
+
+        int id = allocateId();
+        documents[id] = event;
+        documentIds.put(event, id);
+
+        long key = postingKey(event, id);
+        for (String token : new HashSet<>(tokenize(event.getDescription()))) {
+            postings.computeIfAbsent(token, t -> new PostingList()).add(key);
+        }
+    }
+
+    /**
+     * Adds all given events to the index.
+     *
+     * @param events the events to index (must not be null)
+     */
+    public void addAll(Collection<Event> events) {
+        for (Event event : events) {
+            add(event);
+        }
+    }
+
+    /**
+     * Removes an event from the index. Unknown events are ignored.
+     *
+     * @param event the event instance that was previously added
+     */
+    public void remove(Event event) {
+        Integer id = documentIds.remove(event);
+        if (id == null) {
+            return;
+        }
+
+        long key = postingKey(event, id);
+        for (String token : new HashSet<>(tokenize(event.getDescription()))) {
+            PostingList list = postings.get(token);
+            if (list != null) {
+                list.remove(key);
+                if (list.size == 0) {
+                    postings.remove(token);
+                }
+            }
+        }
+
+        documents[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Removes all events from the index.
+     */
+    public void clear() {
+        postings.clear();
+        documentIds.clear();
+        documents = new Event[16];
+        freeCount = 0;
+        nextId = 0;
+    }
+
+    /**
+     * Finds events whose description contains every token of the query, either as a whole
+     * word or as a word prefix.
+     * <p>
+     *     Results are ranked by score (whole word matches weigh more than prefix matches),
+     *     then by date.
+     * </p>
+     *
+     * @param query text typed by the user
+     * @param limit maximal number of results
+     * @return ranked list of matching events (never null, empty for a blank query)
+     */
+    public List<Event> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // the most selective token drives the search, the other ones are checked per candidate
+        String driver = null;
+        long driverMatches = Long.MAX_VALUE;
+        int bestScore = 0;
+        for (String token : queryTokens) {
+            long matches = estimateMatches(token);
+            if (matches == 0) {
+                return new ArrayList<>();
+            }
+            if (matches < driverMatches) {
+                driver = token;
+                driverMatches = matches;
+            }
+            bestScore += postings.containsKey(token) ? EXACT_MATCH_SCORE : PREFIX_MATCH_SCORE;
+        }
+
+        // results grouped by score, every group filled in date order
+        List<List<Event>> byScore = new ArrayList<>(bestScore + 1);
+        for (int score = 0; score <= bestScore; score++) {
+            byScore.add(new ArrayList<>());
+        }
+
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        for (PostingList list : withPrefix(driver).values()) {
+            list.ensureSorted();
+            cursors.add(new Cursor(list));
+        }
+
+        long previousKey = 0;
+        boolean first = true;
+        while (!cursors.isEmpty() && byScore.get(bestScore).size() < limit) {
+            Cursor cursor = cursors.poll();
+            long key = cursor.key();
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+
+            // the same event is listed under every token it contains
+            if (!first && key == previousKey) {
+                continue;
+            }
+            first = false;
+            previousKey = key;
+
+            Event event = documents[(int) key];
+            int score = score(event, queryTokens);
+            if (score > 0 && byScore.get(score).size() < limit) {
+                byScore.get(score).add(event);
+            }
+        }
+
+        List<Event> result = new ArrayList<>(limit);
+        for (int score = bestScore; score > 0 && result.size() < limit; score--) {
+            List<Event> group = byScore.get(score);
+            result.addAll(group.subList(0, Math.min(group.size(), limit - result.size())));
+        }
+        return result;
+    }
+
+    /**
+     * Splits text into lower-case tokens made of letters and digits.
+     *
+     * @param text the text to split (may be null)
+     * @return list of tokens in the order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Scores an event against all query tokens, 0 when one of them does not match.
+     */
+    private static int score(Event event, List<String> queryTokens) {
+        List<String> eventTokens = tokenize(event.getDescription());
+        int total = 0;
+
+        for (String queryToken : queryTokens) {
+            int best = 0;
+            for (String eventToken : eventTokens) {
+                if (eventToken.equals(queryToken)) {
+                    best = EXACT_MATCH_SCORE;
+                    break;
+                }
+                if (eventToken.startsWith(queryToken)) {
+                    best = PREFIX_MATCH_SCORE;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private NavigableMap<String, PostingList> withPrefix(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private long estimateMatches(String token) {
+        long count = 0;
+        for (PostingList list : withPrefix(token).values()) {
+            count += list.size;
+        }
+        return count;
+    }
+
+    private int allocateId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (nextId == documents.length) {
+            documents = Arrays.copyOf(documents, nextId * 2);
+        }
+        return nextId++;
+    }
+
+    /**
+     * Sort key of a posting: epoch day in the high half, document id in the low half.
+     */
+    private static long postingKey(Event event, int id) {
+        return (event.getDate().toEpochDay() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Growable array of posting keys, sorted lazily before it is read.
+     */
+    private static final class PostingList {
+        private long[] keys = new long[4];
+        private int size;
+        private boolean sorted = true;
+
+        void add(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            if (size > 0 && key < keys[size - 1]) {
+                sorted = false;
+            }
+            keys[size++] = key;
+        }
+
+        void remove(long key) {
+            ensureSorted();
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                size--;
+            }
+        }
+
+        void ensureSorted() {
+            if (!sorted) {
+                Arrays.sort(keys, 0, size);
+                sorted = true;
+            }
+        }
+    }
+
+    /**
+     * Ranks events that are not indexed, e.g. streamed from a store, like
+     * {@link EventSearchIndex#search(String, int)}: by score, then by date.
+     * <p>
+     *     Events may come in any order. Only the {@code limit} earliest events of every score are
+     *     kept, so memory does not grow with the number of events checked.
+     * </p>
+     */
+    public static final class Ranking implements Consumer<Event> {
+        private static final Comparator<Ranked> LATEST_FIRST =
+                Comparator.comparingLong((Ranked ranked) -> ranked.key).reversed();
+
+        private final List<String> queryTokens;
+        private final int limit;
+        private final List<PriorityQueue<Ranked>> byScore = new ArrayList<>();
+        private long sequence;
+
+        /**
+         * Creates an empty ranking.
+         *
+         * @param query text typed by the user
+         * @param limit maximal number of results
+         */
+        public Ranking(String query, int limit) {
+            this.queryTokens = tokenize(query);
+            this.limit = limit;
+        }
+
+        @Override
+        public void accept(Event event) {
+            if (queryTokens.isEmpty() || limit <= 0) {
+                return;
+            }
+            int score = score(event, queryTokens);
+            if (score == 0) {
+                return;
+            }
+            while (byScore.size() <= score) {
+                byScore.add(new PriorityQueue<>(LATEST_FIRST));
+            }
+            // events of one day keep the order they came in
+            PriorityQueue<Ranked> group = byScore.get(score);
+            group.add(new Ranked(event, (event.getDate().toEpochDay() << 32) | (sequence++ & 0xFFFFFFFFL)));
+            if (group.size() > limit) {
+                group.poll();
+            }
+        }
+
+        /**
+         * @return the best matching events, ranked (never null, may be empty)
+         */
+        public List<Event> getResults() {
+            List<Event> result = new ArrayList<>();
+            for (int score = byScore.size() - 1; score > 0 && result.size() < limit; score--) {
+                List<Ranked> group = new ArrayList<>(byScore.get(score));
+                group.sort(LATEST_FIRST.reversed());
+                for (int i = 0; i < group.size() && result.size() < limit; i++) {
+                    result.add(group.get(i).event);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Ranked {
+        private final Event event;
+        private final long key;
+
+        Ranked(Event event, long key) {
+            this.event = event;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Position in one posting list during a date ordered merge.
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+        private final PostingList list;
+        private int position;
+
+        Cursor(PostingList list) {
+            this.list = list;
+        }
+
+        long key() {
+            return list.keys[position];
+        }
+
+        boolean advance() {
+            return ++position < list.size;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Long.compare(key(), other.key());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.calendar;
+
+import com.calendar.Event.Event;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Places events spanning several days on the month grid.
+ * <p>
+ *     Each event gets a lane (a horizontal track inside the day cells) that is free on all of its
+ *     days, and is cut into one segment per grid row it crosses, so it can be drawn as a continuous
+ *     bar without a copy per day. Events that find no free lane are only counted per day.
+ *     Used by both {@link MonthCanvas} and the label grid of {@link CalendarController}.
+ * </p>
+ */
+final class SpanLayout {
+
+    static final int COLUMNS = 7;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final int[] hiddenByDay;
+
+    /**
+     * Lays out the events touching a month.
+     *
+     * @param year the year
+     * @param month the month number (1-12)
+     * @param days number of days in the month
+     * @param spans events spanning several days, ordered by their first day
+     * @param lanes number of lanes available in a cell
+     */
+    SpanLayout(int year, int month, int days, List<Event> spans, int lanes) {
+        LocalDate first = LocalDate.of(year, month, 1);
+        LocalDate last = LocalDate.of(year, month, days);
+        hiddenByDay = new int[days + 1];
+
+        // last day taken in every lane
+        int[] laneEnds = new int[lanes];
+
+        for (Event span : spans) {
+            int startDay = span.getDate().isBefore(first) ? 1 : span.getDate().getDayOfMonth();
+            int endDay = span.getEndDate().isAfter(last) ? days : span.getEndDate().getDayOfMonth();
+
+            int lane = 0;
+            while (lane < lanes && laneEnds[lane] >= startDay) {
+                lane++;
+            }
+            if (lane == lanes) {
+                for (int day = startDay; day <= endDay; day++) {
+                    hiddenByDay[day]++;
+                }
+                continue;
+            }
+            laneEnds[lane] = endDay;
+
+            // one segment per grid row
+            int segmentStart = startDay;
+            while (segmentStart <= endDay) {
+                int rowEnd = ((segmentStart - 1) / COLUMNS + 1) * COLUMNS;
+                int segmentEnd = Math.min(endDay, rowEnd);
+                boolean continuesLeft = segmentStart > startDay || span.getDate().isBefore(first);
+                boolean continuesRight = segmentEnd < endDay || span.getEndDate().isAfter(last);
+                segments.add(new Segment(span, lane, segmentStart, segmentEnd, continuesLeft, continuesRight));
+                segmentStart = segmentEnd + 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the bar segments, at most one per event and grid row.
+     *
+     * @return the segments
+     */
+    List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns how many events covering a day did not get a lane.
+     *
+     * @param day the day of month
+     * @return the number of hidden events
+     */
+    int getHiddenCount(int day) {
+        return hiddenByDay[day];
+    }
+
+    /**
+     * Part of an event's bar inside one grid row.
+     */
+    static final class Segment {
+        final Event event;
+        final int lane;
+        final int firstDay;
+        final int lastDay;
+        final boolean continuesLeft;
+        final boolean continuesRight;
+
+        private Segment(Event event, int lane, int firstDay, int lastDay, boolean continuesLeft, boolean continuesRight) {
+            this.event = event;
+            this.lane = lane;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.continuesLeft = continuesLeft;
+            this.continuesRight = continuesRight;
+        }
+    }
+}
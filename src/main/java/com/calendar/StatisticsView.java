@@ -0,0 +1,187 @@
+package com.calendar;
+
+import com.calendar.Analytics.EventAnalytics;
+import com.calendar.Event.Event;
+import com.calendar.Localization.CalendarNames;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.VPos;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Window with the statistics of the events: bars of events per weekday and per month, and lists
+ * of the years, the busiest days and the longest gaps.
+ * <p>
+ *     The numbers come from {@link EventAnalytics}, which keeps them until the events change, so
+ *     opening the window again costs only the drawing. When they have to be computed again, the
+ *     events are copied on the FX thread and counted in a background {@link Task}; the window
+ *     opens when the task has finished.
+ * </p>
+ */
+public class StatisticsView {
+
+    private static final double BAR_WIDTH = 28;
+    private static final double BAR_GAP = 14;
+    private static final double CHART_HEIGHT = 120;
+    private static final double CHART_GAP = 40;
+    private static final double TOP_MARGIN = 20;
+    private static final double BOTTOM_MARGIN = 20;
+
+    private static final Color BAR_COLOR = Color.web("#3FA7D6");
+    private static final Color TEXT_COLOR = Color.web("#8F5C38");
+
+    private final EventAnalytics analytics;
+    private final CalendarNames names = CalendarNames.getDefault();
+
+    /**
+     * @param analytics the statistics of the shown events
+     */
+    public StatisticsView(EventAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    /**
+     * Computes the statistics in the background and then opens the window. Must be called on the
+     * FX thread.
+     *
+     * @param owner the main window
+     */
+    public void show(Window owner) {
+        Supplier<EventAnalytics.Report> computation = analytics.prepareReport();
+        Task<EventAnalytics.Report> task = new Task<>() {
+            @Override
+            protected EventAnalytics.Report call() {
+                return computation.get();
+            }
+        };
+        task.setOnSucceeded(e -> open(owner, task.getValue()));
+        task.setOnFailed(e -> System.err.println("Nie udało się obliczyć statystyk: " + task.getException().getMessage()));
+
+        Thread thread = new Thread(task, "calendar-statistics");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void open(Window owner, EventAnalytics.Report report) {
+        Label summaryLabel = new Label(summary(report));
+        summaryLabel.setStyle("-fx-text-fill: #8F5C38;");
+        summaryLabel.setFont(new Font(18));
+
+        Canvas canvas = new Canvas(19 * (BAR_WIDTH + BAR_GAP) + CHART_GAP, TOP_MARGIN + CHART_HEIGHT + BOTTOM_MARGIN);
+        draw(canvas.getGraphicsContext2D(), report);
+
+        ListView<String> yearList = new ListView<>();
+        report.getCountsByYear().forEach((year, count) -> yearList.getItems().add(year + ": " + count));
+
+        ListView<String> busiestList = new ListView<>();
+        for (EventAnalytics.DayCount day : report.getBusiestDays()) {
+            busiestList.getItems().add(day.getDate().format(Event.DATE_PATTERN) + ": " + day.getCount());
+        }
+
+        ListView<String> gapList = new ListView<>();
+        for (EventAnalytics.Gap gap : report.getLongestGaps()) {
+            gapList.getItems().add(gap.getFrom().format(Event.DATE_PATTERN) + " - "
+                    + gap.getTo().format(Event.DATE_PATTERN) + ": " + gap.getDays() + " dni");
+        }
+
+        HBox lists = new HBox(15,
+                titled("Lata", yearList, 120),
+                titled("Najwięcej wydarzeń", busiestList, 170),
+                titled("Najdłuższe przerwy", gapList, 260));
+
+        BorderPane layout = new BorderPane(canvas, summaryLabel, null, lists, null);
+        layout.setPadding(new Insets(15));
+        layout.setStyle("-fx-background-color: #CEDADA;");
+        BorderPane.setMargin(canvas, new Insets(15, 0, 10, 0));
+
+        Scene scene = new Scene(layout);
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/styles/styles.css")).toExternalForm());
+
+        Stage stage = new Stage();
+        stage.initOwner(owner);
+        stage.setTitle("Statystyki");
+        stage.setScene(scene);
+        stage.setResizable(false);
+        stage.show();
+    }
+
+    private String summary(EventAnalytics.Report report) {
+        if (report.getEventCount() == 0) {
+            return "Brak wydarzeń";
+        }
+        return report.getEventCount() + " wydarzeń w " + report.getDayCount() + " dniach, od "
+                + report.getFirstDate().format(Event.DATE_PATTERN) + " do " + report.getLastDate().format(Event.DATE_PATTERN)
+                + String.format(", średnio co %.1f dni", report.getAverageGapDays());
+    }
+
+    private void draw(GraphicsContext g, EventAnalytics.Report report) {
+        long[] byWeekday = report.getCountsByWeekday();
+        String[] weekdays = new String[byWeekday.length];
+        for (int weekday = 0; weekday < weekdays.length; weekday++) {
+            weekdays[weekday] = names.getWeekdayShortName(weekday);
+        }
+        long[] byMonth = report.getCountsByMonth();
+        String[] months = new String[byMonth.length];
+        for (int month = 1; month <= months.length; month++) {
+            months[month - 1] = names.getMonthShortName(month);
+        }
+
+        double x = drawBars(g, 0, weekdays, byWeekday);
+        drawBars(g, x + CHART_GAP, months, byMonth);
+    }
+
+    /**
+     * Draws a bar per value, scaled to the greatest, with its label below and its value above.
+     *
+     * @return the x coordinate after the last bar
+     */
+    private double drawBars(GraphicsContext g, double left, String[] labels, long[] values) {
+        long max = 1;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+
+        g.setFont(new Font(11));
+        g.setTextAlign(TextAlignment.CENTER);
+        double x = left;
+        for (int i = 0; i < values.length; i++) {
+            double height = CHART_HEIGHT * values[i] / max;
+            double top = TOP_MARGIN + CHART_HEIGHT - height;
+            double center = x + BAR_WIDTH / 2;
+
+            g.setFill(BAR_COLOR);
+            g.fillRect(x, top, BAR_WIDTH, height);
+
+            g.setFill(TEXT_COLOR);
+            g.setTextBaseline(VPos.BOTTOM);
+            g.fillText(String.valueOf(values[i]), center, top - 2);
+            g.setTextBaseline(VPos.TOP);
+            g.fillText(labels[i], center, TOP_MARGIN + CHART_HEIGHT + 4);
+
+            x += BAR_WIDTH + BAR_GAP;
+        }
+        return x;
+    }
+
+    private static VBox titled(String title, ListView<String> list, double width) {
+        Label label = new Label(title);
+        label.setStyle("-fx-text-fill: #8F5C38;");
+        list.setPrefSize(width, 200);
+        return new VBox(5, label, list);
+    }
+}
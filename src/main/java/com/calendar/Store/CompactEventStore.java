@@ -0,0 +1,380 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Memory-saving in-memory event storage for benchmarks and analytics: events are lost when the
+ * application ends.
+ * <p>
+ *     Instead of one {@link Event} object per event, with its own {@link LocalDate} and
+ *     {@link String}, the fields are kept in parallel primitive arrays: the date as an epoch day,
+ *     the description as an index into a pool where every distinct description is stored once,
+ *     the start minute of timed events, the length of timed and multi-day events and the
+ *     reminder. An event takes 20 bytes plus its share of the pool, recurring titles like
+ *     "Standup" cost nothing after the first one.
+ * </p>
+ * <p>
+ *     The pool is itself made of arrays: the UTF-8 bytes of all distinct descriptions one after
+ *     another, their offsets, and an open addressing hash table of description numbers used to
+ *     find a description already in the pool. A distinct description therefore costs about its
+ *     length plus 12 bytes, with no {@link String} or map entry objects.
+ * </p>
+ * <p>
+ *     {@link Event} objects are created on demand by {@link #get(int)} and the range queries.
+ *     Events are sorted by date lazily, on the first query after a change; events of one day keep
+ *     the order they were added in.
+ * </p>
+ * <p>
+ *     It is not an {@link EventStore}: an {@link com.calendar.Event.EventManager} would create
+ *     and index an {@link Event} for every stored one, taking more heap than a plain list.
+ * </p>
+ * <p>
+ *     See {@code com.calendar.Benchmark.MemoryBenchmark} for a comparison with a list of events.
+ * </p>
+ */
+public class CompactEventStore {
+
+    private static final int NOT_TIMED = -1;
+
+    private int[] days;
+    private int[] descriptions;
+    // start minute of the day, or NOT_TIMED
+    private int[] startMinutes;
+    // duration in minutes of timed events, number of days after the first one of whole day events
+    private int[] lengths;
+    // minutes before the start, or Event.NO_REMINDER
+    private int[] reminders;
+    private int size;
+    private boolean sorted = true;
+
+    // description pool: text of description i is poolText[poolOffsets[i]..poolOffsets[i + 1])
+    private byte[] poolText = new byte[1024];
+    private int[] poolOffsets = new int[64];
+    private int poolSize;
+    // description number + 1 for every used slot, 0 for free slots
+    private int[] poolTable = new int[128];
+
+    /**
+     * Creates an empty store.
+     */
+    public CompactEventStore() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty store with room for the given number of events.
+     *
+     * @param capacity the initial capacity
+     */
+    public CompactEventStore(int capacity) {
+        int initial = Math.max(capacity, 1);
+        days = new int[initial];
+        descriptions = new int[initial];
+        startMinutes = new int[initial];
+        lengths = new int[initial];
+        reminders = new int[initial];
+    }
+
+    /**
+     * Adds an event. The event object itself is not kept.
+     *
+     * @param event the event to add (must not be null)
+     */
+    public synchronized void add(Event event) {
+        if (size == days.length) {
+            grow(size + 1);
+        }
+        int day = (int) event.getDate().toEpochDay();
+        if (size > 0 && day < days[size - 1]) {
+            sorted = false;
+        }
+
+        days[size] = day;
+        descriptions[size] = intern(event.getDescription());
+        if (event.isTimed()) {
+            startMinutes[size] = event.getStartTime().getHour() * 60 + event.getStartTime().getMinute();
+            lengths[size] = event.getDurationMinutes();
+        } else {
+            startMinutes[size] = NOT_TIMED;
+            lengths[size] = (int) (event.getEndDate().toEpochDay() - day);
+        }
+        reminders[size] = event.getReminderMinutes();
+        size++;
+    }
+
+    /**
+     * Adds many events.
+     *
+     * @param events the events to add (must not be null)
+     */
+    public synchronized void addAll(Collection<Event> events) {
+        grow(size + events.size());
+        for (Event event : events) {
+            add(event);
+        }
+    }
+
+    /**
+     * Returns the number of events.
+     *
+     * @return the number of events
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct descriptions kept in the pool.
+     *
+     * @return the size of the description pool
+     */
+    public synchronized int getDistinctDescriptions() {
+        return poolSize;
+    }
+
+    /**
+     * Creates the event at a position in date order.
+     *
+     * @param index the position (0 to {@code size() - 1})
+     * @return a new event object
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public synchronized Event get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Nieprawidłowy indeks wydarzenia: " + index);
+        }
+        ensureSorted();
+        return toEvent(index);
+    }
+
+    /**
+     * Creates the events starting within a range of days.
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (inclusive)
+     * @return new event objects ordered by date (never null, may be empty)
+     */
+    public synchronized List<Event> getEventsBetween(LocalDate from, LocalDate to) {
+        ensureSorted();
+        int start = lowerBound((int) from.toEpochDay());
+        int end = lowerBound((int) to.toEpochDay() + 1);
+        List<Event> result = new ArrayList<>(Math.max(end - start, 0));
+        for (int i = start; i < end; i++) {
+            result.add(toEvent(i));
+        }
+        return result;
+    }
+
+    /**
+     * Counts the events starting within a range of days without creating any objects.
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (inclusive)
+     * @return the number of events
+     */
+    public synchronized int countBetween(LocalDate from, LocalDate to) {
+        ensureSorted();
+        return Math.max(lowerBound((int) to.toEpochDay() + 1) - lowerBound((int) from.toEpochDay()), 0);
+    }
+
+    /**
+     * Removes all events starting on a date. Descriptions stay in the pool.
+     *
+     * @param date the date
+     * @return the number of removed events
+     */
+    public synchronized int removeDate(LocalDate date) {
+        ensureSorted();
+        int day = (int) date.toEpochDay();
+        int start = lowerBound(day);
+        int end = lowerBound(day + 1);
+        int removed = end - start;
+        if (removed > 0) {
+            int tail = size - end;
+            System.arraycopy(days, end, days, start, tail);
+            System.arraycopy(descriptions, end, descriptions, start, tail);
+            System.arraycopy(startMinutes, end, startMinutes, start, tail);
+            System.arraycopy(lengths, end, lengths, start, tail);
+            System.arraycopy(reminders, end, reminders, start, tail);
+            size -= removed;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the first event equal to the given one. Its description stays in the pool.
+     *
+     * @param event the event to remove
+     * @return {@code true} if an equal event was found
+     */
+    public synchronized boolean remove(Event event) {
+        ensureSorted();
+        int day = (int) event.getDate().toEpochDay();
+        for (int i = lowerBound(day), end = lowerBound(day + 1); i < end; i++) {
+            if (toEvent(i).equals(event)) {
+                int tail = size - i - 1;
+                System.arraycopy(days, i + 1, days, i, tail);
+                System.arraycopy(descriptions, i + 1, descriptions, i, tail);
+                System.arraycopy(startMinutes, i + 1, startMinutes, i, tail);
+                System.arraycopy(lengths, i + 1, lengths, i, tail);
+                System.arraycopy(reminders, i + 1, reminders, i, tail);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estimates the heap taken by the arrays and the description pool, in bytes.
+     *
+     * @return the estimated size in bytes
+     */
+    public synchronized long estimateBytes() {
+        // eight arrays with their headers
+        return 8L * 16 + 4L * (5L * days.length + poolOffsets.length + poolTable.length) + poolText.length;
+    }
+
+    private int intern(String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        int mask = poolTable.length - 1;
+        int slot = mix(Arrays.hashCode(bytes)) & mask;
+        while (poolTable[slot] != 0) {
+            int id = poolTable[slot] - 1;
+            if (Arrays.equals(poolText, poolOffsets[id], poolOffsets[id + 1], bytes, 0, bytes.length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = poolSize++;
+        if (poolSize + 1 > poolOffsets.length) {
+            poolOffsets = Arrays.copyOf(poolOffsets, poolOffsets.length * 2);
+        }
+        int start = poolOffsets[id];
+        if (start + bytes.length > poolText.length) {
+            poolText = Arrays.copyOf(poolText, Math.max(start + bytes.length, poolText.length * 2));
+        }
+        System.arraycopy(bytes, 0, poolText, start, bytes.length);
+        poolOffsets[id + 1] = start + bytes.length;
+
+        poolTable[slot] = id + 1;
+        // keep the table at most half full
+        if (poolSize * 2 > poolTable.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private String description(int id) {
+        int start = poolOffsets[id];
+        return new String(poolText, start, poolOffsets[id + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    private void rehash() {
+        int[] table = new int[poolTable.length * 2];
+        int mask = table.length - 1;
+        for (int id = 0; id < poolSize; id++) {
+            int hash = 1;
+            for (int i = poolOffsets[id]; i < poolOffsets[id + 1]; i++) {
+                hash = 31 * hash + poolText[i];
+            }
+            int slot = mix(hash) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+        poolTable = table;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private Event toEvent(int index) {
+        LocalDate date = LocalDate.ofEpochDay(days[index]);
+        String description = description(descriptions[index]);
+        Event event;
+        if (startMinutes[index] != NOT_TIMED) {
+            event = new Event(date, description, LocalTime.of(startMinutes[index] / 60, startMinutes[index] % 60), lengths[index]);
+        } else if (lengths[index] > 0) {
+            event = new Event(date, date.plusDays(lengths[index]), description);
+        } else {
+            event = new Event(date, description);
+        }
+        return reminders[index] == Event.NO_REMINDER ? event : event.withReminder(reminders[index]);
+    }
+
+    /**
+     * Finds the first position with a day not before the given one.
+     */
+    private int lowerBound(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts by day, keeping the order of events of one day: the day and the old position are
+     * packed into one long, so a primitive sort is enough.
+     */
+    private void ensureSorted() {
+        if (sorted) {
+            return;
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) days[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] newDays = new int[days.length];
+        int[] newDescriptions = new int[days.length];
+        int[] newStartMinutes = new int[days.length];
+        int[] newLengths = new int[days.length];
+        int[] newReminders = new int[days.length];
+        for (int i = 0; i < size; i++) {
+            int from = (int) keys[i];
+            newDays[i] = days[from];
+            newDescriptions[i] = descriptions[from];
+            newStartMinutes[i] = startMinutes[from];
+            newLengths[i] = lengths[from];
+            newReminders[i] = reminders[from];
+        }
+        days = newDays;
+        descriptions = newDescriptions;
+        startMinutes = newStartMinutes;
+        lengths = newLengths;
+        reminders = newReminders;
+        sorted = true;
+    }
+
+    private void grow(int capacity) {
+        if (capacity <= days.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, days.length + (days.length >> 1));
+        days = Arrays.copyOf(days, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        startMinutes = Arrays.copyOf(startMinutes, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+        reminders = Arrays.copyOf(reminders, newCapacity);
+    }
+}
@@ -0,0 +1,118 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVParser;
+import com.calendar.Event.EventCSVWriter;
+import com.calendar.Event.EventParser;
+import com.calendar.Event.EventWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Events kept in a CSV file, one event per line, read whole on every load.
+ * <p>
+ *     Additions are appended to the file, a removal rewrites it. The file is created if it does
+ *     not exist. Reading and writing go through an {@link EventParser} and an {@link EventWriter},
+ *     {@link EventCSVParser} and {@link EventCSVWriter} by default.
+ * </p>
+ */
+public class CsvEventStore implements EventStore {
+
+    /**
+     * Name of the backend, the default one.
+     */
+    public static final String NAME = "csv";
+
+    private final Path file;
+    private final EventParser parser;
+    private final EventWriter writer;
+    // bytes of the lines read by the last load and written since
+    private long sizeBytes;
+
+    /**
+     * Creates a store of a CSV file using the CSV parser and writer.
+     *
+     * @param file the events file
+     */
+    public CsvEventStore(Path file) {
+        this(file, new EventCSVParser(), new EventCSVWriter(file.toString()));
+    }
+
+    /**
+     * Creates a store of a file using the given format.
+     *
+     * @param file the events file
+     * @param parser reads the lines of the file
+     * @param writer writes to the same file
+     */
+    public CsvEventStore(Path file, EventParser parser, EventWriter writer) {
+        this.file = file;
+        this.parser = parser;
+        this.writer = writer;
+    }
+
+    @Override
+    public List<Event> load(int year, int month) throws IOException {
+        // check if file exist if not create it
+        if (!Files.exists(file)) {
+            Files.createFile(file);
+            sizeBytes = 0;
+            return new ArrayList<>();
+        }
+        List<String> lines = Files.readAllLines(file);
+        long bytes = 0;
+        for (String line : lines) {
+            bytes += EventCSVWriter.byteLength(line) + 1;
+        }
+        sizeBytes = bytes;
+        return parser.parseLinesFrom(lines);
+    }
+
+    @Override
+    public long add(List<Event> events) {
+        long written = events.size() == 1 ? writer.writeEvent(events.get(0)) : writer.writeEvents(events);
+        sizeBytes += written;
+        return written;
+    }
+
+    @Override
+    public void removeDate(LocalDate date, List<Event> remaining) {
+        sizeBytes = writer.writeAllEvents(remaining);
+    }
+
+    @Override
+    public void remove(Event event, List<Event> remaining) {
+        sizeBytes = writer.writeAllEvents(remaining);
+    }
+
+    /**
+     * Returns the size of the file as counted while reading and writing it, without asking the
+     * file system; line separators count as one byte.
+     */
+    @Override
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Provider of the {@value #NAME} backend; the location is the path of the file.
+     */
+    public static final class Provider implements EventStoreProvider {
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public EventStore open(String location, Properties config) {
+            return new CsvEventStore(Path.of(location));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Persistent storage of the events of an {@link com.calendar.Event.EventManager}.
+ * <p>
+ *     The manager keeps the loaded events and all indexes in memory and tells the store about
+ *     every change, so a store only has to read and write events. Stores are created by an
+ *     {@link EventStoreProvider} found by {@link EventStores}; {@code csv} (the default),
+ *     {@code paged} and {@code memory} are built in.
+ * </p>
+ * <p>
+ *     A windowed store, like the paged one, loads only the months around the visible one; the
+ *     manager then loads again whenever the visible month changes. Windowed stores are
+ *     synchronized, so the history can be streamed from a background thread, e.g. for statistics.
+ * </p>
+ */
+public interface EventStore extends AutoCloseable {
+
+    /**
+     * Loads the events to keep in memory while a month is shown. Stores that are not windowed
+     * ignore the month and load all events.
+     *
+     * @param year the year of the visible month
+     * @param month the visible month number (1-12)
+     * @return a new list of events (never null, may be empty)
+     * @throws IOException if the events cannot be read
+     */
+    List<Event> load(int year, int month) throws IOException;
+
+    /**
+     * Tells whether {@link #load(int, int)} returns only the months around the given one.
+     *
+     * @return {@code true} for windowed stores
+     */
+    default boolean isWindowed() {
+        return false;
+    }
+
+    /**
+     * Streams the events starting in a year, including months that are not loaded.
+     *
+     * @param year the year
+     * @param action receives every event starting in the year
+     * @throws IOException if the events cannot be read
+     */
+    default void forEachInYear(int year, Consumer<Event> action) throws IOException {
+        for (Event event : load(year, 1)) {
+            if (event.getDate().getYear() == year) {
+                action.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Streams the events starting in a range of days, including months that are not loaded.
+     * The order is up to the store.
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (inclusive)
+     * @param action receives every event starting in the range
+     * @throws IOException if the events cannot be read
+     */
+    default void forEachBetween(LocalDate from, LocalDate to, Consumer<Event> action) throws IOException {
+        for (Event event : load(from.getYear(), from.getMonthValue())) {
+            if (!event.getDate().isBefore(from) && !event.getDate().isAfter(to)) {
+                action.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Streams all stored events, including months that are not loaded. A windowed store reads
+     * them a part at a time, so the whole history never has to fit in memory. The order is up to
+     * the store.
+     *
+     * @param action receives every event
+     * @throws IOException if the events cannot be read
+     */
+    default void forEach(Consumer<Event> action) throws IOException {
+        LocalDate today = LocalDate.now();
+        for (Event event : load(today.getYear(), today.getMonthValue())) {
+            action.accept(event);
+        }
+    }
+
+    /**
+     * Stores new events.
+     *
+     * @param events the added events (must not be null)
+     * @return the number of bytes written, reported by the metrics; 0 if the store does not count them
+     * @throws IOException if the events cannot be written
+     */
+    long add(List<Event> events) throws IOException;
+
+    /**
+     * Removes all events starting on a date.
+     *
+     * @param date the date
+     * @param remaining the events left in memory after the removal, for stores that rewrite
+     *                  everything they hold
+     * @throws IOException if the change cannot be written
+     */
+    void removeDate(LocalDate date, List<Event> remaining) throws IOException;
+
+    /**
+     * Removes a single event: the first stored one equal to it. Other events of the same day stay.
+     *
+     * @param event the event to remove
+     * @param remaining the events left in memory after the removal, for stores that rewrite
+     *                  everything they hold
+     * @throws IOException if the change cannot be written
+     */
+    void remove(Event event, List<Event> remaining) throws IOException;
+
+    /**
+     * Returns the size of the stored data, reported by the load metrics. Called after every load,
+     * so it should not have to ask the file system.
+     *
+     * @return the size in bytes, 0 if unknown
+     */
+    default long getSizeBytes() {
+        return 0;
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
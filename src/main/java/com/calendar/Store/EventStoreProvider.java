@@ -0,0 +1,31 @@
+package com.calendar.Store;
+
+import java.util.Properties;
+
+/**
+ * Creates {@link EventStore}s of one kind; the service interface of the storage backends.
+ * <p>
+ *     Providers are found with {@link java.util.ServiceLoader}: declared with {@code provides} in
+ *     a {@code module-info}, or in {@code META-INF/services/com.calendar.Store.EventStoreProvider}
+ *     on the class path. {@link EventStores} picks the one whose {@link #getName()} equals the
+ *     {@value EventStores#STORE_PROPERTY} setting.
+ * </p>
+ */
+public interface EventStoreProvider {
+
+    /**
+     * Returns the name selecting this provider, e.g. {@code csv}.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Creates a store. Must not read any data, that is done by {@link EventStore#load(int, int)}.
+     *
+     * @param location where the events are kept, e.g. a file path; stores may ignore it
+     * @param config the configuration, see {@link EventStores#getConfig()}
+     * @return a new store
+     */
+    EventStore open(String location, Properties config);
+}
@@ -0,0 +1,182 @@
+package com.calendar.Store;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the storage backends and opens the configured one.
+ * <p>
+ *     Backends are {@link EventStoreProvider}s loaded with {@link ServiceLoader}. The backend and
+ *     its location are chosen by the settings below, read from system properties or from a
+ *     properties file: {@value #CONFIG_FILE} in the working directory, or the file given by
+ *     {@code -D}{@value #CONFIG_PROPERTY}. System properties win over the file.
+ * </p>
+ * <ul>
+ *     <li>{@value #STORE_PROPERTY}: the backend, {@code csv} (default), {@code paged}, {@code h2}, {@code mmap} or {@code memory}</li>
+ *     <li>{@value #LOCATION_PROPERTY}: where the events are kept, {@link #DEFAULT_LOCATION} by default</li>
+ *     <li>{@value #WINDOW_PROPERTY}, {@value #BUDGET_PROPERTY}: see {@link PagedEventStore}; the window is also used by
+ *     {@link H2EventStore} and {@link MappedEventStore}</li>
+ * </ul>
+ */
+public final class EventStores {
+
+    /**
+     * System property with the path of the configuration file.
+     */
+    public static final String CONFIG_PROPERTY = "calendar.config";
+
+    /**
+     * Configuration file read from the working directory if {@value #CONFIG_PROPERTY} is not set.
+     */
+    public static final String CONFIG_FILE = "calendar.properties";
+
+    /**
+     * Setting with the name of the backend, {@value #DEFAULT_STORE} by default.
+     */
+    public static final String STORE_PROPERTY = "calendar.store";
+
+    /**
+     * Setting with the location of the events, e.g. the path of the CSV file.
+     */
+    public static final String LOCATION_PROPERTY = "calendar.store.location";
+
+    /**
+     * Setting with the number of months kept loaded on each side of the visible one in the
+     * paged storage, 1 by default.
+     */
+    public static final String WINDOW_PROPERTY = "calendar.store.window";
+
+    /**
+     * Setting with the number of loaded events above which the paged storage drops months
+     * outside the window, 200000 by default.
+     */
+    public static final String BUDGET_PROPERTY = "calendar.store.budget";
+
+    /**
+     * Backend used when none is configured.
+     */
+    public static final String DEFAULT_STORE = "csv";
+
+    /**
+     * Location used when none is configured, relative to the working directory.
+     */
+    public static final String DEFAULT_LOCATION = Path.of(System.getProperty("user.dir")).toAbsolutePath() + "/src/main/java/com/calendar/Event/events.csv";
+
+    private static volatile Map<String, EventStoreProvider> providers;
+    private static volatile Properties config;
+
+    private EventStores() {
+    }
+
+    /**
+     * Returns the configuration: the configuration file, if any, overridden by system properties.
+     * Both are read on the first call only.
+     *
+     * @return the configuration, shared by all callers, so it must not be changed
+     */
+    public static Properties getConfig() {
+        Properties found = config;
+        if (found == null) {
+            found = readConfig();
+            config = found;
+        }
+        return found;
+    }
+
+    private static Properties readConfig() {
+        Properties read = new Properties();
+        String configFile = System.getProperty(CONFIG_PROPERTY);
+        Path path = Path.of(configFile != null ? configFile : CONFIG_FILE);
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                read.load(reader);
+            } catch (IOException e) {
+                System.err.println("Nie udało się wczytać konfiguracji " + path + ": " + e.getMessage());
+            }
+        } else if (configFile != null) {
+            System.err.println("Brak pliku konfiguracji: " + path);
+        }
+        read.putAll(System.getProperties());
+        return read;
+    }
+
+    /**
+     * Returns the configured location of the events.
+     *
+     * @return the value of {@value #LOCATION_PROPERTY}, or {@link #DEFAULT_LOCATION}
+     */
+    public static String getDefaultLocation() {
+        return getConfig().getProperty(LOCATION_PROPERTY, DEFAULT_LOCATION);
+    }
+
+    /**
+     * Returns the names of all backends found.
+     *
+     * @return the names, in the order the backends were found
+     */
+    public static List<String> getAvailable() {
+        return new ArrayList<>(providers().keySet());
+    }
+
+    /**
+     * Opens the configured backend at a location. An unknown backend is reported and the
+     * {@value #DEFAULT_STORE} one used instead.
+     *
+     * @param location where the events are kept
+     * @return a new store
+     */
+    public static EventStore open(String location) {
+        Properties config = getConfig();
+        String name = config.getProperty(STORE_PROPERTY, DEFAULT_STORE);
+        EventStoreProvider provider = providers().get(name);
+        if (provider == null) {
+            System.err.println("Nieznany magazyn wydarzeń: " + name + ", używam " + DEFAULT_STORE);
+            provider = providers().get(DEFAULT_STORE);
+        }
+        return provider.open(location, config);
+    }
+
+    /**
+     * Opens a backend by name, ignoring the {@value #STORE_PROPERTY} setting.
+     *
+     * @param name the name of the backend, e.g. {@code memory}
+     * @param location where the events are kept
+     * @return a new store
+     * @throws IllegalArgumentException if no backend has the name
+     */
+    public static EventStore open(String name, String location) {
+        EventStoreProvider provider = providers().get(name);
+        if (provider == null) {
+            throw new IllegalArgumentException("Nieznany magazyn wydarzeń: " + name);
+        }
+        return provider.open(location, getConfig());
+    }
+
+    private static Map<String, EventStoreProvider> providers() {
+        Map<String, EventStoreProvider> found = providers;
+        if (found == null) {
+            found = new LinkedHashMap<>();
+            for (EventStoreProvider provider : ServiceLoader.load(EventStoreProvider.class)) {
+                // the first provider of a name wins
+                found.putIfAbsent(provider.getName(), provider);
+            }
+            // without a module or service file, e.g. when classes are copied by hand
+            found.putIfAbsent(CsvEventStore.NAME, new CsvEventStore.Provider());
+            found.putIfAbsent(PagedEventStore.NAME, new PagedEventStore.Provider());
+            found.putIfAbsent(H2EventStore.NAME, new H2EventStore.Provider());
+            found.putIfAbsent(MappedEventStore.NAME, new MappedEventStore.Provider());
+            found.putIfAbsent(MemoryEventStore.NAME, new MemoryEventStore.Provider());
+            providers = found;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,448 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Events kept in an embedded H2 database file, queried month by month.
+ * <p>
+ *     Every event is a row of the {@code events} table, indexed by its first day and by its
+ *     lower-cased description. Like {@link PagedEventStore} the store is windowed: a load reads
+ *     the visible month and {@value EventStores#WINDOW_PROPERTY} months on each side with two
+ *     prepared range queries on the first day, one for the events starting in the window and one
+ *     for earlier events lasting into it, which only has to look back as far as the longest
+ *     event (kept in the one-row {@code events_span} table). Additions are batched inserts in one transaction and a removal
+ *     deletes the rows of one day, so no change rewrites the whole calendar.
+ * </p>
+ * <p>
+ *     The location is the path of the CSV events file; the database is kept next to it
+ *     ({@code events.mv.db} for {@code events.csv}) and filled from the CSV file when it is
+ *     created, before the indexes are built. The import is one transaction which also writes the
+ *     row of {@code events_span}; that row marks a finished import, so an import cut short is
+ *     rolled back and started again on the next connection. A location starting with {@code jdbc:} is used as
+ *     the database URL instead. The H2 driver ({@code com.h2database:h2}) has to be on the class or module path; the
+ *     connection is opened on the first load.
+ * </p>
+ */
+public class H2EventStore implements EventStore {
+
+    /**
+     * Name of the backend.
+     */
+    public static final String NAME = "h2";
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final String COLUMNS = "start_date, end_date, description, start_time, duration_minutes, reminder_minutes";
+
+    private final String url;
+    private final Path csvFile;
+    private final int window;
+    private final EventCSVParser parser = new EventCSVParser();
+    // longest event in days after its first one, as in events_span; never lowered, a stale value only widens a query
+    private int maxSpanDays;
+
+    private Connection connection;
+    private PreparedStatement startingBetween;
+    private PreparedStatement lastingInto;
+    private PreparedStatement all;
+    private PreparedStatement insert;
+    private PreparedStatement updateSpan;
+    private PreparedStatement deleteDate;
+    private PreparedStatement deleteOne;
+    private PreparedStatement byPrefix;
+
+    /**
+     * Creates a store of the database belonging to a CSV events file, or of a database URL.
+     *
+     * @param location the path of the CSV file, or a JDBC URL
+     * @param window number of months loaded on each side of the visible month
+     */
+    public H2EventStore(String location, int window) {
+        if (location.startsWith("jdbc:")) {
+            this.url = location;
+            this.csvFile = null;
+        } else {
+            this.csvFile = Path.of(location).toAbsolutePath();
+            String name = csvFile.getFileName().toString();
+            String base = name.endsWith(".csv") ? name.substring(0, name.length() - 4) : name;
+            this.url = "jdbc:h2:file:" + csvFile.resolveSibling(base);
+        }
+        this.window = window;
+    }
+
+    @Override
+    public synchronized List<Event> load(int year, int month) throws IOException {
+        LocalDate first = LocalDate.of(year, month, 1).minusMonths(window);
+        LocalDate last = LocalDate.of(year, month, 1).plusMonths(window + 1L).minusDays(1);
+        List<Event> events = new ArrayList<>();
+        try {
+            connect();
+            if (maxSpanDays > 0) {
+                lastingInto.setObject(1, first.minusDays(maxSpanDays));
+                lastingInto.setObject(2, first);
+                lastingInto.setObject(3, first);
+                read(lastingInto, events::add);
+            }
+            startingBetween.setObject(1, first);
+            startingBetween.setObject(2, last);
+            read(startingBetween, events::add);
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return events;
+    }
+
+    @Override
+    public boolean isWindowed() {
+        return true;
+    }
+
+    @Override
+    public synchronized void forEachInYear(int year, Consumer<Event> action) throws IOException {
+        forEachBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), action);
+    }
+
+    @Override
+    public synchronized void forEachBetween(LocalDate from, LocalDate to, Consumer<Event> action) throws IOException {
+        try {
+            connect();
+            startingBetween.setObject(1, from);
+            startingBetween.setObject(2, to);
+            read(startingBetween, action);
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void forEach(Consumer<Event> action) throws IOException {
+        try {
+            connect();
+            read(all, action);
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized long add(List<Event> events) throws IOException {
+        try {
+            connect();
+            insertAll(events);
+            return 0;
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void removeDate(LocalDate date, List<Event> remaining) throws IOException {
+        try {
+            connect();
+            deleteDate.setObject(1, date);
+            deleteDate.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Event event, List<Event> remaining) throws IOException {
+        try {
+            connect();
+            deleteOne.setObject(1, event.getDate());
+            deleteOne.setObject(2, lastDay(event));
+            deleteOne.setString(3, event.getDescription());
+            deleteOne.setObject(4, event.isTimed() ? event.getStartTime() : null, Types.TIME);
+            deleteOne.setInt(5, event.getDurationMinutes());
+            deleteOne.setObject(6, event.hasReminder() ? event.getReminderMinutes() : null, Types.INTEGER);
+            deleteOne.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Finds events whose description starts with a text, ignoring case, using the description
+     * index; the events do not have to be loaded.
+     *
+     * @param prefix the beginning of the description
+     * @param limit maximal number of returned events
+     * @return matching events ordered by description (never null, may be empty)
+     * @throws IOException if the database cannot be read
+     */
+    public synchronized List<Event> findByDescriptionPrefix(String prefix, int limit) throws IOException {
+        List<Event> events = new ArrayList<>();
+        try {
+            connect();
+            byPrefix.setString(1, descriptionKey(prefix).replace("\\", "\\\\")
+                    .replace("%", "\\%").replace("_", "\\_") + "%");
+            byPrefix.setMaxRows(limit);
+            read(byPrefix, events::add);
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return events;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            connection = null;
+        }
+    }
+
+    private void connect() throws SQLException, IOException {
+        if (connection != null) {
+            return;
+        }
+        connection = DriverManager.getConnection(url);
+        try {
+            prepare();
+        } catch (SQLException | IOException | RuntimeException e) {
+            // the next call connects again instead of using half prepared statements
+            try {
+                connection.close();
+            } catch (SQLException closing) {
+                e.addSuppressed(closing);
+            }
+            connection = null;
+            throw e;
+        }
+    }
+
+    private void prepare() throws SQLException, IOException {
+        createTables();
+        insert = connection.prepareStatement("INSERT INTO events (" + COLUMNS
+                + ", description_key) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        updateSpan = connection.prepareStatement("UPDATE events_span SET max_days = ?");
+        if (!isImported()) {
+            // indexes are built afterwards, in one pass instead of row by row
+            importCsv();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS events_start_date ON events (start_date)");
+            statement.execute("CREATE INDEX IF NOT EXISTS events_description ON events (description_key)");
+            try (ResultSet max = statement.executeQuery("SELECT max_days FROM events_span")) {
+                maxSpanDays = max.next() ? max.getInt(1) : 0;
+            }
+        }
+
+        startingBetween = connection.prepareStatement("SELECT " + COLUMNS
+                + " FROM events WHERE start_date BETWEEN ? AND ? ORDER BY start_date, id");
+        lastingInto = connection.prepareStatement("SELECT " + COLUMNS
+                + " FROM events WHERE start_date >= ? AND start_date < ? AND end_date >= ? ORDER BY start_date, id");
+        all = connection.prepareStatement("SELECT " + COLUMNS + " FROM events ORDER BY start_date, id");
+        deleteDate = connection.prepareStatement("DELETE FROM events WHERE start_date = ?");
+        // equal events are interchangeable, the first one added goes
+        deleteOne = connection.prepareStatement("DELETE FROM events WHERE id = (SELECT MIN(id) FROM events"
+                + " WHERE start_date = ? AND end_date = ? AND description = ? AND start_time IS NOT DISTINCT FROM ?"
+                + " AND duration_minutes = ? AND reminder_minutes IS NOT DISTINCT FROM ?)");
+        byPrefix = connection.prepareStatement("SELECT " + COLUMNS
+                + " FROM events WHERE description_key LIKE ? ESCAPE '\\' ORDER BY description_key, start_date");
+    }
+
+    /**
+     * Creates the tables if they do not exist; {@code events_span} stays empty until the import.
+     */
+    private void createTables() throws SQLException {
+        boolean exists;
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, "EVENTS", null)) {
+            exists = tables.next();
+        }
+        if (exists) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE events ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "start_date DATE NOT NULL, "
+                    // last day touched, also for timed events lasting past midnight
+                    + "end_date DATE NOT NULL, "
+                    + "description VARCHAR(4096) NOT NULL, "
+                    + "start_time TIME, "
+                    + "duration_minutes INT NOT NULL, "
+                    + "reminder_minutes INT, "
+                    + "description_key VARCHAR(4096) NOT NULL)");
+            statement.execute("CREATE TABLE events_span (max_days INT NOT NULL)");
+        }
+    }
+
+    private boolean isImported() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("SELECT COUNT(*) FROM events_span")) {
+            return row.next() && row.getInt(1) > 0;
+        }
+    }
+
+    /**
+     * Fills the new database from the CSV file in one transaction, ending with the row of
+     * {@code events_span}; rows left by an earlier import that did not finish are dropped first.
+     */
+    private void importCsv() throws IOException, SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM events");
+            int maxSpan = 0;
+            if (csvFile != null && Files.exists(csvFile)) {
+                List<Event> batch = new ArrayList<>(BATCH_SIZE);
+                try (BufferedReader reader = Files.newBufferedReader(csvFile)) {
+                    String line;
+                    long lineNumber = 0;
+                    while ((line = reader.readLine()) != null) {
+                        lineNumber++;
+                        Event event = line.isBlank() ? null : parser.parseOrReport(line, lineNumber);
+                        if (event == null) {
+                            continue;
+                        }
+                        batch.add(event);
+                        if (batch.size() == BATCH_SIZE) {
+                            maxSpan = Math.max(maxSpan, insertRows(batch));
+                            batch.clear();
+                        }
+                    }
+                }
+                maxSpan = Math.max(maxSpan, insertRows(batch));
+            }
+            statement.execute("INSERT INTO events_span VALUES (" + maxSpan + ")");
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void insertAll(List<Event> events) throws SQLException {
+        if (events.isEmpty()) {
+            return;
+        }
+        connection.setAutoCommit(false);
+        try {
+            int maxSpan = Math.max(maxSpanDays, insertRows(events));
+            if (maxSpan > maxSpanDays) {
+                updateSpan.setInt(1, maxSpan);
+                updateSpan.executeUpdate();
+            }
+            connection.commit();
+            maxSpanDays = maxSpan;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Inserts rows in batches without committing.
+     *
+     * @return the longest span of the events in days after their first one
+     */
+    private int insertRows(List<Event> events) throws SQLException {
+        int maxSpan = 0;
+        int pending = 0;
+        for (Event event : events) {
+            insert.setObject(1, event.getDate());
+            insert.setObject(2, lastDay(event));
+            insert.setString(3, event.getDescription());
+            if (event.isTimed()) {
+                insert.setObject(4, event.getStartTime());
+            } else {
+                insert.setNull(4, Types.TIME);
+            }
+            insert.setInt(5, event.getDurationMinutes());
+            if (event.hasReminder()) {
+                insert.setInt(6, event.getReminderMinutes());
+            } else {
+                insert.setNull(6, Types.INTEGER);
+            }
+            insert.setString(7, descriptionKey(event.getDescription()));
+            maxSpan = Math.max(maxSpan, (int) (lastDay(event).toEpochDay() - event.getDate().toEpochDay()));
+            insert.addBatch();
+            if (++pending == BATCH_SIZE) {
+                insert.executeBatch();
+                pending = 0;
+            }
+        }
+        insert.executeBatch();
+        return maxSpan;
+    }
+
+    private static void read(PreparedStatement query, Consumer<Event> action) throws SQLException {
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                action.accept(toEvent(rows));
+            }
+        }
+    }
+
+    private static Event toEvent(ResultSet row) throws SQLException {
+        LocalDate date = row.getObject(1, LocalDate.class);
+        LocalDate endDate = row.getObject(2, LocalDate.class);
+        String description = row.getString(3);
+        LocalTime startTime = row.getObject(4, LocalTime.class);
+
+        Event event;
+        if (startTime != null) {
+            event = new Event(date, description, startTime, row.getInt(5));
+        } else if (endDate.isAfter(date)) {
+            event = new Event(date, endDate, description);
+        } else {
+            event = new Event(date, description);
+        }
+        int reminder = row.getInt(6);
+        return row.wasNull() ? event : event.withReminder(reminder);
+    }
+
+    private static LocalDate lastDay(Event event) {
+        return event.isTimed() ? event.getEnd().minusMinutes(1).toLocalDate() : event.getEndDate();
+    }
+
+    private static String descriptionKey(String description) {
+        return description.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Provider of the {@value #NAME} backend.
+     */
+    public static final class Provider implements EventStoreProvider {
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public EventStore open(String location, Properties config) {
+            return new H2EventStore(location, Integer.parseInt(config.getProperty(EventStores.WINDOW_PROPERTY, "1")));
+        }
+    }
+}
@@ -0,0 +1,676 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVParser;
+import com.calendar.Event.EventCSVWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Events kept off the heap in a memory-mapped file of fixed-size records.
+ * <p>
+ *     The file ({@code <events>.mmap}) holds a header, then one {@value #RECORD_SIZE}-byte record
+ *     per event sorted by date (epoch day, length in days, start minute, duration, reminder and the
+ *     offset and length of the description), then the UTF-8 descriptions one after another. Opening
+ *     the store maps the file and checks the header against the file size, so a start costs the
+ *     same for a thousand events as for ten million, and the operating system's page cache keeps
+ *     a warm file in memory between runs.
+ * </p>
+ * <p>
+ *     The store is windowed: a load finds the visible month and {@value EventStores#WINDOW_PROPERTY}
+ *     months on each side by binary search over the records and creates {@link Event} objects
+ *     for those only; events lasting into the window are found by looking back as far as the
+ *     longest event.
+ * </p>
+ * <p>
+ *     New events are appended to a small journal (CSV lines). Removed mapped records stay in the
+ *     file and are only marked: their numbers are appended to the removal list
+ *     {@code <events>.mmap.<n>.del}, and reads skip them. The journal and the removals are merged
+ *     into the mapped file once {@value #JOURNAL_LIMIT} changes have been collected or when the
+ *     store is closed. A merge streams the records and the descriptions into a new file in two
+ *     sequential passes; removed records and their descriptions are dropped on the way.
+ * </p>
+ * <p>
+ *     Every merge writes a new generation: the data file {@code <events>.mmap.<n>} with its
+ *     journal {@code <events>.mmap.<n>.log} and removal list, generation 0 being
+ *     {@code <events>.mmap}, {@code <events>.mmap.log} and {@code <events>.mmap.del}. The small pointer file {@code <events>.mmap.current} names the
+ *     current generation and is replaced atomically once the new data file is on disk; that is
+ *     the only commit point. A mapped file is thus never replaced or truncated, which some
+ *     systems refuse, and since the new generation starts without a journal and a removal list,
+ *     the merged ones are dropped by the same switch. Files of other generations are deleted after the switch or,
+ *     if they are still mapped, on the next open.
+ * </p>
+ * <p>
+ *     On first use the file is built from the CSV file of the same name, which has to fit in
+ *     memory once; later changes go to the mapped file only. A file that fails the check is
+ *     rebuilt from the CSV file. The mapped file is limited to 2 GB.
+ * </p>
+ */
+public class MappedEventStore implements EventStore {
+
+    /**
+     * Name of the backend.
+     */
+    public static final String NAME = "mmap";
+
+    private static final int MAGIC = 0x43414C4D;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 28;
+    private static final int JOURNAL_LIMIT = 10_000;
+    private static final int WHOLE_DAY = -1;
+
+    // field offsets within a record
+    private static final int DAY = 0;
+    private static final int SPAN = 4;
+    private static final int START_MINUTE = 8;
+    private static final int DURATION = 12;
+    private static final int REMINDER = 16;
+    private static final int TEXT_OFFSET = 20;
+    private static final int TEXT_LENGTH = 24;
+
+    private final Path csvFile;
+    private final Path pointerFile;
+    private final int window;
+    private final EventCSVParser parser = new EventCSVParser();
+
+    private int generation;
+    private Path dataFile;
+    private Path journalFile;
+    private Path removedFile;
+    private MappedByteBuffer map;
+    private int count;
+    private int maxSpan;
+    private int arenaStart;
+    // added events not merged into the mapped file yet, in insertion order
+    private final List<Event> journal = new ArrayList<>();
+    // numbers of the mapped records removed since the last merge
+    private final BitSet removed = new BitSet();
+
+    /**
+     * Creates a store belonging to a CSV events file. Nothing is read until the first load.
+     *
+     * @param csvFile the CSV events file
+     * @param window number of months loaded on each side of the visible month
+     */
+    public MappedEventStore(Path csvFile, int window) {
+        this.csvFile = csvFile;
+        this.pointerFile = Path.of(csvFile + ".mmap.current");
+        this.dataFile = dataFile(0);
+        this.journalFile = journalFile(0);
+        this.removedFile = removedFile(0);
+        this.window = window;
+    }
+
+    @Override
+    public synchronized List<Event> load(int year, int month) throws IOException {
+        open();
+        LocalDate first = LocalDate.of(year, month, 1).minusMonths(window);
+        LocalDate last = LocalDate.of(year, month, 1).plusMonths(window + 1L).minusDays(1);
+        int firstDay = (int) first.toEpochDay();
+        int lastDay = (int) last.toEpochDay();
+
+        List<Event> events = new ArrayList<>();
+        ByteBuffer view = map.duplicate();
+        // earlier events lasting into the window
+        for (int i = lowerBound(firstDay - maxSpan), end = lowerBound(firstDay); i < end; i++) {
+            if (!removed.get(i) && intAt(i, DAY) + intAt(i, SPAN) >= firstDay) {
+                events.add(toEvent(view, i));
+            }
+        }
+        for (int i = nextKept(lowerBound(firstDay)), end = lowerBound(lastDay + 1); i < end; i = nextKept(i + 1)) {
+            events.add(toEvent(view, i));
+        }
+        for (Event event : journal) {
+            if (!lastDay(event).isBefore(first) && !event.getDate().isAfter(last)) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    @Override
+    public boolean isWindowed() {
+        return true;
+    }
+
+    @Override
+    public synchronized void forEachInYear(int year, Consumer<Event> action) throws IOException {
+        forEachBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), action);
+    }
+
+    /**
+     * Streams the events starting in a range of days: the mapped ones ordered by date, then the
+     * ones still in the journal.
+     */
+    @Override
+    public synchronized void forEachBetween(LocalDate from, LocalDate to, Consumer<Event> action) throws IOException {
+        open();
+        ByteBuffer view = map.duplicate();
+        int end = lowerBound((int) to.toEpochDay() + 1);
+        for (int i = nextKept(lowerBound((int) from.toEpochDay())); i < end; i = nextKept(i + 1)) {
+            action.accept(toEvent(view, i));
+        }
+        for (Event event : journal) {
+            if (!event.getDate().isBefore(from) && !event.getDate().isAfter(to)) {
+                action.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Streams all events: the mapped ones ordered by date, then the ones still in the journal.
+     */
+    @Override
+    public synchronized void forEach(Consumer<Event> action) throws IOException {
+        open();
+        ByteBuffer view = map.duplicate();
+        for (int i = nextKept(0); i < count; i = nextKept(i + 1)) {
+            action.accept(toEvent(view, i));
+        }
+        for (Event event : journal) {
+            action.accept(event);
+        }
+    }
+
+    @Override
+    public synchronized long add(List<Event> events) throws IOException {
+        open();
+        List<String> lines = new ArrayList<>(events.size());
+        long bytes = 0;
+        for (Event event : events) {
+            String line = EventCSVWriter.toCsvLine(event);
+            lines.add(line);
+            bytes += EventCSVWriter.byteLength(line) + System.lineSeparator().length();
+        }
+        Files.write(journalFile, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        journal.addAll(events);
+        mergeIfFull();
+        return bytes;
+    }
+
+    @Override
+    public synchronized void removeDate(LocalDate date, List<Event> remaining) throws IOException {
+        open();
+        int day = (int) date.toEpochDay();
+        if (journal.removeIf(event -> event.getDate().equals(date))) {
+            writeJournal();
+        }
+        BitSet records = new BitSet(count);
+        records.set(lowerBound(day), lowerBound(day + 1));
+        records.andNot(removed);
+        markRemoved(records);
+    }
+
+    @Override
+    public synchronized void remove(Event event, List<Event> remaining) throws IOException {
+        open();
+        int day = (int) event.getDate().toEpochDay();
+        ByteBuffer view = map.duplicate();
+        for (int i = nextKept(lowerBound(day)), end = lowerBound(day + 1); i < end; i = nextKept(i + 1)) {
+            if (toEvent(view, i).equals(event)) {
+                BitSet records = new BitSet(count);
+                records.set(i);
+                markRemoved(records);
+                return;
+            }
+        }
+        if (journal.remove(event)) {
+            writeJournal();
+        }
+    }
+
+    /**
+     * Returns the number of events, mapped and not removed or in the journal.
+     *
+     * @return the number of stored events
+     * @throws IOException if the file cannot be opened
+     */
+    public synchronized int size() throws IOException {
+        open();
+        return count - removed.cardinality() + journal.size();
+    }
+
+    @Override
+    public synchronized long getSizeBytes() {
+        return map == null ? 0 : map.capacity();
+    }
+
+    /**
+     * Merges the journal and the removals into the mapped file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (map != null && (!journal.isEmpty() || !removed.isEmpty())) {
+            merge();
+        }
+        map = null;
+    }
+
+    // OPENING
+
+    private void open() throws IOException {
+        if (map != null) {
+            return;
+        }
+        switchTo(readGeneration());
+        deleteOtherGenerations();
+        if (!Files.exists(dataFile)) {
+            build();
+        } else if (!mapAndValidate()) {
+            System.err.println("Uszkodzony plik wydarzeń " + dataFile + ", odbudowuję z " + csvFile);
+            build();
+        }
+        readJournal();
+        readRemoved();
+    }
+
+    /**
+     * Maps the file and checks its header.
+     *
+     * @return {@code false} if the file is not a valid store
+     */
+    private boolean mapAndValidate() throws IOException {
+        long size = Files.size(dataFile);
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int records = map.getInt(8);
+        long arenaLength = map.getLong(16);
+        if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || records < 0
+                || HEADER_SIZE + (long) records * RECORD_SIZE + arenaLength != size) {
+            map = null;
+            return false;
+        }
+        count = records;
+        maxSpan = map.getInt(12);
+        arenaStart = HEADER_SIZE + records * RECORD_SIZE;
+        return true;
+    }
+
+    private void build() throws IOException {
+        journal.clear();
+        if (Files.exists(csvFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(csvFile)) {
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    Event event = line.isBlank() ? null : parser.parseOrReport(line, lineNumber);
+                    if (event != null) {
+                        journal.add(event);
+                    }
+                }
+            }
+        }
+        map = null;
+        count = 0;
+        removed.clear();
+        merge();
+    }
+
+    private void readJournal() throws IOException {
+        journal.clear();
+        if (Files.exists(journalFile)) {
+            journal.addAll(parser.parseLinesFrom(Files.readAllLines(journalFile, StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Rewrites the journal, replacing it atomically.
+     */
+    private void writeJournal() throws IOException {
+        List<String> lines = new ArrayList<>(journal.size());
+        for (Event event : journal) {
+            lines.add(EventCSVWriter.toCsvLine(event));
+        }
+        Path temp = Files.createTempFile(journalFile.toAbsolutePath().getParent(), "events", ".log");
+        try {
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads the removal list; a number cut off by a crash while it was appended is ignored.
+     */
+    private void readRemoved() throws IOException {
+        removed.clear();
+        if (Files.exists(removedFile)) {
+            ByteBuffer numbers = ByteBuffer.wrap(Files.readAllBytes(removedFile));
+            while (numbers.remaining() >= 4) {
+                int record = numbers.getInt();
+                if (record >= 0 && record < count) {
+                    removed.set(record);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the numbers of removed mapped records to the removal list and skips them from now on.
+     *
+     * @param records the numbers of the records, none of them removed before
+     */
+    private void markRemoved(BitSet records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        ByteBuffer numbers = ByteBuffer.allocate(records.cardinality() * 4);
+        records.stream().forEach(numbers::putInt);
+        numbers.flip();
+        try (FileChannel channel = FileChannel.open(removedFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (numbers.hasRemaining()) {
+                channel.write(numbers);
+            }
+        }
+        removed.or(records);
+        mergeIfFull();
+    }
+
+    private void mergeIfFull() throws IOException {
+        if (journal.size() + removed.cardinality() >= JOURNAL_LIMIT) {
+            merge();
+        }
+    }
+
+    // GENERATIONS
+
+    private Path dataFile(int dataGeneration) {
+        return Path.of(csvFile + (dataGeneration == 0 ? ".mmap" : ".mmap." + dataGeneration));
+    }
+
+    private Path journalFile(int dataGeneration) {
+        return Path.of(dataFile(dataGeneration) + ".log");
+    }
+
+    private Path removedFile(int dataGeneration) {
+        return Path.of(dataFile(dataGeneration) + ".del");
+    }
+
+    private void switchTo(int dataGeneration) {
+        generation = dataGeneration;
+        dataFile = dataFile(dataGeneration);
+        journalFile = journalFile(dataGeneration);
+        removedFile = removedFile(dataGeneration);
+    }
+
+    /**
+     * Reads the current generation from the pointer file; without it the store is of generation 0.
+     */
+    private int readGeneration() throws IOException {
+        if (!Files.exists(pointerFile)) {
+            return 0;
+        }
+        String text = Files.readString(pointerFile, StandardCharsets.UTF_8).trim();
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Nieprawidłowy plik " + pointerFile + ": " + text, e);
+        }
+    }
+
+    /**
+     * Makes a generation the current one by replacing the pointer file atomically.
+     */
+    private void writeGeneration(int dataGeneration) throws IOException {
+        Path temp = Files.createTempFile(pointerFile.toAbsolutePath().getParent(), "events", ".current");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(String.valueOf(dataGeneration).getBytes(StandardCharsets.UTF_8)));
+                channel.force(true);
+            }
+            Files.move(temp, pointerFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes data files, journals and removal lists of other generations, left by a crash during a merge or
+     * still mapped when the merge switched generations.
+     */
+    private void deleteOtherGenerations() throws IOException {
+        Path directory = dataFile.toAbsolutePath().getParent();
+        String prefix = csvFile.getFileName() + ".mmap";
+        String current = dataFile.getFileName().toString();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String generationName = name.endsWith(".log") || name.endsWith(".del")
+                        ? name.substring(0, name.length() - 4) : name;
+                String suffix = generationName.substring(prefix.length());
+                if ((suffix.isEmpty() || suffix.matches("\\.\\d+")) && !generationName.equals(current)) {
+                    deleteIfUnused(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes a file of an old generation unless the system refuses, e.g. because it is still mapped.
+     */
+    private static void deleteIfUnused(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // deleted on the next open
+        }
+    }
+
+    // MERGING
+
+    /**
+     * Writes a new file with the mapped records and the journal, without the removed records,
+     * and maps it.
+     */
+    private void merge() throws IOException {
+        List<Event> added = new ArrayList<>(journal);
+        // stable, so events of one day keep the order they were added in
+        added.sort(Comparator.comparing(Event::getDate));
+        List<byte[]> addedTexts = new ArrayList<>(added.size());
+        for (Event event : added) {
+            addedTexts.add(event.getDescription().getBytes(StandardCharsets.UTF_8));
+        }
+        int newCount = count - removed.cardinality() + added.size();
+
+        int nextGeneration = generation + 1;
+        Path target = dataFile(nextGeneration);
+        int newMaxSpan = 0;
+        long arenaLength = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Channels.newOutputStream(FileChannel.open(target, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)), 1 << 16))) {
+            out.write(new byte[HEADER_SIZE]);
+
+            // pass 1: records, with descriptions numbered in the order they will be written
+            int i = 0;
+            int j = 0;
+            while (i < count || j < added.size()) {
+                if (i < count && removed.get(i)) {
+                    i++;
+                } else if (j == added.size() || (i < count && intAt(i, DAY) <= added.get(j).getDate().toEpochDay())) {
+                    for (int field = 0; field < TEXT_OFFSET; field += 4) {
+                        out.writeInt(intAt(i, field));
+                    }
+                    out.writeInt((int) arenaLength);
+                    out.writeInt(intAt(i, TEXT_LENGTH));
+                    newMaxSpan = Math.max(newMaxSpan, intAt(i, SPAN));
+                    arenaLength += intAt(i, TEXT_LENGTH);
+                    i++;
+                } else {
+                    Event event = added.get(j);
+                    int span = (int) (lastDay(event).toEpochDay() - event.getDate().toEpochDay());
+                    out.writeInt((int) event.getDate().toEpochDay());
+                    out.writeInt(span);
+                    out.writeInt(event.isTimed() ? event.getStartTime().getHour() * 60 + event.getStartTime().getMinute() : WHOLE_DAY);
+                    out.writeInt(event.getDurationMinutes());
+                    out.writeInt(event.hasReminder() ? event.getReminderMinutes() : Event.NO_REMINDER);
+                    out.writeInt((int) arenaLength);
+                    out.writeInt(addedTexts.get(j).length);
+                    newMaxSpan = Math.max(newMaxSpan, span);
+                    arenaLength += addedTexts.get(j).length;
+                    j++;
+                }
+                if (HEADER_SIZE + (long) newCount * RECORD_SIZE + arenaLength > Integer.MAX_VALUE) {
+                    throw new IOException("Plik wydarzeń przekracza 2 GB: " + dataFile);
+                }
+            }
+
+            // pass 2: descriptions in the same order
+            ByteBuffer view = map == null ? null : map.duplicate();
+            byte[] text = new byte[256];
+            i = 0;
+            j = 0;
+            while (i < count || j < added.size()) {
+                if (i < count && removed.get(i)) {
+                    i++;
+                } else if (j == added.size() || (i < count && intAt(i, DAY) <= added.get(j).getDate().toEpochDay())) {
+                    int length = intAt(i, TEXT_LENGTH);
+                    if (length > text.length) {
+                        text = new byte[Math.max(length, text.length * 2)];
+                    }
+                    view.position(arenaStart + intAt(i, TEXT_OFFSET));
+                    view.get(text, 0, length);
+                    out.write(text, 0, length);
+                    i++;
+                } else {
+                    out.write(addedTexts.get(j));
+                    j++;
+                }
+            }
+            out.flush();
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putInt(newCount).putInt(newMaxSpan).putLong(arenaLength);
+                header.flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            // a journal or removal list left by an earlier attempt must not come with the new generation
+            Files.deleteIfExists(journalFile(nextGeneration));
+            Files.deleteIfExists(removedFile(nextGeneration));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        // the switch: the merged journal and removal list stay with the old generation
+        writeGeneration(nextGeneration);
+        Path oldData = dataFile;
+        Path oldJournal = journalFile;
+        Path oldRemoved = removedFile;
+        switchTo(nextGeneration);
+        journal.clear();
+        removed.clear();
+        map = null;
+        if (!mapAndValidate()) {
+            throw new IOException("Nie udało się zapisać pliku wydarzeń: " + dataFile);
+        }
+        deleteIfUnused(oldJournal);
+        deleteIfUnused(oldRemoved);
+        deleteIfUnused(oldData);
+    }
+
+    // RECORDS
+
+    private int intAt(int record, int field) {
+        return map.getInt(HEADER_SIZE + record * RECORD_SIZE + field);
+    }
+
+    /**
+     * Finds the first record from the given one on that is not removed, or {@code count}.
+     */
+    private int nextKept(int record) {
+        int next = removed.nextClearBit(record);
+        return Math.min(next, count);
+    }
+
+    /**
+     * Finds the first record with a day not before the given one.
+     */
+    private int lowerBound(int day) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (intAt(middle, DAY) < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Event toEvent(ByteBuffer view, int record) {
+        LocalDate date = LocalDate.ofEpochDay(intAt(record, DAY));
+        byte[] text = new byte[intAt(record, TEXT_LENGTH)];
+        view.position(arenaStart + intAt(record, TEXT_OFFSET));
+        view.get(text);
+        String description = new String(text, StandardCharsets.UTF_8);
+
+        int startMinute = intAt(record, START_MINUTE);
+        int span = intAt(record, SPAN);
+        Event event;
+        if (startMinute != WHOLE_DAY) {
+            event = new Event(date, description, LocalTime.of(startMinute / 60, startMinute % 60), intAt(record, DURATION));
+        } else if (span > 0) {
+            event = new Event(date, date.plusDays(span), description);
+        } else {
+            event = new Event(date, description);
+        }
+        int reminder = intAt(record, REMINDER);
+        return reminder == Event.NO_REMINDER ? event : event.withReminder(reminder);
+    }
+
+    /**
+     * The last day an event touches, also for timed events lasting past midnight.
+     */
+    private static LocalDate lastDay(Event event) {
+        return event.isTimed() ? event.getEnd().minusMinutes(1).toLocalDate() : event.getEndDate();
+    }
+
+    /**
+     * Provider of the {@value #NAME} backend; the location is the path of the CSV file.
+     */
+    public static final class Provider implements EventStoreProvider {
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public EventStore open(String location, Properties config) {
+            return new MappedEventStore(Path.of(location), Integer.parseInt(config.getProperty(EventStores.WINDOW_PROPERTY, "1")));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Events kept only in memory and lost when the application ends, the {@value #NAME} backend.
+ * <p>
+ *     Meant for benchmarks and trying things out without touching the events file. As a backend
+ *     it starts with the events of the CSV file at its location, if there is one, and never
+ *     writes them back.
+ * </p>
+ */
+public class MemoryEventStore implements EventStore {
+
+    /**
+     * Name of the backend.
+     */
+    public static final String NAME = "memory";
+
+    private final List<Event> events = new ArrayList<>();
+
+    /**
+     * Creates an empty store.
+     */
+    public MemoryEventStore() {
+    }
+
+    /**
+     * Creates a store holding the given events.
+     *
+     * @param events the initial events (must not be null)
+     */
+    public MemoryEventStore(Collection<Event> events) {
+        this.events.addAll(events);
+    }
+
+    @Override
+    public synchronized List<Event> load(int year, int month) {
+        return new ArrayList<>(events);
+    }
+
+    @Override
+    public synchronized long add(List<Event> added) {
+        events.addAll(added);
+        return 0;
+    }
+
+    @Override
+    public synchronized void removeDate(LocalDate date, List<Event> remaining) {
+        events.removeIf(event -> event.getDate().equals(date));
+    }
+
+    @Override
+    public synchronized void remove(Event event, List<Event> remaining) {
+        events.remove(event);
+    }
+
+    /**
+     * Provider of the {@value #NAME} backend; the location is the path of a CSV file to start
+     * with, which may be missing.
+     */
+    public static final class Provider implements EventStoreProvider {
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public EventStore open(String location, Properties config) {
+            MemoryEventStore store = new MemoryEventStore();
+            Path file = Path.of(location);
+            if (Files.exists(file)) {
+                EventCSVParser parser = new EventCSVParser();
+                try (BufferedReader reader = Files.newBufferedReader(file)) {
+                    String line;
+                    long lineNumber = 0;
+                    while ((line = reader.readLine()) != null) {
+                        lineNumber++;
+                        Event event = line.isBlank() ? null : parser.parseOrReport(line, lineNumber);
+                        if (event != null) {
+                            store.events.add(event);
+                        }
+                    }
+                } catch (IOException e) {
+                    System.err.println("Błąd podczas wczytywania wydarzeń: " + e.getMessage());
+                }
+            }
+            return store;
+        }
+    }
+}
@@ -0,0 +1,822 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVParser;
+import com.calendar.Event.EventCSVWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Event storage split into monthly pages, of which only a few are kept in memory.
+ * <p>
+ *     Events live in a data file ({@code <events>.pages}) as CSV lines grouped by the month they
+ *     start in, and a small index file ({@code <events>.idx}) maps every month that has events to
+ *     the offset and length of its page. The index is always held in memory; pages are read on
+ *     demand with a single positioned read.
+ * </p>
+ * <p>
+ *     {@link #setWindow(int, int)} keeps the visible month and {@code window} months on both sides
+ *     resident, together with earlier pages holding events that last into the window. Any other
+ *     page read stays cached until the resident events exceed the budget, then the least recently
+ *     used pages are dropped. Heap use is therefore bounded by the window and the budget, not by
+ *     the length of the history.
+ * </p>
+ * <p>
+ *     A changed page is appended to the end of the data file and the index is rewritten, so a
+ *     write never moves other pages. The space of replaced pages is reclaimed by {@link #compact()},
+ *     which runs automatically once it exceeds the size of the live pages.
+ * </p>
+ * <p>
+ *     The index is the only commit point: data is forced to disk before the index is replaced
+ *     atomically, and nothing the current index refers to is ever overwritten. Compaction writes
+ *     the pages to the data file of the next generation ({@code <events>.pages.1}, {@code .2}, ...)
+ *     named by the new index, and the old data file is deleted only after the switch. A crash
+ *     therefore leaves either the old index with its data or the new one with its data; data
+ *     files of other generations are deleted on the next open.
+ * </p>
+ * <p>
+ *     On first use the store is built from the CSV file of the same name with an external merge
+ *     sort, so files larger than the heap can be converted.
+ * </p>
+ * <p>
+ *     As an {@link EventStore} backend ({@value #NAME}) the location is the path of the CSV file,
+ *     the window and the budget are the {@value EventStores#WINDOW_PROPERTY} and
+ *     {@value EventStores#BUDGET_PROPERTY} settings.
+ * </p>
+ */
+public class PagedEventStore implements AutoCloseable {
+
+    /**
+     * Name of the backend.
+     */
+    public static final String NAME = "paged";
+
+    private static final int INDEX_MAGIC = 0x43414C31;
+    // index naming the generation of its data file
+    private static final int INDEX_MAGIC_GENERATION = 0x43414C32;
+    private static final int SORT_CHUNK = 200_000;
+    private static final long MIN_COMPACT_BYTES = 1 << 20;
+
+    private final Path csvFile;
+    private final Path indexFile;
+    private int generation;
+    private Path dataFile;
+    private final int window;
+    private final int budget;
+    private final EventCSVParser parser = new EventCSVParser();
+
+    private final TreeMap<Integer, PageEntry> index = new TreeMap<>();
+    // resident pages, least recently used first
+    private final LinkedHashMap<Integer, List<Event>> pages = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<Integer> pinned = new HashSet<>();
+    private int residentEvents;
+    private long liveBytes;
+
+    private FileChannel channel;
+
+    private PagedEventStore(Path csvFile, int window, int budget) {
+        this.csvFile = csvFile;
+        this.dataFile = dataFile(0);
+        this.indexFile = Path.of(csvFile + ".idx");
+        this.window = window;
+        this.budget = budget;
+    }
+
+    /**
+     * Opens the paged store of a CSV events file, building it from the CSV file if needed.
+     *
+     * @param csvFile the CSV events file the store belongs to
+     * @param window number of months kept resident on each side of the visible month
+     * @param budget number of events above which pages outside the window are dropped
+     * @return the opened store
+     * @throws IOException if the files cannot be read or created
+     */
+    public static PagedEventStore open(Path csvFile, int window, int budget) throws IOException {
+        PagedEventStore store = new PagedEventStore(csvFile, window, budget);
+        if (Files.exists(store.indexFile)) {
+            store.readIndex();
+        }
+        if (!Files.exists(store.indexFile) || !Files.exists(store.dataFile)) {
+            store.index.clear();
+            store.liveBytes = 0;
+            store.build(csvFile);
+            store.readIndex();
+        }
+        store.deleteOtherGenerations();
+        store.channel = FileChannel.open(store.dataFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return store;
+    }
+
+    /**
+     * Makes a month the visible one: loads it and the months around it and keeps them resident.
+     *
+     * @param year the year
+     * @param month the month number (1-12)
+     * @throws IOException if a page cannot be read
+     */
+    public void setWindow(int year, int month) throws IOException {
+        int center = monthKey(year, month);
+        pinned.clear();
+        for (int key = center - window; key <= center + window; key++) {
+            pinned.add(key);
+        }
+
+        // earlier pages with events lasting into the window
+        long windowStart = firstDay(center - window).toEpochDay();
+        for (Map.Entry<Integer, PageEntry> entry : index.headMap(center - window).entrySet()) {
+            if (entry.getValue().maxEndDay >= windowStart) {
+                pinned.add(entry.getKey());
+            }
+        }
+
+        for (int key : pinned) {
+            page(key);
+        }
+        evict();
+    }
+
+    /**
+     * Returns the events of a month, reading the page if it is not resident.
+     *
+     * @param year the year
+     * @param month the month number (1-12)
+     * @return the events starting in the month, ordered by date (never null, may be empty)
+     * @throws IOException if the page cannot be read
+     */
+    public List<Event> getMonth(int year, int month) throws IOException {
+        List<Event> events = page(monthKey(year, month));
+        evict();
+        return events;
+    }
+
+    /**
+     * Returns all resident events.
+     *
+     * @return a new list with the events of all resident pages
+     */
+    public List<Event> getResidentEvents() {
+        List<Event> result = new ArrayList<>(residentEvents);
+        for (int key : index.keySet()) {
+            List<Event> events = pages.get(key);
+            if (events != null) {
+                result.addAll(events);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the page of a date is resident.
+     *
+     * @param date the date
+     * @return {@code true} if events starting on the date are in memory
+     */
+    public boolean isResident(LocalDate date) {
+        return pages.containsKey(monthKey(date.getYear(), date.getMonthValue()));
+    }
+
+    /**
+     * Adds events and writes every changed page once.
+     *
+     * @param events the events to add (must not be null)
+     * @return the number of bytes written, the changed pages whole
+     * @throws IOException if a page cannot be written
+     */
+    public long addAll(List<Event> events) throws IOException {
+        TreeMap<Integer, List<Event>> byMonth = new TreeMap<>();
+        long written = 0;
+        for (Event event : events) {
+            byMonth.computeIfAbsent(monthKey(event.getDate().getYear(), event.getDate().getMonthValue()),
+                    key -> new ArrayList<>()).add(event);
+        }
+
+        for (Map.Entry<Integer, List<Event>> entry : byMonth.entrySet()) {
+            List<Event> page = new ArrayList<>(page(entry.getKey()));
+            page.addAll(entry.getValue());
+            page.sort(Comparator.comparing(Event::getDate));
+            written += writePage(entry.getKey(), page);
+        }
+        writeIndex();
+        evict();
+        compactIfNeeded();
+        return written;
+    }
+
+    /**
+     * Removes all events starting on a date.
+     *
+     * @param date the date
+     * @return the number of removed events
+     * @throws IOException if the page cannot be written
+     */
+    public int removeDate(LocalDate date) throws IOException {
+        int key = monthKey(date.getYear(), date.getMonthValue());
+        List<Event> page = new ArrayList<>(page(key));
+        int sizeBefore = page.size();
+        page.removeIf(event -> event.getDate().equals(date));
+        if (page.size() == sizeBefore) {
+            return 0;
+        }
+
+        writePage(key, page);
+        writeIndex();
+        compactIfNeeded();
+        return sizeBefore - page.size();
+    }
+
+    /**
+     * Removes the first event equal to the given one from its page.
+     *
+     * @param event the event to remove
+     * @return {@code true} if an equal event was found
+     * @throws IOException if the page cannot be written
+     */
+    public boolean remove(Event event) throws IOException {
+        int key = monthKey(event.getDate().getYear(), event.getDate().getMonthValue());
+        List<Event> page = new ArrayList<>(page(key));
+        if (!page.remove(event)) {
+            return false;
+        }
+
+        writePage(key, page);
+        writeIndex();
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Streams the events of a year without keeping their pages resident.
+     *
+     * @param year the year
+     * @param action receives every event starting in the year
+     * @throws IOException if a page cannot be read
+     */
+    public void forEachInYear(int year, Consumer<Event> action) throws IOException {
+        forEachInMonths(monthKey(year, 1), monthKey(year, 12), action);
+    }
+
+    /**
+     * Streams the events starting in a range of days, ordered by date, without keeping their
+     * pages resident.
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (inclusive)
+     * @param action receives every event starting in the range
+     * @throws IOException if a page cannot be read
+     */
+    public void forEachBetween(LocalDate from, LocalDate to, Consumer<Event> action) throws IOException {
+        forEachInMonths(monthKey(from.getYear(), from.getMonthValue()), monthKey(to.getYear(), to.getMonthValue()), event -> {
+            if (!event.getDate().isBefore(from) && !event.getDate().isAfter(to)) {
+                action.accept(event);
+            }
+        });
+    }
+
+    /**
+     * Streams all events ordered by date, reading one page at a time without keeping it resident.
+     *
+     * @param action receives every event
+     * @throws IOException if a page cannot be read
+     */
+    public void forEach(Consumer<Event> action) throws IOException {
+        if (!index.isEmpty()) {
+            forEachInMonths(index.firstKey(), index.lastKey(), action);
+        }
+    }
+
+    private void forEachInMonths(int firstKey, int lastKey, Consumer<Event> action) throws IOException {
+        if (firstKey > lastKey) {
+            return;
+        }
+        for (int key : index.subMap(firstKey, true, lastKey, true).keySet()) {
+            List<Event> resident = pages.get(key);
+            for (Event event : resident != null ? resident : readPage(key)) {
+                action.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events of all months, resident or not.
+     *
+     * @return the number of stored events
+     */
+    public long size() {
+        long size = 0;
+        for (PageEntry entry : index.values()) {
+            size += entry.count;
+        }
+        return size;
+    }
+
+    /**
+     * Rewrites the data file with only the current pages, in month order.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    public void compact() throws IOException {
+        int nextGeneration = generation + 1;
+        Path target = dataFile(nextGeneration);
+        TreeMap<Integer, PageEntry> moved = new TreeMap<>();
+        FileChannel compacted = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            for (Map.Entry<Integer, PageEntry> entry : index.entrySet()) {
+                PageEntry page = entry.getValue();
+                long offset = compacted.position();
+                long copied = 0;
+                while (copied < page.length) {
+                    long transferred = channel.transferTo(page.offset + copied, page.length - copied, compacted);
+                    if (transferred <= 0) {
+                        throw new IOException("Uszkodzony plik stron: " + dataFile);
+                    }
+                    copied += transferred;
+                }
+                moved.put(entry.getKey(), new PageEntry(offset, page.length, page.count, page.maxEndDay));
+            }
+            compacted.force(true);
+            // the switch: from here on the index refers to the new data file
+            writeIndex(moved, nextGeneration);
+        } catch (IOException e) {
+            compacted.close();
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        Path old = dataFile;
+        channel.close();
+        channel = compacted;
+        generation = nextGeneration;
+        dataFile = target;
+        index.clear();
+        index.putAll(moved);
+        Files.deleteIfExists(old);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<Event> page(int key) throws IOException {
+        List<Event> events = pages.get(key);
+        if (events == null) {
+            events = readPage(key);
+            pages.put(key, events);
+            residentEvents += events.size();
+        }
+        return events;
+    }
+
+    private List<Event> readPage(int key) throws IOException {
+        PageEntry entry = index.get(key);
+        if (entry == null) {
+            return new ArrayList<>();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                throw new IOException("Uszkodzony plik stron: " + dataFile);
+            }
+        }
+
+        List<Event> events = new ArrayList<>(entry.count);
+        String text = new String(buffer.array(), StandardCharsets.UTF_8);
+        int start = 0;
+        int end;
+        while ((end = text.indexOf('\n', start)) >= 0) {
+            events.add(parser.parseFrom(text.substring(start, end)));
+            start = end + 1;
+        }
+        return events;
+    }
+
+    /**
+     * Appends a page and points the index at it.
+     *
+     * @return the size of the page in bytes
+     */
+    private long writePage(int key, List<Event> events) throws IOException {
+        PageEntry old = index.remove(key);
+        if (old != null) {
+            liveBytes -= old.length;
+        }
+        List<Event> resident = pages.remove(key);
+        if (resident != null) {
+            residentEvents -= resident.size();
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder text = new StringBuilder(events.size() * 48);
+        long maxEndDay = Long.MIN_VALUE;
+        for (Event event : events) {
+            text.append(EventCSVWriter.toCsvLine(event)).append('\n');
+            maxEndDay = Math.max(maxEndDay, event.getEnd().toLocalDate().toEpochDay());
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        long offset = channel.size();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+
+        index.put(key, new PageEntry(offset, bytes.length, events.size(), maxEndDay));
+        liveBytes += bytes.length;
+        pages.put(key, events);
+        residentEvents += events.size();
+        return bytes.length;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Integer, List<Event>>> iterator = pages.entrySet().iterator();
+        while (residentEvents > budget && iterator.hasNext()) {
+            Map.Entry<Integer, List<Event>> entry = iterator.next();
+            if (!pinned.contains(entry.getKey())) {
+                residentEvents -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    private void compactIfNeeded() throws IOException {
+        long garbage = channel.size() - liveBytes;
+        if (garbage > Math.max(liveBytes, MIN_COMPACT_BYTES)) {
+            compact();
+        }
+    }
+
+    private void readIndex() throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFile))) {
+            int magic = in.readInt();
+            if (magic == INDEX_MAGIC_GENERATION) {
+                generation = in.readInt();
+            } else if (magic == INDEX_MAGIC) {
+                generation = 0;
+            } else {
+                throw new IOException("Nieprawidłowy plik indeksu: " + indexFile);
+            }
+            dataFile = dataFile(generation);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                int key = in.readInt();
+                PageEntry entry = new PageEntry(in.readLong(), in.readInt(), in.readInt(), in.readLong());
+                index.put(key, entry);
+                liveBytes += entry.length;
+            }
+        }
+    }
+
+    /**
+     * Commits the pages written so far: forces them to disk, then replaces the index.
+     */
+    private void writeIndex() throws IOException {
+        channel.force(false);
+        writeIndex(index, generation);
+    }
+
+    /**
+     * Replaces the index file atomically with one on disk, so a crash leaves either the old or
+     * the new index. The data it refers to must already be forced.
+     */
+    private void writeIndex(TreeMap<Integer, PageEntry> entries, int dataGeneration) throws IOException {
+        Path temp = Files.createTempFile(indexFile.toAbsolutePath().getParent(), "events", ".idx");
+        try {
+            try (FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                writeIndex(Channels.newOutputStream(target), entries, dataGeneration);
+                target.force(true);
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeIndex(OutputStream stream, TreeMap<Integer, PageEntry> entries, int dataGeneration)
+            throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(INDEX_MAGIC_GENERATION);
+        out.writeInt(dataGeneration);
+        out.writeInt(entries.size());
+        for (Map.Entry<Integer, PageEntry> entry : entries.entrySet()) {
+            PageEntry page = entry.getValue();
+            out.writeInt(entry.getKey());
+            out.writeLong(page.offset);
+            out.writeInt(page.length);
+            out.writeInt(page.count);
+            out.writeLong(page.maxEndDay);
+        }
+        out.flush();
+    }
+
+    /**
+     * Builds the data and index files from a CSV file: sorted runs of {@value #SORT_CHUNK}
+     * events are written to temporary files and merged, cutting pages at month boundaries.
+     */
+    private void build(Path csvFile) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            if (Files.exists(csvFile)) {
+                try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+                    List<SortLine> chunk = new ArrayList<>(SORT_CHUNK);
+                    String line;
+                    long lineNumber = 0;
+                    while ((line = reader.readLine()) != null) {
+                        lineNumber++;
+                        Event event = line.isBlank() ? null : parser.parseOrReport(line, lineNumber);
+                        if (event == null) {
+                            continue;
+                        }
+                        chunk.add(new SortLine(line, event));
+                        if (chunk.size() == SORT_CHUNK) {
+                            runs.add(writeRun(chunk));
+                            chunk.clear();
+                        }
+                    }
+                    if (!chunk.isEmpty()) {
+                        runs.add(writeRun(chunk));
+                    }
+                }
+            }
+            mergeRuns(runs);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private Path writeRun(List<SortLine> chunk) throws IOException {
+        // stable, so events of one day keep the order of the file
+        chunk.sort(Comparator.comparingLong(line -> line.day));
+        Path run = Files.createTempFile("events-run", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+            for (SortLine line : chunk) {
+                writer.write(line.text);
+                writer.write('\n');
+            }
+        }
+        return run;
+    }
+
+    private void mergeRuns(List<Path> runs) throws IOException {
+        List<BufferedReader> readers = new ArrayList<>();
+        PriorityQueue<RunHead> heads = new PriorityQueue<>(
+                Comparator.<RunHead>comparingLong(head -> head.line.day).thenComparingInt(head -> head.run));
+        TreeMap<Integer, PageEntry> entries = new TreeMap<>();
+
+        try (OutputStream out = Files.newOutputStream(dataFile)) {
+            for (int i = 0; i < runs.size(); i++) {
+                BufferedReader reader = Files.newBufferedReader(runs.get(i), StandardCharsets.UTF_8);
+                readers.add(reader);
+                RunHead head = RunHead.next(reader, i, parser);
+                if (head != null) {
+                    heads.add(head);
+                }
+            }
+
+            long offset = 0;
+            int pageKey = Integer.MIN_VALUE;
+            long pageStart = 0;
+            int pageCount = 0;
+            long pageMaxEnd = Long.MIN_VALUE;
+
+            while (!heads.isEmpty()) {
+                RunHead head = heads.poll();
+                Event event = head.line.event;
+                int key = monthKey(event.getDate().getYear(), event.getDate().getMonthValue());
+                if (key != pageKey) {
+                    if (pageCount > 0) {
+                        entries.put(pageKey, new PageEntry(pageStart, (int) (offset - pageStart), pageCount, pageMaxEnd));
+                    }
+                    pageKey = key;
+                    pageStart = offset;
+                    pageCount = 0;
+                    pageMaxEnd = Long.MIN_VALUE;
+                }
+
+                byte[] bytes = (head.line.text + "\n").getBytes(StandardCharsets.UTF_8);
+                out.write(bytes);
+                offset += bytes.length;
+                pageCount++;
+                pageMaxEnd = Math.max(pageMaxEnd, event.getEnd().toLocalDate().toEpochDay());
+
+                RunHead next = RunHead.next(head.reader, head.run, parser);
+                if (next != null) {
+                    heads.add(next);
+                }
+            }
+            if (pageCount > 0) {
+                entries.put(pageKey, new PageEntry(pageStart, (int) (offset - pageStart), pageCount, pageMaxEnd));
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+
+        try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.WRITE)) {
+            data.force(true);
+        }
+        writeIndex(entries, generation);
+    }
+
+    /**
+     * Returns the data file of a generation; generation 0 is the file of the first build.
+     */
+    private Path dataFile(int dataGeneration) {
+        return Path.of(csvFile + (dataGeneration == 0 ? ".pages" : ".pages." + dataGeneration));
+    }
+
+    /**
+     * Deletes data files left by a crash before or after a compaction switched generations.
+     */
+    private void deleteOtherGenerations() throws IOException {
+        Path directory = dataFile.toAbsolutePath().getParent();
+        String prefix = csvFile.getFileName() + ".pages";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if ((suffix.isEmpty() || suffix.matches("\\.\\d+")) && !file.getFileName().equals(dataFile.getFileName())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static int monthKey(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    private static LocalDate firstDay(int monthKey) {
+        return LocalDate.of(Math.floorDiv(monthKey, 12), Math.floorMod(monthKey, 12) + 1, 1);
+    }
+
+    /**
+     * Location of a page in the data file.
+     */
+    private static final class PageEntry {
+        private final long offset;
+        private final int length;
+        private final int count;
+        // last day touched by an event of the page, for events lasting into later months
+        private final long maxEndDay;
+
+        private PageEntry(long offset, int length, int count, long maxEndDay) {
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+            this.maxEndDay = maxEndDay;
+        }
+    }
+
+    private static final class SortLine {
+        private final String text;
+        private final Event event;
+        private final long day;
+
+        private SortLine(String text, Event event) {
+            this.text = text;
+            this.event = event;
+            this.day = event.getDate().toEpochDay();
+        }
+    }
+
+    private static final class RunHead {
+        private final SortLine line;
+        private final BufferedReader reader;
+        private final int run;
+
+        private RunHead(SortLine line, BufferedReader reader, int run) {
+            this.line = line;
+            this.reader = reader;
+            this.run = run;
+        }
+
+        private static RunHead next(BufferedReader reader, int run, EventCSVParser parser) throws IOException {
+            String text = reader.readLine();
+            return text == null ? null : new RunHead(new SortLine(text, parser.parseFrom(text)), reader, run);
+        }
+    }
+
+    /**
+     * Provider of the {@value #NAME} backend.
+     */
+    public static final class Provider implements EventStoreProvider {
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public EventStore open(String location, Properties config) {
+            return new Backend(Path.of(location),
+                    Integer.parseInt(config.getProperty(EventStores.WINDOW_PROPERTY, "1")),
+                    Integer.parseInt(config.getProperty(EventStores.BUDGET_PROPERTY, "200000")));
+        }
+    }
+
+    /**
+     * The paged store as an {@link EventStore}, opened on the first load so that creating it
+     * does not build the pages.
+     */
+    private static final class Backend implements EventStore {
+        private final Path csvFile;
+        private final int window;
+        private final int budget;
+        private PagedEventStore store;
+
+        private Backend(Path csvFile, int window, int budget) {
+            this.csvFile = csvFile;
+            this.window = window;
+            this.budget = budget;
+        }
+
+        @Override
+        public synchronized List<Event> load(int year, int month) throws IOException {
+            PagedEventStore pages = store();
+            pages.setWindow(year, month);
+            return pages.getResidentEvents();
+        }
+
+        @Override
+        public boolean isWindowed() {
+            return true;
+        }
+
+        @Override
+        public synchronized void forEachInYear(int year, Consumer<Event> action) throws IOException {
+            store().forEachInYear(year, action);
+        }
+
+        @Override
+        public synchronized void forEachBetween(LocalDate from, LocalDate to, Consumer<Event> action) throws IOException {
+            store().forEachBetween(from, to, action);
+        }
+
+        @Override
+        public synchronized void forEach(Consumer<Event> action) throws IOException {
+            store().forEach(action);
+        }
+
+        @Override
+        public synchronized long add(List<Event> events) throws IOException {
+            return store().addAll(events);
+        }
+
+        @Override
+        public synchronized void removeDate(LocalDate date, List<Event> remaining) throws IOException {
+            store().removeDate(date);
+        }
+
+        @Override
+        public synchronized void remove(Event event, List<Event> remaining) throws IOException {
+            store().remove(event);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (store != null) {
+                store.close();
+            }
+        }
+
+        private PagedEventStore store() throws IOException {
+            if (store == null) {
+                store = PagedEventStore.open(csvFile, window, budget);
+            }
+            return store;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.calendar;
+
+import com.calendar.Event.EventManager;
+import com.calendar.Localization.CalendarNames;
+import com.calendar.Month.MonthsTable;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Window showing every day of a year coloured by the number of events.
+ * <p>
+ *     Days are laid out in weeks (columns) and weekdays (rows). The counts come from
+ *     {@link EventManager#getEventCountsForYear(int)}, or any function of the same shape such as
+ *     {@link com.calendar.Overlay.CalendarOverlay#getEventCountsForYear(int)}, and the whole year is drawn on a single
+ *     {@link Canvas}, so switching years costs the same regardless of the number of events.
+ * </p>
+ */
+public class YearHeatmapView {
+
+    private static final double CELL = 14;
+    private static final double GAP = 3;
+    private static final double LEFT_MARGIN = 30;
+    private static final double TOP_MARGIN = 20;
+    private static final int MAX_WEEKS = 54;
+
+    private static final Color[] LEVEL_COLORS = {
+            Color.web("#E6E6E6"), Color.web("#ADE8F4"), Color.web("#7FD3F0"),
+            Color.web("#3FA7D6"), Color.web("#1B6F99")
+    };
+    private static final Color TEXT_COLOR = Color.web("#8F5C38");
+
+    private final IntFunction<int[]> countsForYear;
+    private final CalendarNames names = CalendarNames.getDefault();
+    private final Canvas canvas;
+    private final Label yearLabel;
+    private final Label infoLabel;
+
+    private int year;
+    private int[] counts;
+    private int firstWeekday;
+
+    public YearHeatmapView(EventManager eventManager) {
+        this(eventManager::getEventCountsForYear);
+    }
+
+    /**
+     * @param countsForYear returns the number of events of every day of a year, indexed by day of
+     *                      year minus one
+     */
+    public YearHeatmapView(IntFunction<int[]> countsForYear) {
+        this.countsForYear = countsForYear;
+
+        yearLabel = new Label();
+        yearLabel.setStyle("-fx-text-fill: #8F5C38;");
+        yearLabel.setFont(new Font(25));
+        infoLabel = new Label();
+        infoLabel.setStyle("-fx-text-fill: #8F5C38;");
+
+        canvas = new Canvas(LEFT_MARGIN + MAX_WEEKS * (CELL + GAP), TOP_MARGIN + 7 * (CELL + GAP));
+        canvas.setOnMouseMoved(e -> showInfo(e.getX(), e.getY()));
+        canvas.setOnMouseExited(e -> infoLabel.setText(""));
+    }
+
+    /**
+     * Opens the window for the given year.
+     *
+     * @param owner the main window
+     * @param initialYear the year to show first
+     */
+    public void show(Window owner, int initialYear) {
+        Button prevYearBtn = new Button("‹");
+        prevYearBtn.getStyleClass().add("button-main");
+        prevYearBtn.setOnAction(e -> showYear(year - 1));
+        Button nextYearBtn = new Button("›");
+        nextYearBtn.getStyleClass().add("button-main");
+        nextYearBtn.setOnAction(e -> showYear(year + 1));
+
+        HBox header = new HBox(20, prevYearBtn, yearLabel, nextYearBtn);
+        header.setAlignment(Pos.CENTER);
+
+        BorderPane layout = new BorderPane(canvas, header, null, infoLabel, null);
+        layout.setPadding(new Insets(15));
+        layout.setStyle("-fx-background-color: #CEDADA;");
+        BorderPane.setMargin(canvas, new Insets(15, 0, 10, 0));
+
+        Scene scene = new Scene(layout);
+        scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/styles/styles.css")).toExternalForm());
+
+        Stage stage = new Stage();
+        stage.initOwner(owner);
+        stage.setTitle("Rok");
+        stage.setScene(scene);
+        stage.setResizable(false);
+
+        showYear(initialYear);
+        stage.show();
+    }
+
+    private void showYear(int year) {
+        this.year = year;
+        this.counts = countsForYear.apply(year);
+        this.firstWeekday = MonthsTable.getDayOfWeek(year, 1, 1);
+
+        yearLabel.setText(String.valueOf(year));
+        draw();
+    }
+
+    private void draw() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        int max = 0;
+        for (int count : counts) {
+            max = Math.max(max, count);
+        }
+
+        g.setFill(TEXT_COLOR);
+        g.setFont(new Font(11));
+        for (int weekday = 0; weekday < 7; weekday++) {
+            g.fillText(names.getWeekdayShortName(weekday), 0, cellY(weekday) + CELL - 3);
+        }
+
+        LocalDate today = LocalDate.now();
+        int todayIndex = today.getYear() == year ? today.getDayOfYear() - 1 : -1;
+
+        int dayOfYear = 0;
+        for (int month = 1; month <= 12; month++) {
+            // month name above the week holding its first day
+            g.setFill(TEXT_COLOR);
+            g.fillText(names.getMonthShortName(month), cellX(column(dayOfYear)), TOP_MARGIN - 6);
+
+            int days = MonthsTable.getDaysInMonth(year, month);
+            for (int day = 0; day < days; day++, dayOfYear++) {
+                double x = cellX(column(dayOfYear));
+                double y = cellY(row(dayOfYear));
+
+                g.setFill(LEVEL_COLORS[level(counts[dayOfYear], max)]);
+                g.fillRect(x, y, CELL, CELL);
+
+                if (dayOfYear == todayIndex) {
+                    g.setStroke(TEXT_COLOR);
+                    g.strokeRect(x + 0.5, y + 0.5, CELL - 1, CELL - 1);
+                }
+            }
+        }
+    }
+
+    private void showInfo(double x, double y) {
+        int column = (int) Math.floor((x - LEFT_MARGIN) / (CELL + GAP));
+        int row = (int) Math.floor((y - TOP_MARGIN) / (CELL + GAP));
+        int dayOfYear = column * 7 + row - firstWeekday;
+
+        if (x < LEFT_MARGIN || y < TOP_MARGIN || row > 6 || dayOfYear < 0 || dayOfYear >= counts.length) {
+            infoLabel.setText("");
+            return;
+        }
+
+        LocalDate date = LocalDate.ofYearDay(year, dayOfYear + 1);
+        StringBuilder text = names.appendDayAndMonth(new StringBuilder(), date.getDayOfMonth(), date.getMonthValue());
+        infoLabel.setText(text.append(' ').append(year).append(": ").append(counts[dayOfYear]).append(" wydarzeń").toString());
+    }
+
+    private int column(int dayOfYear) {
+        return (dayOfYear + firstWeekday) / 7;
+    }
+
+    private int row(int dayOfYear) {
+        return (dayOfYear + firstWeekday) % 7;
+    }
+
+    private static double cellX(int column) {
+        return LEFT_MARGIN + column * (CELL + GAP);
+    }
+
+    private static double cellY(int row) {
+        return TOP_MARGIN + row * (CELL + GAP);
+    }
+
+    /**
+     * Maps a count to a colour level, 0 for no events and 1-4 relative to the busiest day.
+     */
+    private static int level(int count, int max) {
+        if (count == 0) {
+            return 0;
+        }
+        return Math.min(LEVEL_COLORS.length - 1, 1 + (int) ((count - 1) * 4L / max));
+    }
+}
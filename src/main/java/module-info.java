@@ -1,7 +1,20 @@
 module com.calendar {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.sql;
+    requires jdk.jfr;
 
     opens com.calendar to javafx.fxml;
     exports com.calendar;
+    exports com.calendar.Analytics;
+    exports com.calendar.Event;
+    exports com.calendar.Store;
+
+    uses com.calendar.Store.EventStoreProvider;
+    provides com.calendar.Store.EventStoreProvider with
+            com.calendar.Store.CsvEventStore.Provider,
+            com.calendar.Store.PagedEventStore.Provider,
+            com.calendar.Store.H2EventStore.Provider,
+            com.calendar.Store.MappedEventStore.Provider,
+            com.calendar.Store.MemoryEventStore.Provider;
 }
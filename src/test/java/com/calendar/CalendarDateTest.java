@@ -0,0 +1,148 @@
+package com.calendar;
+
+import com.calendar.Exceptions.CreateCalendarException;
+import com.calendar.Holiday.BusinessDays;
+import com.calendar.Localization.CalendarNames;
+import com.calendar.Month.MonthsTable;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the date arithmetic of {@link Calendar} and {@link MonthsTable} with {@link LocalDate}
+ * on edge cases and seeded random dates. The time budgets are checked by
+ * {@code com.calendar.Benchmark.DateCoreCheck}.
+ */
+class CalendarDateTest {
+
+    private static final int FIRST_YEAR = 1583;
+    private static final int LAST_YEAR = 9999;
+    private static final long SEED = 42;
+    private static final int SAMPLES = 20_000;
+    // the naive day of week algorithm walks week by week from 2020
+    private static final int DETERMINANT_SAMPLES = 300;
+
+    private final CalendarNames names = CalendarNames.getDefault();
+    private final Random random = new Random(SEED);
+
+    @Test
+    void monthLengthsMatchEveryYear() {
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            assertEquals(Year.isLeap(year), MonthsTable.isLeapYear(year), "isLeapYear " + year);
+            assertEquals(Year.of(year).length(), MonthsTable.getDaysInYear(year), "getDaysInYear " + year);
+            for (int month = 1; month <= 12; month++) {
+                int expected = YearMonth.of(year, month).lengthOfMonth();
+                assertEquals(expected, MonthsTable.getDaysInMonth(year, month), "getDaysInMonth " + year + "-" + month);
+                assertEquals(expected, MonthsTable.getMonth(year, month).getDays(), "getMonth " + year + "-" + month);
+            }
+        }
+    }
+
+    @Test
+    void edgeCasesMatchLocalDate() throws CreateCalendarException {
+        int[] years = {FIRST_YEAR, 1600, 1700, 1800, 1900, 1999, 2000, 2001, 2020, 2024, 2100, 2400, 9000, LAST_YEAR};
+        for (int year : years) {
+            for (int month = 1; month <= 12; month++) {
+                int length = YearMonth.of(year, month).lengthOfMonth();
+                for (int day : new int[]{1, 2, 27, 28, 29, 30, 31}) {
+                    if (day <= length) {
+                        checkDate(LocalDate.of(year, month, day), year >= 1900 && year <= 2100);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void randomDatesMatchLocalDate() throws CreateCalendarException {
+        long first = LocalDate.of(FIRST_YEAR, 1, 1).toEpochDay();
+        long last = LocalDate.of(LAST_YEAR, 12, 31).toEpochDay();
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDate date = LocalDate.ofEpochDay(first + (long) (random.nextDouble() * (last - first + 1)));
+            checkDate(date, i < DETERMINANT_SAMPLES);
+        }
+    }
+
+    private void checkDate(LocalDate date, boolean determinant) throws CreateCalendarException {
+        String weekday = names.getWeekdayName(date.getDayOfWeek().getValue() - 1);
+        Calendar calendar = calendar(date);
+        assertEquals(date, calendar.toLocalDate(), "toLocalDate " + date);
+        assertEquals(date.getDayOfWeek().getValue() - 1,
+                MonthsTable.getDayOfWeek(date.getYear(), date.getMonthValue(), date.getDayOfMonth()), "getDayOfWeek " + date);
+        assertEquals(weekday, calendar.getDayOfWeekByZeller(), "getDayOfWeekByZeller " + date);
+        if (determinant) {
+            assertEquals(weekday, calendar.getDayOfWeekByDeterminant(), "getDayOfWeekByDeterminant " + date);
+        }
+
+        if (date.isAfter(LocalDate.of(FIRST_YEAR, 1, 7)) && date.isBefore(LocalDate.of(LAST_YEAR, 12, 25))) {
+            Calendar moved = calendar(date);
+            moved.plusDay();
+            assertEquals(date.plusDays(1), moved.toLocalDate(), "plusDay " + date);
+            moved = calendar(date);
+            moved.minusDay();
+            assertEquals(date.minusDays(1), moved.toLocalDate(), "minusDay " + date);
+            moved = calendar(date);
+            moved.plusWeek();
+            assertEquals(date.plusWeeks(1), moved.toLocalDate(), "plusWeek " + date);
+            moved = calendar(date);
+            moved.minusWeek();
+            assertEquals(date.minusWeeks(1), moved.toLocalDate(), "minusWeek " + date);
+        }
+
+        int months = random.nextInt(49) - 24;
+        LocalDate expected = date.plusMonths(months);
+        if (expected.getYear() >= FIRST_YEAR && expected.getYear() <= LAST_YEAR) {
+            Calendar moved = calendar(date);
+            moved.addMonths(months);
+            assertEquals(expected, moved.toLocalDate(), "addMonths " + date + " " + months);
+        }
+
+        LocalDate other = date.plusDays(random.nextInt(2001) - 1000);
+        if (other.getYear() >= FIRST_YEAR && other.getYear() <= LAST_YEAR) {
+            assertEquals(Integer.signum(date.compareTo(other)), Integer.signum(calendar.compareTo(calendar(other))),
+                    "compareTo " + date + " " + other);
+        }
+
+        if (date.getYear() >= BusinessDays.DEFAULT_FIRST_YEAR + 1 && date.getYear() < BusinessDays.DEFAULT_LAST_YEAR) {
+            checkBusinessDays(date);
+        }
+    }
+
+    /**
+     * Compares the business day arithmetic with stepping a {@link LocalDate} one day at a time.
+     */
+    private void checkBusinessDays(LocalDate date) throws CreateCalendarException {
+        BusinessDays businessDays = BusinessDays.getDefault();
+        int n = random.nextInt(81) - 40;
+        LocalDate expected = date;
+        for (int left = Math.abs(n); left > 0; ) {
+            expected = expected.plusDays(Integer.signum(n));
+            if (businessDays.isBusinessDay(expected)) {
+                left--;
+            }
+        }
+        Calendar moved = calendar(date);
+        moved.plusBusinessDays(n);
+        assertEquals(expected, moved.toLocalDate(), "plusBusinessDays " + date + " " + n);
+
+        LocalDate from = n >= 0 ? date : expected;
+        LocalDate to = n >= 0 ? expected : date;
+        long count = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            if (businessDays.isBusinessDay(day)) {
+                count++;
+            }
+        }
+        assertEquals(n >= 0 ? count : -count, Calendar.businessDaysBetween(calendar(date), moved),
+                "businessDaysBetween " + date + " " + expected);
+    }
+
+    private static Calendar calendar(LocalDate date) throws CreateCalendarException {
+        return new Calendar(date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+    }
+}
@@ -0,0 +1,103 @@
+package com.calendar.Event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EventIntervalTreeTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    @Test
+    void rangesAreHalfOpen() {
+        EventIntervalTree tree = new EventIntervalTree();
+        Event meeting = new Event(DAY, "Spotkanie", LocalTime.of(10, 0), 60);
+        tree.add(meeting);
+
+        assertEquals(List.of(), tree.findOverlapping(DAY.atTime(9, 0), DAY.atTime(10, 0)));
+        assertEquals(List.of(), tree.findOverlapping(DAY.atTime(11, 0), DAY.atTime(12, 0)));
+        assertEquals(List.of(meeting), tree.findOverlapping(DAY.atTime(9, 0), DAY.atTime(10, 1)));
+        assertEquals(List.of(meeting), tree.findOverlapping(DAY.atTime(10, 59), DAY.atTime(12, 0)));
+    }
+
+    @Test
+    void findsWholeDayAndMultiDayEventsOrderedByStart() {
+        EventIntervalTree tree = new EventIntervalTree();
+        Event lunch = new Event(DAY, "Obiad", LocalTime.of(12, 0), 45);
+        Event holiday = new Event(DAY.minusDays(2), DAY.plusDays(1), "Urlop");
+        Event birthday = new Event(DAY, "Urodziny");
+        Event tomorrow = new Event(DAY.plusDays(1), "Jutro");
+        tree.add(lunch);
+        tree.add(tomorrow);
+        tree.add(birthday);
+        tree.add(holiday);
+
+        assertEquals(List.of(holiday, birthday, lunch), tree.findOverlapping(DAY.atTime(12, 30), DAY.atTime(13, 0)));
+        assertEquals(List.of(holiday, tomorrow), tree.findOverlapping(DAY.plusDays(1).atStartOfDay(), DAY.plusDays(2).atStartOfDay()));
+    }
+
+    @Test
+    void tracksEventsByIdentity() {
+        EventIntervalTree tree = new EventIntervalTree();
+        Event first = new Event(DAY, "Standup", LocalTime.of(9, 0), 15);
+        Event second = new Event(DAY, "Standup", LocalTime.of(9, 0), 15);
+        tree.add(first);
+        tree.add(second);
+        tree.add(first);
+        assertEquals(2, tree.size());
+
+        tree.remove(first);
+        List<Event> found = tree.findOverlapping(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay());
+        assertEquals(1, found.size());
+        assertSame(second, found.get(0));
+    }
+
+    @Test
+    void matchesLinearScanAfterAddsAndRemoves() {
+        Random random = new Random(11);
+        EventIntervalTree tree = new EventIntervalTree();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            LocalDate date = DAY.plusDays(random.nextInt(120));
+            Event event;
+            switch (random.nextInt(3)) {
+                case 0:
+                    event = new Event(date, "Wydarzenie " + i, LocalTime.of(random.nextInt(24), random.nextInt(60)), 1 + random.nextInt(3000));
+                    break;
+                case 1:
+                    event = new Event(date, date.plusDays(1 + random.nextInt(20)), "Wyjazd " + i);
+                    break;
+                default:
+                    event = new Event(date, "Dzień " + i);
+                    break;
+            }
+            events.add(event);
+            tree.add(event);
+        }
+        for (int i = 0; i < 1000; i++) {
+            tree.remove(events.remove(random.nextInt(events.size())));
+        }
+        assertEquals(events.size(), tree.size());
+
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime from = DAY.atStartOfDay().plusMinutes(random.nextInt(140 * 24 * 60));
+            LocalDateTime to = from.plusMinutes(1 + random.nextInt(5 * 24 * 60));
+            List<Event> expected = events.stream()
+                    .filter(event -> event.getStart().isBefore(to) && event.getEnd().isAfter(from))
+                    .sorted(Comparator.comparing(Event::getStart))
+                    .collect(Collectors.toList());
+            // events of one start stay in the order they were added in
+            assertEquals(expected, tree.findOverlapping(from, to));
+        }
+    }
+}
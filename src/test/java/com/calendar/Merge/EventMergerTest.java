@@ -0,0 +1,91 @@
+package com.calendar.Merge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventMergerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void mergesUnsortedInputsAcrossRuns() throws IOException {
+        Path base = write("base.csv", "05-03-2024,C", "01-03-2024,A", "09-03-2024,E", "03-03-2024,B");
+        Path other = write("other.csv", "07-03-2024,D", "02-03-2024,A2", "11-03-2024,F");
+        Path output = directory.resolve("out.csv");
+
+        EventMerger.MergeResult result = new EventMerger(2).merge(List.of(base, other), output, null);
+
+        assertEquals(List.of("01-03-2024,A", "02-03-2024,A2", "03-03-2024,B", "05-03-2024,C",
+                "07-03-2024,D", "09-03-2024,E", "11-03-2024,F"), Files.readAllLines(output));
+        assertEquals(7, result.getRead());
+        assertEquals(7, result.getWritten());
+        assertEquals(0, result.getDuplicates());
+    }
+
+    @Test
+    void dropsDuplicatesOfTheSameDayOnly() throws IOException {
+        Path base = write("base.csv", "01-03-2024,Spotkanie", "01-03-2024,Obiad", "01-03-2024,Spotkanie",
+                "02-03-2024,Spotkanie,10:00,60");
+        Path other = write("other.csv", "02-03-2024,Spotkanie", "01-03-2024,Obiad", "02-03-2024,Spotkanie,10:00,60",
+                "01-03-2024,Kino");
+        Path output = directory.resolve("out.csv");
+
+        EventMerger.MergeResult result = new EventMerger(2).merge(List.of(base, other), output, null);
+
+        // events of one day keep the order of their files, the base first
+        assertEquals(List.of("01-03-2024,Spotkanie", "01-03-2024,Obiad", "01-03-2024,Kino",
+                "02-03-2024,Spotkanie,10:00,60", "02-03-2024,Spotkanie"), Files.readAllLines(output));
+        assertEquals(8, result.getRead());
+        assertEquals(5, result.getWritten());
+        assertEquals(3, result.getDuplicates());
+    }
+
+    @Test
+    void reportsAddedAndRemovedEvents() throws IOException {
+        Path base = write("base.csv", "01-03-2024,A", "01-03-2024,A", "02-03-2024,B", "04-03-2024,D");
+        Path first = write("first.csv", "03-03-2024,C", "02-03-2024,B", "05-03-2024,E");
+        Path second = write("second.csv", "03-03-2024,C", "01-03-2024,A", "06-03-2024,F");
+        StringWriter report = new StringWriter();
+
+        EventMerger.MergeResult result;
+        try (PrintWriter writer = new PrintWriter(report)) {
+            // the base is also the output
+            result = new EventMerger(2).merge(List.of(base, first, second), base, writer);
+        }
+
+        assertEquals(List.of("- 01-03-2024,A", "+ 03-03-2024,C", "+ 05-03-2024,E", "+ 06-03-2024,F"),
+                report.toString().lines().collect(Collectors.toList()));
+        assertEquals(3, result.getAdded());
+        assertEquals(1, result.getRemoved());
+        assertEquals(List.of("01-03-2024,A", "02-03-2024,B", "03-03-2024,C", "04-03-2024,D",
+                "05-03-2024,E", "06-03-2024,F"), Files.readAllLines(base));
+    }
+
+    @Test
+    void skipsMalformedLines() throws IOException {
+        Path base = write("base.csv", "01-03-2024,A", "32-03-2024,Zła data", "", "02-03-2024,B");
+        Path other = write("other.csv", "bez daty", "03-03-2024,C");
+        Path output = directory.resolve("out.csv");
+
+        EventMerger.MergeResult result = new EventMerger(1).merge(List.of(base, other), output, null);
+
+        assertEquals(List.of("01-03-2024,A", "02-03-2024,B", "03-03-2024,C"), Files.readAllLines(output));
+        assertEquals(3, result.getRead());
+        assertEquals(2, result.getSkipped());
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(directory.resolve(name), List.of(lines));
+    }
+}
@@ -0,0 +1,119 @@
+package com.calendar.Reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void expiresOnItsDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule("a", 105);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(104, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(105, expired::add);
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.size());
+        assertEquals(106, wheel.getCurrentTick());
+    }
+
+    @Test
+    void overdueTimerExpiresOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000);
+        wheel.schedule("late", 10);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(1000, expired::add);
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void cascadesEveryLevelDownToItsDeadline() {
+        long start = 12345;
+        TimingWheel<Long> wheel = new TimingWheel<>(start);
+        List<Long> deadlines = new ArrayList<>();
+        // the edges of the first three levels, then random deadlines up to level 3
+        for (long delay : new long[] {0, 1, 63, 64, 65, 4095, 4096, 4097, 262143, 262144, 262145}) {
+            deadlines.add(start + delay);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            deadlines.add(start + random.nextInt(1 << 19));
+        }
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> mismatches = new ArrayList<>();
+        int[] expired = {0};
+        wheel.advance(start + (1 << 19), deadline -> {
+            expired[0]++;
+            if (deadline != wheel.getCurrentTick()) {
+                mismatches.add(deadline);
+            }
+        });
+        assertEquals(deadlines.size(), expired[0]);
+        assertEquals(List.of(), mismatches);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelsAnywhereInASlot() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timer<String> first = wheel.schedule("first", 10);
+        TimingWheel.Timer<String> middle = wheel.schedule("middle", 10);
+        TimingWheel.Timer<String> last = wheel.schedule("last", 10);
+
+        assertTrue(wheel.cancel(middle));
+        assertTrue(wheel.cancel(last));
+        assertFalse(wheel.cancel(middle));
+        assertEquals(1, wheel.size());
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(10, expired::add);
+        assertEquals(List.of("first"), expired);
+        assertFalse(wheel.cancel(first));
+    }
+
+    @Test
+    void cancelsAfterCascade() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timer<String> kept = wheel.schedule("kept", 5000);
+        TimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", 5000);
+        List<String> expired = new ArrayList<>();
+
+        // level 2 has been emptied into the lower levels by now
+        wheel.advance(4999, expired::add);
+        assertTrue(wheel.cancel(cancelled));
+        wheel.advance(5000, expired::add);
+
+        assertEquals(List.of("kept"), expired);
+        assertFalse(wheel.cancel(kept));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void clearDropsAllTimers() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timer<String> timer = wheel.schedule("a", 3);
+        wheel.schedule("b", 100000);
+
+        wheel.clear(50);
+        assertEquals(0, wheel.size());
+        assertEquals(50, wheel.getCurrentTick());
+        assertFalse(wheel.cancel(timer));
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(200000, expired::add);
+        assertTrue(expired.isEmpty());
+    }
+}
@@ -0,0 +1,138 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedEventStoreTest {
+
+    private static final Event JANUARY = new Event(LocalDate.of(2024, 1, 10), "Styczeń");
+    private static final Event MARCH = new Event(LocalDate.of(2024, 3, 5), "Marzec");
+    private static final Event MARCH_TIMED = new Event(LocalDate.of(2024, 3, 5), "Spotkanie", LocalTime.of(9, 30), 60);
+    private static final Event MAY = new Event(LocalDate.of(2024, 5, 20), "Maj");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void buildsFromCsvAndMergesTheJournalOnClose() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        Files.writeString(csv, EventCSVWriter.toCsvLine(MAY) + System.lineSeparator());
+
+        MappedEventStore store = new MappedEventStore(csv, 1);
+        store.add(List.of(MARCH, JANUARY));
+        assertTrue(Files.exists(directory.resolve("events.csv.mmap.1.log")));
+        assertEquals(List.of(MAY, MARCH, JANUARY), all(store));
+        store.close();
+
+        assertFalse(Files.exists(directory.resolve("events.csv.mmap.1.log")));
+        assertEquals("2", Files.readString(directory.resolve("events.csv.mmap.current")));
+        store = new MappedEventStore(csv, 1);
+        assertEquals(List.of(JANUARY, MARCH, MAY), all(store));
+        assertEquals(3, store.size());
+        store.close();
+    }
+
+    @Test
+    void removalsAreMarkedUntilTheNextMerge() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        MappedEventStore store = new MappedEventStore(csv, 1);
+        store.add(List.of(JANUARY, MARCH, MARCH_TIMED, MAY));
+        store.close();
+
+        store = new MappedEventStore(csv, 1);
+        long mappedSize = store.size();
+        store.remove(MARCH, List.of());
+        store.removeDate(MAY.getDate(), List.of());
+        assertEquals(mappedSize - 2, store.size());
+        assertEquals(List.of(JANUARY, MARCH_TIMED), all(store));
+        // the mapped file is not rewritten, only the removal list grows
+        assertEquals("2", Files.readString(directory.resolve("events.csv.mmap.current")));
+        assertEquals(8, Files.size(directory.resolve("events.csv.mmap.2.del")));
+
+        // reopened without closing, as after a crash
+        store = new MappedEventStore(csv, 1);
+        assertEquals(List.of(JANUARY, MARCH_TIMED), all(store));
+        assertEquals(List.of(MARCH_TIMED), store.load(2024, 3));
+        store.remove(MARCH_TIMED, List.of());
+        store.close();
+
+        assertFalse(Files.exists(directory.resolve("events.csv.mmap.2.del")));
+        assertFalse(Files.exists(directory.resolve("events.csv.mmap.3.del")));
+        store = new MappedEventStore(csv, 1);
+        assertEquals(List.of(JANUARY), all(store));
+        store.close();
+    }
+
+    @Test
+    void removesEventsStillInTheJournal() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        MappedEventStore store = new MappedEventStore(csv, 1);
+        store.add(List.of(JANUARY, MARCH));
+        store.remove(MARCH, List.of());
+        store.removeDate(JANUARY.getDate(), List.of());
+        assertEquals(0, store.size());
+
+        store = new MappedEventStore(csv, 1);
+        assertEquals(List.of(), all(store));
+        store.close();
+    }
+
+    @Test
+    void openDeletesFilesOfOtherGenerations() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        MappedEventStore store = new MappedEventStore(csv, 1);
+        store.add(List.of(JANUARY, MAY));
+        store.close();
+        Path staleData = directory.resolve("events.csv.mmap.99");
+        Path staleJournal = directory.resolve("events.csv.mmap.99.log");
+        Path staleRemovals = directory.resolve("events.csv.mmap.99.del");
+        Path unrelated = directory.resolve("events.csv.mmap.bak");
+        for (Path file : List.of(staleData, staleJournal, staleRemovals, unrelated)) {
+            Files.writeString(file, "zbędne");
+        }
+
+        store = new MappedEventStore(csv, 1);
+        assertEquals(List.of(JANUARY, MAY), all(store));
+        assertFalse(Files.exists(staleData));
+        assertFalse(Files.exists(staleJournal));
+        assertFalse(Files.exists(staleRemovals));
+        assertTrue(Files.exists(unrelated));
+        store.close();
+    }
+
+    @Test
+    void streamsRangesOutsideTheWindow() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        MappedEventStore store = new MappedEventStore(csv, 0);
+        store.add(List.of(JANUARY, MARCH, MARCH_TIMED, MAY));
+        store.close();
+
+        store = new MappedEventStore(csv, 0);
+        store.remove(MARCH_TIMED, List.of());
+        assertEquals(List.of(JANUARY), store.load(2024, 1));
+        List<Event> events = new ArrayList<>();
+        store.forEachBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 5, 19), events::add);
+        assertEquals(List.of(MARCH), events);
+        store.close();
+    }
+
+    private static List<Event> all(MappedEventStore store) throws IOException {
+        List<Event> events = new ArrayList<>();
+        store.forEach(events::add);
+        return events;
+    }
+}
@@ -0,0 +1,123 @@
+package com.calendar.Store;
+
+import com.calendar.Event.Event;
+import com.calendar.Event.EventCSVWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagedEventStoreTest {
+
+    private static final Event JANUARY = new Event(LocalDate.of(2024, 1, 10), "Styczeń");
+    private static final Event MARCH = new Event(LocalDate.of(2024, 3, 5), "Marzec");
+    private static final Event MARCH_TIMED = new Event(LocalDate.of(2024, 3, 5), "Spotkanie", LocalTime.of(9, 30), 60);
+    private static final Event MAY = new Event(LocalDate.of(2024, 5, 20), "Maj");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void buildsFromCsvAndKeepsAddedEvents() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        Files.writeString(csv, EventCSVWriter.toCsvLine(JANUARY) + System.lineSeparator());
+
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            store.addAll(List.of(MAY, MARCH, MARCH_TIMED));
+            assertEquals(4, store.size());
+            assertEquals(List.of(MARCH, MARCH_TIMED), store.getMonth(2024, 3));
+        }
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            assertEquals(List.of(JANUARY, MARCH, MARCH_TIMED, MAY), all(store));
+        }
+    }
+
+    @Test
+    void removesSingleEventsAndDays() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            store.addAll(List.of(JANUARY, MARCH, MARCH_TIMED, MAY));
+
+            assertTrue(store.remove(MARCH));
+            assertFalse(store.remove(MARCH));
+            assertEquals(1, store.removeDate(MAY.getDate()));
+            assertEquals(0, store.removeDate(MAY.getDate()));
+        }
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            assertEquals(List.of(JANUARY, MARCH_TIMED), all(store));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void compactMovesToNextGeneration() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            store.addAll(List.of(JANUARY, MARCH));
+            store.addAll(List.of(MARCH_TIMED, MAY));
+            store.remove(JANUARY);
+            long before = Files.size(directory.resolve("events.csv.pages"));
+
+            store.compact();
+
+            assertFalse(Files.exists(directory.resolve("events.csv.pages")));
+            assertTrue(Files.size(directory.resolve("events.csv.pages.1")) < before);
+            assertEquals(List.of(MARCH, MARCH_TIMED, MAY), all(store));
+        }
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            assertEquals(List.of(MARCH, MARCH_TIMED, MAY), all(store));
+            store.addAll(List.of(JANUARY));
+        }
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            assertEquals(List.of(JANUARY, MARCH, MARCH_TIMED, MAY), all(store));
+        }
+    }
+
+    @Test
+    void openDeletesDataFilesOfOtherGenerations() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            store.addAll(List.of(JANUARY, MAY));
+            store.compact();
+        }
+        Path stale = directory.resolve("events.csv.pages.99");
+        Path unrelated = directory.resolve("events.csv.pages.bak");
+        Files.writeString(stale, "zbędne");
+        Files.writeString(unrelated, "kopia");
+
+        try (PagedEventStore store = PagedEventStore.open(csv, 1, 1000)) {
+            assertFalse(Files.exists(stale));
+            assertTrue(Files.exists(unrelated));
+            assertEquals(List.of(JANUARY, MAY), all(store));
+        }
+    }
+
+    @Test
+    void streamsRangesOutsideTheWindow() throws IOException {
+        Path csv = directory.resolve("events.csv");
+        try (PagedEventStore store = PagedEventStore.open(csv, 0, 1000)) {
+            store.addAll(List.of(JANUARY, MARCH, MARCH_TIMED, MAY));
+            store.setWindow(2024, 1);
+
+            List<Event> events = new ArrayList<>();
+            store.forEachBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 5, 19), events::add);
+            assertEquals(List.of(MARCH, MARCH_TIMED), events);
+        }
+    }
+
+    private static List<Event> all(PagedEventStore store) throws IOException {
+        List<Event> events = new ArrayList<>();
+        store.forEach(events::add);
+        return events;
+    }
+}